@@ -0,0 +1,108 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.reactivestreams.Publisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.data.relational.core.sql.Column;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.r2dbc.core.DatabaseClient;
+import dev.knowhowto.jh.petclinic.reactbdd.config.DatabaseConfiguration;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compares the select of a page of pets rendered for each request, as the ad hoc queries do, with the select of the
+ * {@link EntityManager.SelectTemplate}. No statement is executed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntityManagerBenchmark {
+
+    private static final Table entityTable = Table.aliased("pets", EntityManager.ENTITY_ALIAS);
+    private static final Table ownerTable = Table.aliased("owners", "owner");
+
+    private final Pageable pageable = PageRequest.of(2, 20, Sort.by("name"));
+
+    private EntityManager entityManager;
+    private EntityManager.SelectTemplate selectTemplate;
+
+    @Setup
+    public void setup() {
+        R2dbcDialect dialect = H2Dialect.INSTANCE;
+        DatabaseConfiguration databaseConfiguration = new DatabaseConfiguration(null);
+        R2dbcCustomConversions conversions = databaseConfiguration.r2dbcCustomConversions(dialect);
+        R2dbcMappingContext mappingContext = new R2dbcMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingR2dbcConverter converter = new MappingR2dbcConverter(mappingContext, conversions);
+        R2dbcEntityTemplate template = new R2dbcEntityTemplate(DatabaseClient.create(new NoConnectionFactory()), dialect, converter);
+        entityManager =
+            new EntityManager(
+                databaseConfiguration.sqlRenderer(dialect),
+                databaseConfiguration.updateMapper(dialect, converter),
+                template,
+                dialect
+            );
+        selectTemplate = entityManager.createSelectTemplate(EntityManagerBenchmark::createSelectFrom, Pets.class);
+    }
+
+    @Benchmark
+    public String createSelect() {
+        return entityManager.createSelect(createSelectFrom(), Pets.class, pageable, null);
+    }
+
+    @Benchmark
+    public DatabaseClient.GenericExecuteSpec selectTemplate() {
+        return selectTemplate.select(pageable);
+    }
+
+    private static SelectFromAndJoinCondition createSelectFrom() {
+        List<Expression> columns = PetsSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(OwnersSqlHelper.getColumns(ownerTable, "owner"));
+        return Select
+            .builder()
+            .select(columns)
+            .from(entityTable)
+            .leftOuterJoin(ownerTable)
+            .on(Column.create("owner_id", entityTable))
+            .equals(Column.create("id", ownerTable));
+    }
+
+    /**
+     * The selects are only rendered, never executed.
+     */
+    private static final class NoConnectionFactory implements ConnectionFactory {
+
+        @Override
+        public Publisher<? extends Connection> create() {
+            return Mono.error(new UnsupportedOperationException("The benchmark does not connect"));
+        }
+
+        @Override
+        public ConnectionFactoryMetadata getMetadata() {
+            return () -> "benchmark";
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.R2dbcType;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Type;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import dev.knowhowto.jh.petclinic.reactbdd.config.DatabaseConfiguration;
+
+/**
+ * In-memory rows, as a driver returns them, for the benchmarks of the row mapping.
+ * <p>
+ * The values are held with the types H2 returns, and like a driver a typed read of a value of another type fails, so
+ * that the conversions go through the same paths as with a database.
+ */
+public final class BenchmarkRows {
+
+    private BenchmarkRows() {}
+
+    /**
+     * Create a {@link ColumnConverter} with the conversions of the application.
+     * @return the converter.
+     */
+    public static ColumnConverter columnConverter() {
+        R2dbcCustomConversions conversions = new DatabaseConfiguration(null).r2dbcCustomConversions(H2Dialect.INSTANCE);
+        return new ColumnConverter(
+            conversions,
+            new MappingR2dbcConverter(new R2dbcMappingContext(), conversions),
+            new SimpleMeterRegistry()
+        );
+    }
+
+    /**
+     * Create the rows of a visits query, with the columns of the visits and of their pet.
+     * @param count the number of rows.
+     * @return the rows, sharing the same metadata.
+     */
+    public static List<Row> visits(int count) {
+        Metadata metadata = new Metadata(
+            new Column("e_id", R2dbcType.BIGINT),
+            new Column("e_visitdate", R2dbcType.TIMESTAMP),
+            new Column("e_description", R2dbcType.VARCHAR),
+            new Column("e_pet_id", R2dbcType.BIGINT),
+            new Column("pet_id", R2dbcType.BIGINT),
+            new Column("pet_name", R2dbcType.VARCHAR),
+            new Column("pet_birthdate", R2dbcType.DATE),
+            new Column("pet_type_id", R2dbcType.BIGINT),
+            new Column("pet_owner_id", R2dbcType.BIGINT)
+        );
+        List<Row> rows = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            long petId = i % 50 + 1;
+            rows.add(
+                new ArrayRow(
+                    metadata,
+                    i,
+                    LocalDateTime.of(2023, 1, 1, 10, 0).plusHours(i),
+                    "Visit " + i,
+                    petId,
+                    petId,
+                    "Pet " + petId,
+                    LocalDate.of(2020, 1, 1).plusDays(petId),
+                    petId % 6 + 1,
+                    petId % 10 + 1
+                )
+            );
+        }
+        return rows;
+    }
+
+    private static final class Column implements ColumnMetadata {
+
+        private final String name;
+        private final R2dbcType type;
+
+        private Column(String name, R2dbcType type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Type getType() {
+            return type;
+        }
+    }
+
+    private static final class Metadata implements RowMetadata {
+
+        private final List<Column> columns;
+
+        private Metadata(Column... columns) {
+            this.columns = List.of(columns);
+        }
+
+        int indexOf(String name) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).getName().equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            throw new NoSuchElementException("Column " + name + " does not exist");
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(int index) {
+            return columns.get(index);
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(String name) {
+            return columns.get(indexOf(name));
+        }
+
+        @Override
+        public List<? extends ColumnMetadata> getColumnMetadatas() {
+            return columns;
+        }
+
+        @Override
+        public boolean contains(String columnName) {
+            return columns.stream().anyMatch(column -> column.getName().equalsIgnoreCase(columnName));
+        }
+    }
+
+    private static final class ArrayRow implements Row {
+
+        private final Metadata metadata;
+        private final Object[] values;
+
+        private ArrayRow(Metadata metadata, Object... values) {
+            this.metadata = metadata;
+            this.values = values;
+        }
+
+        @Override
+        public RowMetadata getMetadata() {
+            return metadata;
+        }
+
+        @Override
+        public Object get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public <T> T get(int index, Class<T> type) {
+            Object value = values[index];
+            if (value != null && !type.isInstance(value)) {
+                throw new IllegalArgumentException("Cannot decode value of type " + value.getClass().getName() + " as " + type.getName());
+            }
+            return type.cast(value);
+        }
+
+        @Override
+        public Object get(String name) {
+            return get(metadata.indexOf(name));
+        }
+
+        @Override
+        public <T> T get(String name, Class<T> type) {
+            return get(metadata.indexOf(name), type);
+        }
+    }
+}
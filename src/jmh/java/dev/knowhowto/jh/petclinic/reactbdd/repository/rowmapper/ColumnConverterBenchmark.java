@@ -0,0 +1,54 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper;
+
+import io.r2dbc.spi.Row;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reads single cells with {@link ColumnConverter#fromRow}, by name and by index, for a value the driver provides with
+ * the target type, and for a value it has to be converted from.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColumnConverterBenchmark {
+
+    private static final int ID_INDEX = 0;
+    private static final int VISITDATE_INDEX = 1;
+
+    private ColumnConverter converter;
+    private Row row;
+
+    @Setup
+    public void setup() {
+        converter = BenchmarkRows.columnConverter();
+        row = BenchmarkRows.visits(1).get(0);
+    }
+
+    @Benchmark
+    public Long directByName() {
+        return converter.fromRow(row, "e_id", Long.class);
+    }
+
+    @Benchmark
+    public Long directByIndex() {
+        return converter.fromRow(row, ID_INDEX, Long.class);
+    }
+
+    @Benchmark
+    public Instant convertedByName() {
+        return converter.fromRow(row, "e_visitdate", Instant.class);
+    }
+
+    @Benchmark
+    public Instant convertedByIndex() {
+        return converter.fromRow(row, VISITDATE_INDEX, Instant.class);
+    }
+}
@@ -0,0 +1,67 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Visits;
+
+/**
+ * Compares the mapping of the rows of a visits query by column name and by column index.
+ * <p>
+ * Each operation maps one row, so the {@code gc.alloc.rate.norm} of the gc profiler is the number of bytes allocated per
+ * row. The indexed mappers are created once per result set, as the repositories do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RowMapperBenchmark {
+
+    private static final int ROWS = 100;
+
+    private VisitsRowMapper visitsMapper;
+    private PetsRowMapper petsMapper;
+    private List<Row> rows;
+
+    @Setup
+    public void setup() {
+        ColumnConverter converter = BenchmarkRows.columnConverter();
+        visitsMapper = new VisitsRowMapper(converter);
+        petsMapper = new PetsRowMapper(converter);
+        rows = BenchmarkRows.visits(ROWS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void byName(Blackhole blackhole) {
+        for (Row row : rows) {
+            Visits entity = visitsMapper.apply(row, "e");
+            entity.setPet(petsMapper.apply(row, "pet"));
+            blackhole.consume(entity);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void byIndex(Blackhole blackhole) {
+        BiFunction<Row, RowMetadata, Visits> entityMapper = visitsMapper.indexed("e");
+        BiFunction<Row, RowMetadata, Pets> petMapper = petsMapper.indexed("pet");
+        for (Row row : rows) {
+            RowMetadata metadata = row.getMetadata();
+            Visits entity = entityMapper.apply(row, metadata);
+            entity.setPet(petMapper.apply(row, metadata));
+            blackhole.consume(entity);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service.mapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Types;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.PetsDTO;
+
+/**
+ * Maps a page of pets, with their type and owner, with the generated {@link PetsMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PetsMapperBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final PetsMapper petsMapper = new PetsMapperImpl();
+
+    private List<Pets> pets;
+    private List<PetsDTO> dtos;
+
+    @Setup
+    public void setup() {
+        pets = new ArrayList<>(PAGE_SIZE);
+        for (long i = 1; i <= PAGE_SIZE; i++) {
+            Types type = new Types().id(i % 6 + 1).name("Type " + i % 6);
+            Owners owner = new Owners().id(i % 10 + 1).firstname("First " + i).lastname("Last " + i);
+            pets.add(new Pets().id(i).name("Pet " + i).birthdate(LocalDate.of(2020, 1, 1).plusDays(i)).type(type).owner(owner));
+        }
+        dtos = petsMapper.toDto(pets);
+    }
+
+    @Benchmark
+    public List<PetsDTO> toDto() {
+        return petsMapper.toDto(pets);
+    }
+
+    @Benchmark
+    public List<Pets> toEntity() {
+        return petsMapper.toEntity(dtos);
+    }
+}
@@ -0,0 +1,69 @@
+package dev.knowhowto.jh.petclinic.reactbdd.web.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.OwnersDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.PetsDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.TypesDTO;
+
+/**
+ * Serializes lists of {@link PetsDTO} to JSON, as the pets resource responds, with the modules of the
+ * {@code JacksonConfiguration} and the defaults of Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PetsSerializationBenchmark {
+
+    @Param({ "20", "1000" })
+    private int size;
+
+    private ObjectWriter writer;
+    private List<PetsDTO> pets;
+
+    @Setup
+    public void setup() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder
+            .json()
+            .modules(new JavaTimeModule(), new Jdk8Module())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, PetsDTO.class));
+        pets = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            TypesDTO type = new TypesDTO();
+            type.setId(i % 6 + 1);
+            OwnersDTO owner = new OwnersDTO();
+            owner.setId(i % 10 + 1);
+            PetsDTO pet = new PetsDTO();
+            pet.setId(i);
+            pet.setName("Pet " + i);
+            pet.setBirthdate(LocalDate.of(2020, 1, 1).plusDays(i));
+            pet.setType(type);
+            pet.setOwner(owner);
+            pets.add(pet);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(pets);
+    }
+}
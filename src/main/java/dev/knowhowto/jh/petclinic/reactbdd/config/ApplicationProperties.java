@@ -1,5 +1,8 @@
 package dev.knowhowto.jh.petclinic.reactbdd.config;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,7 +13,438 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Pagination pagination = new Pagination();
+
+    private final Bulk bulk = new Bulk();
+
+    private final Export export = new Export();
+
+    private final Search search = new Search();
+
+    private final UserCache userCache = new UserCache();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final ReferenceData referenceData = new ReferenceData();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final DataGenerator dataGenerator = new DataGenerator();
+
     // jhipster-needle-application-properties-property
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Export getExport() {
+        return export;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public UserCache getUserCache() {
+        return userCache;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public ReferenceData getReferenceData() {
+        return referenceData;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public DataGenerator getDataGenerator() {
+        return dataGenerator;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    public static class Pagination {
+
+        private final Count count = new Count();
+
+        public Count getCount() {
+            return count;
+        }
+
+        public static class Count {
+
+            private CountStrategy defaultStrategy = CountStrategy.EXACT;
+
+            private Map<String, CountStrategy> strategies = new HashMap<>();
+
+            private Duration cacheTimeToLive = Duration.ofSeconds(30);
+
+            public CountStrategy getDefaultStrategy() {
+                return defaultStrategy;
+            }
+
+            public void setDefaultStrategy(CountStrategy defaultStrategy) {
+                this.defaultStrategy = defaultStrategy;
+            }
+
+            public Map<String, CountStrategy> getStrategies() {
+                return strategies;
+            }
+
+            public void setStrategies(Map<String, CountStrategy> strategies) {
+                this.strategies = strategies;
+            }
+
+            public Duration getCacheTimeToLive() {
+                return cacheTimeToLive;
+            }
+
+            public void setCacheTimeToLive(Duration cacheTimeToLive) {
+                this.cacheTimeToLive = cacheTimeToLive;
+            }
+        }
+    }
+
+    public static class Bulk {
+
+        private int batchSize = 500;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class Export {
+
+        private int fetchSize = 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    public static class Search {
+
+        private final Indexer indexer = new Indexer();
+
+        private final Reindex reindex = new Reindex();
+
+        private final OwnerHistory ownerHistory = new OwnerHistory();
+
+        private Integer trackTotalHitsUpTo = 10000;
+
+        public Integer getTrackTotalHitsUpTo() {
+            return trackTotalHitsUpTo;
+        }
+
+        public void setTrackTotalHitsUpTo(Integer trackTotalHitsUpTo) {
+            this.trackTotalHitsUpTo = trackTotalHitsUpTo;
+        }
+
+        public Indexer getIndexer() {
+            return indexer;
+        }
+
+        public Reindex getReindex() {
+            return reindex;
+        }
+
+        public OwnerHistory getOwnerHistory() {
+            return ownerHistory;
+        }
+
+        public static class Indexer {
+
+            private int batchSize = 500;
+
+            private Duration pollInterval = Duration.ofSeconds(1);
+
+            private int maxRetries = 5;
+
+            private Duration retryBackoff = Duration.ofSeconds(1);
+
+            private int maxAttempts = 3;
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public int getMaxRetries() {
+                return maxRetries;
+            }
+
+            public void setMaxRetries(int maxRetries) {
+                this.maxRetries = maxRetries;
+            }
+
+            public Duration getRetryBackoff() {
+                return retryBackoff;
+            }
+
+            public void setRetryBackoff(Duration retryBackoff) {
+                this.retryBackoff = retryBackoff;
+            }
+
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+        }
+
+        public static class Reindex {
+
+            private int bulkSize = 1000;
+
+            private int concurrency = 2;
+
+            public int getBulkSize() {
+                return bulkSize;
+            }
+
+            public void setBulkSize(int bulkSize) {
+                this.bulkSize = bulkSize;
+            }
+
+            public int getConcurrency() {
+                return concurrency;
+            }
+
+            public void setConcurrency(int concurrency) {
+                this.concurrency = concurrency;
+            }
+        }
+
+        public static class OwnerHistory {
+
+            private int visitsPerPet = 10;
+
+            public int getVisitsPerPet() {
+                return visitsPerPet;
+            }
+
+            public void setVisitsPerPet(int visitsPerPet) {
+                this.visitsPerPet = visitsPerPet;
+            }
+        }
+    }
+
+    public static class UserCache {
+
+        private long maximumSize = 10000;
+
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class JwtCache {
+
+        private long maximumSize = 10000;
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    public static class ReferenceData {
+
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        private int queueCapacity = 100;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class DataGenerator {
+
+        private boolean enabled = false;
+
+        private long owners = 1000000;
+
+        private long pets = 3000000;
+
+        private long visits = 20000000;
+
+        private int users = 1000;
+
+        private String userPassword = "loadtest";
+
+        private int batchSize = 1000;
+
+        private int concurrency = 4;
+
+        private long seed = 42;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getOwners() {
+            return owners;
+        }
+
+        public void setOwners(long owners) {
+            this.owners = owners;
+        }
+
+        public long getPets() {
+            return pets;
+        }
+
+        public void setPets(long pets) {
+            this.pets = pets;
+        }
+
+        public long getVisits() {
+            return visits;
+        }
+
+        public void setVisits(long visits) {
+            this.visits = visits;
+        }
+
+        public int getUsers() {
+            return users;
+        }
+
+        public void setUsers(int users) {
+            this.users = users;
+        }
+
+        public String getUserPassword() {
+            return userPassword;
+        }
+
+        public void setUserPassword(String userPassword) {
+            this.userPassword = userPassword;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(long seed) {
+            this.seed = seed;
+        }
+    }
+
+    /**
+     * How the total number of entities is computed for paginated list endpoints.
+     */
+    public enum CountStrategy {
+        /**
+         * Run a {@code SELECT COUNT(*)} on every request.
+         */
+        EXACT,
+        /**
+         * Read the row estimate maintained by the database table statistics.
+         */
+        APPROXIMATE,
+        /**
+         * Run a {@code SELECT COUNT(*)} and keep the result until it expires or the entity is saved or deleted.
+         */
+        CACHED,
+        /**
+         * Do not count at all, the total is reported as unknown.
+         */
+        NONE,
+    }
     // jhipster-needle-application-properties-property-class
 }
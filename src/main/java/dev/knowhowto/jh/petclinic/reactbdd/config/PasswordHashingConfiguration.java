@@ -0,0 +1,50 @@
+package dev.knowhowto.jh.petclinic.reactbdd.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configuration of the scheduler running the password hashing, BCrypt being deliberately slow.
+ * <p>
+ * It has a fixed number of threads and a bounded queue: when the queue is full, the hashing is rejected instead of
+ * piling up, and counted by the {@code security.password.hashing.rejected} meter. The executor is monitored as
+ * {@code executor.*} meters with the {@code name=password-hashing} tag.
+ */
+@Configuration
+public class PasswordHashingConfiguration {
+
+    public static final String PASSWORD_HASHING_SCHEDULER = "passwordHashingScheduler";
+
+    private static final String NAME = "password-hashing";
+
+    @Bean(name = PASSWORD_HASHING_SCHEDULER, destroyMethod = "dispose")
+    public Scheduler passwordHashingScheduler(ApplicationProperties applicationProperties, MeterRegistry registry) {
+        ApplicationProperties.PasswordHashing properties = applicationProperties.getPasswordHashing();
+        Counter rejected = Counter
+            .builder("security.password.hashing.rejected")
+            .description("Number of password hashings rejected because the queue was full")
+            .register(registry);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            properties.getThreads(),
+            properties.getThreads(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            new CustomizableThreadFactory(NAME + "-"),
+            (task, pool) -> {
+                rejected.increment();
+                new ThreadPoolExecutor.AbortPolicy().rejectedExecution(task, pool);
+            }
+        );
+        return Schedulers.fromExecutorService(ExecutorServiceMetrics.monitor(registry, executor, NAME), NAME);
+    }
+}
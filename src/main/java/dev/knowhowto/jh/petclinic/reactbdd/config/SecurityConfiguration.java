@@ -2,6 +2,8 @@ package dev.knowhowto.jh.petclinic.reactbdd.config;
 
 import static org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers.pathMatchers;
 
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
@@ -23,8 +25,10 @@ import org.springframework.web.cors.reactive.CorsWebFilter;
 import dev.knowhowto.jh.petclinic.reactbdd.security.AuthoritiesConstants;
 import dev.knowhowto.jh.petclinic.reactbdd.security.jwt.JWTFilter;
 import dev.knowhowto.jh.petclinic.reactbdd.security.jwt.TokenProvider;
+import dev.knowhowto.jh.petclinic.reactbdd.service.PasswordHashingService;
 import dev.knowhowto.jh.petclinic.reactbdd.web.filter.SpaWebFilter;
 import org.zalando.problem.spring.webflux.advice.security.SecurityProblemSupport;
+import reactor.core.scheduler.Scheduler;
 import tech.jhipster.config.JHipsterProperties;
 
 @EnableWebFluxSecurity
@@ -41,18 +45,22 @@ public class SecurityConfiguration {
     private final SecurityProblemSupport problemSupport;
     private final CorsWebFilter corsWebFilter;
 
+    private final Scheduler passwordHashingScheduler;
+
     public SecurityConfiguration(
         ReactiveUserDetailsService userDetailsService,
         TokenProvider tokenProvider,
         JHipsterProperties jHipsterProperties,
         SecurityProblemSupport problemSupport,
-        CorsWebFilter corsWebFilter
+        CorsWebFilter corsWebFilter,
+        @Qualifier(PasswordHashingConfiguration.PASSWORD_HASHING_SCHEDULER) Scheduler passwordHashingScheduler
     ) {
         this.userDetailsService = userDetailsService;
         this.tokenProvider = tokenProvider;
         this.jHipsterProperties = jHipsterProperties;
         this.problemSupport = problemSupport;
         this.corsWebFilter = corsWebFilter;
+        this.passwordHashingScheduler = passwordHashingScheduler;
     }
 
     @Bean
@@ -66,7 +74,12 @@ public class SecurityConfiguration {
             userDetailsService
         );
         authenticationManager.setPasswordEncoder(passwordEncoder());
-        return authenticationManager;
+        // the password is matched on the bounded password hashing scheduler, which rejects the logins beyond its queue
+        authenticationManager.setScheduler(passwordHashingScheduler);
+        return authentication ->
+            authenticationManager
+                .authenticate(authentication)
+                .onErrorMap(RejectedExecutionException.class, PasswordHashingService::busy);
     }
 
     @Bean
@@ -0,0 +1,277 @@
+package dev.knowhowto.jh.petclinic.reactbdd.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.elasticsearch.annotations.DateFormat;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
+
+/**
+ * The search document of an owner, with its pets and their latest visits.
+ * <p>
+ * It is only stored in Elasticsearch, and is rebuilt from the {@link Owners}, {@link Pets} and {@link Visits} tables when
+ * one of them changes, so the owners can be searched by their pets and visits with a single query.
+ */
+@Document(indexName = "owner-history")
+public class OwnerHistory implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private Long id;
+
+    @MultiField(
+        mainField = @Field(type = FieldType.Text),
+        otherFields = {
+            @InnerField(suffix = "keyword", type = FieldType.Keyword),
+            @InnerField(suffix = "autocomplete", type = FieldType.Search_As_You_Type),
+        }
+    )
+    private String firstname;
+
+    @MultiField(
+        mainField = @Field(type = FieldType.Text),
+        otherFields = {
+            @InnerField(suffix = "keyword", type = FieldType.Keyword),
+            @InnerField(suffix = "autocomplete", type = FieldType.Search_As_You_Type),
+        }
+    )
+    private String lastname;
+
+    private String address;
+
+    private String city;
+
+    private String telephone;
+
+    @Field(type = FieldType.Nested, includeInParent = true)
+    private List<PetHistory> pets = new ArrayList<>();
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public OwnerHistory id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFirstname() {
+        return this.firstname;
+    }
+
+    public void setFirstname(String firstname) {
+        this.firstname = firstname;
+    }
+
+    public String getLastname() {
+        return this.lastname;
+    }
+
+    public void setLastname(String lastname) {
+        this.lastname = lastname;
+    }
+
+    public String getAddress() {
+        return this.address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public String getCity() {
+        return this.city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getTelephone() {
+        return this.telephone;
+    }
+
+    public void setTelephone(String telephone) {
+        this.telephone = telephone;
+    }
+
+    public List<PetHistory> getPets() {
+        return this.pets;
+    }
+
+    public void setPets(List<PetHistory> pets) {
+        this.pets = pets;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OwnerHistory)) {
+            return false;
+        }
+        return id != null && id.equals(((OwnerHistory) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OwnerHistory{" +
+            "id=" + getId() +
+            ", firstname='" + getFirstname() + "'" +
+            ", lastname='" + getLastname() + "'" +
+            ", pets=" + getPets() +
+            "}";
+    }
+
+    /**
+     * A pet of an {@link OwnerHistory}.
+     */
+    public static class PetHistory implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+
+        private String name;
+
+        @Field(type = FieldType.Date, format = DateFormat.date)
+        private LocalDate birthdate;
+
+        private String type;
+
+        /**
+         * The date of the latest visit, to sort or filter the pets without a nested query.
+         */
+        @Field(type = FieldType.Date, format = DateFormat.date_optional_time)
+        private Instant lastVisitdate;
+
+        @Field(type = FieldType.Nested, includeInParent = true)
+        private List<VisitHistory> visits = new ArrayList<>();
+
+        public Long getId() {
+            return this.id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public LocalDate getBirthdate() {
+            return this.birthdate;
+        }
+
+        public void setBirthdate(LocalDate birthdate) {
+            this.birthdate = birthdate;
+        }
+
+        public String getType() {
+            return this.type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public Instant getLastVisitdate() {
+            return this.lastVisitdate;
+        }
+
+        public void setLastVisitdate(Instant lastVisitdate) {
+            this.lastVisitdate = lastVisitdate;
+        }
+
+        public List<VisitHistory> getVisits() {
+            return this.visits;
+        }
+
+        public void setVisits(List<VisitHistory> visits) {
+            this.visits = visits;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "PetHistory{" +
+                "id=" + getId() +
+                ", name='" + getName() + "'" +
+                ", type='" + getType() + "'" +
+                ", lastVisitdate='" + getLastVisitdate() + "'" +
+                "}";
+        }
+    }
+
+    /**
+     * A visit of a {@link PetHistory}.
+     */
+    public static class VisitHistory implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+
+        @Field(type = FieldType.Date, format = DateFormat.date_optional_time)
+        private Instant visitdate;
+
+        private String description;
+
+        public Long getId() {
+            return this.id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Instant getVisitdate() {
+            return this.visitdate;
+        }
+
+        public void setVisitdate(Instant visitdate) {
+            this.visitdate = visitdate;
+        }
+
+        public String getDescription() {
+            return this.description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "VisitHistory{" +
+                "id=" + getId() +
+                ", visitdate='" + getVisitdate() + "'" +
+                "}";
+        }
+    }
+}
@@ -7,6 +7,10 @@ import java.util.Set;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -27,11 +31,25 @@ public class Owners implements Serializable {
     @NotNull(message = "must not be null")
     @Size(max = 32)
     @Column("firstname")
+    @MultiField(
+        mainField = @Field(type = FieldType.Text),
+        otherFields = {
+            @InnerField(suffix = "keyword", type = FieldType.Keyword),
+            @InnerField(suffix = "autocomplete", type = FieldType.Search_As_You_Type),
+        }
+    )
     private String firstname;
 
     @NotNull(message = "must not be null")
     @Size(max = 32)
     @Column("lastname")
+    @MultiField(
+        mainField = @Field(type = FieldType.Text),
+        otherFields = {
+            @InnerField(suffix = "keyword", type = FieldType.Keyword),
+            @InnerField(suffix = "autocomplete", type = FieldType.Search_As_You_Type),
+        }
+    )
     private String lastname;
 
     @NotNull(message = "must not be null")
@@ -41,6 +59,13 @@ public class Owners implements Serializable {
 
     @Size(max = 32)
     @Column("city")
+    @MultiField(
+        mainField = @Field(type = FieldType.Text),
+        otherFields = {
+            @InnerField(suffix = "keyword", type = FieldType.Keyword),
+            @InnerField(suffix = "autocomplete", type = FieldType.Search_As_You_Type),
+        }
+    )
     private String city;
 
     @NotNull(message = "must not be null")
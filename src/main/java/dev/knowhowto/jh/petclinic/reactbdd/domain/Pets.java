@@ -8,6 +8,11 @@ import java.util.Set;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.elasticsearch.annotations.DateFormat;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -28,10 +33,18 @@ public class Pets implements Serializable {
     @NotNull(message = "must not be null")
     @Size(max = 32)
     @Column("name")
+    @MultiField(
+        mainField = @Field(type = FieldType.Text),
+        otherFields = {
+            @InnerField(suffix = "keyword", type = FieldType.Keyword),
+            @InnerField(suffix = "autocomplete", type = FieldType.Search_As_You_Type),
+        }
+    )
     private String name;
 
     @NotNull(message = "must not be null")
     @Column("birthdate")
+    @Field(type = FieldType.Date, format = DateFormat.date)
     private LocalDate birthdate;
 
     @Transient
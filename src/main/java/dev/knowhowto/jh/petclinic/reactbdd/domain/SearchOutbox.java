@@ -0,0 +1,146 @@
+package dev.knowhowto.jh.petclinic.reactbdd.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.enumeration.SearchOperation;
+
+/**
+ * A change of an entity, which still has to be written to its Elasticsearch index.
+ */
+@Table("search_outbox")
+public class SearchOutbox implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @Column("entity_type")
+    private String entityType;
+
+    @Column("entity_id")
+    private Long entityId;
+
+    @Column("operation")
+    private SearchOperation operation;
+
+    @Column("created_date")
+    private Instant createdDate = Instant.now();
+
+    @Column("attempts")
+    private int attempts;
+
+    @Column("failed_date")
+    private Instant failedDate;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public SearchOutbox id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEntityType() {
+        return this.entityType;
+    }
+
+    public SearchOutbox entityType(String entityType) {
+        this.setEntityType(entityType);
+        return this;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return this.entityId;
+    }
+
+    public SearchOutbox entityId(Long entityId) {
+        this.setEntityId(entityId);
+        return this;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public SearchOperation getOperation() {
+        return this.operation;
+    }
+
+    public SearchOutbox operation(SearchOperation operation) {
+        this.setOperation(operation);
+        return this;
+    }
+
+    public void setOperation(SearchOperation operation) {
+        this.operation = operation;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public int getAttempts() {
+        return this.attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getFailedDate() {
+        return this.failedDate;
+    }
+
+    public void setFailedDate(Instant failedDate) {
+        this.failedDate = failedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SearchOutbox)) {
+            return false;
+        }
+        return id != null && id.equals(((SearchOutbox) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchOutbox{" +
+            "id=" + getId() +
+            ", entityType='" + getEntityType() + "'" +
+            ", entityId=" + getEntityId() +
+            ", operation='" + getOperation() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", attempts=" + getAttempts() +
+            ", failedDate='" + getFailedDate() + "'" +
+            "}";
+    }
+}
@@ -6,6 +6,9 @@ import java.time.Instant;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.elasticsearch.annotations.DateFormat;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -25,6 +28,7 @@ public class Visits implements Serializable {
 
     @NotNull(message = "must not be null")
     @Column("visitdate")
+    @Field(type = FieldType.Date, format = DateFormat.date_optional_time)
     private Instant visitdate;
 
     @NotNull(message = "must not be null")
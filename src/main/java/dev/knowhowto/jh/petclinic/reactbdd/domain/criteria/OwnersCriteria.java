@@ -0,0 +1,184 @@
+package dev.knowhowto.jh.petclinic.reactbdd.domain.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link dev.knowhowto.jh.petclinic.reactbdd.domain.Owners} entity. This class is used
+ * in {@link dev.knowhowto.jh.petclinic.reactbdd.web.rest.OwnersResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /owners?lastname.contains=son&city.equals=Madison}
+ * As Spring is unable to properly convert the types, unless specific {@link tech.jhipster.service.filter.Filter} class are
+ * used, we need to use fix type specific filters.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class OwnersCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter firstname;
+
+    private StringFilter lastname;
+
+    private StringFilter address;
+
+    private StringFilter city;
+
+    private StringFilter telephone;
+
+    public OwnersCriteria() {}
+
+    public OwnersCriteria(OwnersCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.firstname = other.firstname == null ? null : other.firstname.copy();
+        this.lastname = other.lastname == null ? null : other.lastname.copy();
+        this.address = other.address == null ? null : other.address.copy();
+        this.city = other.city == null ? null : other.city.copy();
+        this.telephone = other.telephone == null ? null : other.telephone.copy();
+    }
+
+    @Override
+    public OwnersCriteria copy() {
+        return new OwnersCriteria(this);
+    }
+
+    /**
+     * @return true if no filter is set.
+     */
+    public boolean isEmpty() {
+        return id == null && firstname == null && lastname == null && address == null && city == null && telephone == null;
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getFirstname() {
+        return firstname;
+    }
+
+    public StringFilter firstname() {
+        if (firstname == null) {
+            firstname = new StringFilter();
+        }
+        return firstname;
+    }
+
+    public void setFirstname(StringFilter firstname) {
+        this.firstname = firstname;
+    }
+
+    public StringFilter getLastname() {
+        return lastname;
+    }
+
+    public StringFilter lastname() {
+        if (lastname == null) {
+            lastname = new StringFilter();
+        }
+        return lastname;
+    }
+
+    public void setLastname(StringFilter lastname) {
+        this.lastname = lastname;
+    }
+
+    public StringFilter getAddress() {
+        return address;
+    }
+
+    public StringFilter address() {
+        if (address == null) {
+            address = new StringFilter();
+        }
+        return address;
+    }
+
+    public void setAddress(StringFilter address) {
+        this.address = address;
+    }
+
+    public StringFilter getCity() {
+        return city;
+    }
+
+    public StringFilter city() {
+        if (city == null) {
+            city = new StringFilter();
+        }
+        return city;
+    }
+
+    public void setCity(StringFilter city) {
+        this.city = city;
+    }
+
+    public StringFilter getTelephone() {
+        return telephone;
+    }
+
+    public StringFilter telephone() {
+        if (telephone == null) {
+            telephone = new StringFilter();
+        }
+        return telephone;
+    }
+
+    public void setTelephone(StringFilter telephone) {
+        this.telephone = telephone;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final OwnersCriteria that = (OwnersCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(firstname, that.firstname) &&
+            Objects.equals(lastname, that.lastname) &&
+            Objects.equals(address, that.address) &&
+            Objects.equals(city, that.city) &&
+            Objects.equals(telephone, that.telephone)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, firstname, lastname, address, city, telephone);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OwnersCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (firstname != null ? "firstname=" + firstname + ", " : "") +
+            (lastname != null ? "lastname=" + lastname + ", " : "") +
+            (address != null ? "address=" + address + ", " : "") +
+            (city != null ? "city=" + city + ", " : "") +
+            (telephone != null ? "telephone=" + telephone + ", " : "") +
+            "}";
+    }
+}
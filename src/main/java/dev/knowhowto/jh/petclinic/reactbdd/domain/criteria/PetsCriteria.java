@@ -0,0 +1,165 @@
+package dev.knowhowto.jh.petclinic.reactbdd.domain.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.LocalDateFilter;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link dev.knowhowto.jh.petclinic.reactbdd.domain.Pets} entity. This class is used
+ * in {@link dev.knowhowto.jh.petclinic.reactbdd.web.rest.PetsResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /pets?ownerId.equals=1&birthdate.greaterThan=2020-01-01&name.contains=le}
+ * As Spring is unable to properly convert the types, unless specific {@link tech.jhipster.service.filter.Filter} class are
+ * used, we need to use fix type specific filters.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class PetsCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter name;
+
+    private LocalDateFilter birthdate;
+
+    private LongFilter typeId;
+
+    private LongFilter ownerId;
+
+    public PetsCriteria() {}
+
+    public PetsCriteria(PetsCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.name = other.name == null ? null : other.name.copy();
+        this.birthdate = other.birthdate == null ? null : other.birthdate.copy();
+        this.typeId = other.typeId == null ? null : other.typeId.copy();
+        this.ownerId = other.ownerId == null ? null : other.ownerId.copy();
+    }
+
+    @Override
+    public PetsCriteria copy() {
+        return new PetsCriteria(this);
+    }
+
+    /**
+     * @return true if no filter is set.
+     */
+    public boolean isEmpty() {
+        return id == null && name == null && birthdate == null && typeId == null && ownerId == null;
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getName() {
+        return name;
+    }
+
+    public StringFilter name() {
+        if (name == null) {
+            name = new StringFilter();
+        }
+        return name;
+    }
+
+    public void setName(StringFilter name) {
+        this.name = name;
+    }
+
+    public LocalDateFilter getBirthdate() {
+        return birthdate;
+    }
+
+    public LocalDateFilter birthdate() {
+        if (birthdate == null) {
+            birthdate = new LocalDateFilter();
+        }
+        return birthdate;
+    }
+
+    public void setBirthdate(LocalDateFilter birthdate) {
+        this.birthdate = birthdate;
+    }
+
+    public LongFilter getTypeId() {
+        return typeId;
+    }
+
+    public LongFilter typeId() {
+        if (typeId == null) {
+            typeId = new LongFilter();
+        }
+        return typeId;
+    }
+
+    public void setTypeId(LongFilter typeId) {
+        this.typeId = typeId;
+    }
+
+    public LongFilter getOwnerId() {
+        return ownerId;
+    }
+
+    public LongFilter ownerId() {
+        if (ownerId == null) {
+            ownerId = new LongFilter();
+        }
+        return ownerId;
+    }
+
+    public void setOwnerId(LongFilter ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final PetsCriteria that = (PetsCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(birthdate, that.birthdate) &&
+            Objects.equals(typeId, that.typeId) &&
+            Objects.equals(ownerId, that.ownerId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, birthdate, typeId, ownerId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PetsCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (name != null ? "name=" + name + ", " : "") +
+            (birthdate != null ? "birthdate=" + birthdate + ", " : "") +
+            (typeId != null ? "typeId=" + typeId + ", " : "") +
+            (ownerId != null ? "ownerId=" + ownerId + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,167 @@
+package dev.knowhowto.jh.petclinic.reactbdd.domain.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.InstantFilter;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link dev.knowhowto.jh.petclinic.reactbdd.domain.Visits} entity. This class is used
+ * in {@link dev.knowhowto.jh.petclinic.reactbdd.web.rest.VisitsResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /visits?petId.in=1,2&visitdate.greaterThan=2023-01-01T00:00:00Z}
+ * As Spring is unable to properly convert the types, unless specific {@link tech.jhipster.service.filter.Filter} class are
+ * used, we need to use fix type specific filters.
+ * <p>
+ * The {@code ownerId} filter applies to the owner of the pet of the visits.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class VisitsCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private InstantFilter visitdate;
+
+    private StringFilter description;
+
+    private LongFilter petId;
+
+    private LongFilter ownerId;
+
+    public VisitsCriteria() {}
+
+    public VisitsCriteria(VisitsCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.visitdate = other.visitdate == null ? null : other.visitdate.copy();
+        this.description = other.description == null ? null : other.description.copy();
+        this.petId = other.petId == null ? null : other.petId.copy();
+        this.ownerId = other.ownerId == null ? null : other.ownerId.copy();
+    }
+
+    @Override
+    public VisitsCriteria copy() {
+        return new VisitsCriteria(this);
+    }
+
+    /**
+     * @return true if no filter is set.
+     */
+    public boolean isEmpty() {
+        return id == null && visitdate == null && description == null && petId == null && ownerId == null;
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public InstantFilter getVisitdate() {
+        return visitdate;
+    }
+
+    public InstantFilter visitdate() {
+        if (visitdate == null) {
+            visitdate = new InstantFilter();
+        }
+        return visitdate;
+    }
+
+    public void setVisitdate(InstantFilter visitdate) {
+        this.visitdate = visitdate;
+    }
+
+    public StringFilter getDescription() {
+        return description;
+    }
+
+    public StringFilter description() {
+        if (description == null) {
+            description = new StringFilter();
+        }
+        return description;
+    }
+
+    public void setDescription(StringFilter description) {
+        this.description = description;
+    }
+
+    public LongFilter getPetId() {
+        return petId;
+    }
+
+    public LongFilter petId() {
+        if (petId == null) {
+            petId = new LongFilter();
+        }
+        return petId;
+    }
+
+    public void setPetId(LongFilter petId) {
+        this.petId = petId;
+    }
+
+    public LongFilter getOwnerId() {
+        return ownerId;
+    }
+
+    public LongFilter ownerId() {
+        if (ownerId == null) {
+            ownerId = new LongFilter();
+        }
+        return ownerId;
+    }
+
+    public void setOwnerId(LongFilter ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final VisitsCriteria that = (VisitsCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(visitdate, that.visitdate) &&
+            Objects.equals(description, that.description) &&
+            Objects.equals(petId, that.petId) &&
+            Objects.equals(ownerId, that.ownerId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, visitdate, description, petId, ownerId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VisitsCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (visitdate != null ? "visitdate=" + visitdate + ", " : "") +
+            (description != null ? "description=" + description + ", " : "") +
+            (petId != null ? "petId=" + petId + ", " : "") +
+            (ownerId != null ? "ownerId=" + ownerId + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Criteria classes, filtering the entities of the list endpoints.
+ */
+package dev.knowhowto.jh.petclinic.reactbdd.domain.criteria;
@@ -0,0 +1,9 @@
+package dev.knowhowto.jh.petclinic.reactbdd.domain.enumeration;
+
+/**
+ * The SearchOperation enumeration.
+ */
+public enum SearchOperation {
+    INDEX,
+    DELETE,
+}
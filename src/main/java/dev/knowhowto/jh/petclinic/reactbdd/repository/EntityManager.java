@@ -1,31 +1,53 @@
 package dev.knowhowto.jh.petclinic.reactbdd.repository;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.core.StatementMapper;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
 import org.springframework.data.r2dbc.mapping.OutboundRow;
 import org.springframework.data.r2dbc.query.UpdateMapper;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
 import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.IdentifierProcessing;
 import org.springframework.data.relational.core.sql.OrderByField;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectOrdered;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectWhere;
 import org.springframework.data.relational.core.sql.SqlIdentifier;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
 import org.springframework.r2dbc.core.Parameter;
+import org.springframework.r2dbc.core.binding.BindMarkers;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import reactor.core.publisher.Flux;
@@ -41,6 +63,11 @@ public class EntityManager {
     public static final String ENTITY_ALIAS = "e";
     public static final String ALIAS_PREFIX = "e_";
 
+    private static final String ID_PROPERTY = "id";
+    private static final String AFTER_ID_PARAMETER = "afterId";
+
+    private static final int MAX_SORTED_PAGES = 64;
+
     public static class LinkTable {
 
         final String tableName;
@@ -57,16 +84,121 @@ public class EntityManager {
         }
     }
 
+    /**
+     * The SQL selects of an entity, rendered once per shape - unpaged, paged with a given sort, seeking, or by id - and
+     * cached, so that only their bind parameters vary between requests. The limit and offset are bound too, with the
+     * {@code LIMIT :limit OFFSET :offset} syntax supported by both H2 and MariaDB.
+     */
+    public final class SelectTemplate {
+
+        private final Supplier<? extends SelectOrdered> selectFrom;
+        private final Class<?> entityType;
+        private final String selectAll;
+        private final String selectById;
+        private final String selectFirst;
+        private final String selectAfter;
+        private final String selectPage;
+        private final Cache<String, String> selectSortedPages = Caffeine.newBuilder().maximumSize(MAX_SORTED_PAGES).build();
+
+        private <S extends SelectWhere & SelectOrdered> SelectTemplate(Supplier<S> selectFrom, Class<?> entityType) {
+            this.selectFrom = selectFrom;
+            this.entityType = entityType;
+            Table table = getEntityTable(entityType);
+            this.selectAll = createSelect(selectFrom.get().build());
+            this.selectById =
+                createSelect(selectFrom.get().where(Conditions.isEqual(table.column(ID_PROPERTY), SQL.bindMarker(":id"))).build());
+            Sort byId = Sort.by(ID_PROPERTY);
+            this.selectFirst = withLimit(createSelectImpl(selectFrom.get(), entityType, byId), false);
+            this.selectAfter = withLimit(createSelectImpl(selectFrom.get().where(createSeekCondition(entityType)), entityType, byId), false);
+            this.selectPage = withLimit(selectAll, true);
+        }
+
+        /**
+         * Select the entities of the given page.
+         * @param pageable page parameter, or null, if everything needs to be returned.
+         * @return the select, with its parameters bound.
+         */
+        public GenericExecuteSpec select(Pageable pageable) {
+            DatabaseClient db = r2dbcEntityTemplate.getDatabaseClient();
+            if (pageable == null) {
+                return db.sql(selectAll);
+            }
+            return db.sql(getSql(pageable)).bind("limit", pageable.getPageSize()).bind("offset", pageable.getOffset());
+        }
+
+        /**
+         * Get the SQL of the select of the given page.
+         * @param pageable page parameter, or null, if everything needs to be returned.
+         * @return the select, with the {@code :limit} and {@code :offset} bind markers of a page.
+         */
+        String getSql(Pageable pageable) {
+            if (pageable == null) {
+                return selectAll;
+            }
+            Sort sort = pageable.getSort();
+            return sort.isSorted() ? selectSortedPages.get(sort.toString(), key -> createSelectPage(sort)) : selectPage;
+        }
+
+        /**
+         * Select the entities after the given id, ordered by id.
+         * @param afterId the id after which rows are returned, or null to start from the first row.
+         * @param size the maximum number of rows to return.
+         * @return the select, with its parameters bound.
+         */
+        public GenericExecuteSpec selectAfter(Long afterId, int size) {
+            DatabaseClient db = r2dbcEntityTemplate.getDatabaseClient();
+            if (afterId == null) {
+                return db.sql(selectFirst).bind("limit", size);
+            }
+            return bindSeek(db.sql(selectAfter), afterId).bind("limit", size);
+        }
+
+        /**
+         * Select all the entities, fetching the rows from the database cursor by chunks of the given size, so that they
+         * can be streamed without being held in memory.
+         * @param fetchSize the number of rows fetched at once, a hint which the driver may ignore.
+         * @return the select.
+         */
+        public GenericExecuteSpec selectAll(int fetchSize) {
+            return r2dbcEntityTemplate.getDatabaseClient().sql(selectAll).filter(statement -> statement.fetchSize(fetchSize));
+        }
+
+        /**
+         * Select the entity with the given id.
+         * @param id the id of the entity.
+         * @return the select, with its parameters bound.
+         */
+        public GenericExecuteSpec selectById(Object id) {
+            Assert.notNull(id, "id is null");
+            return r2dbcEntityTemplate.getDatabaseClient().sql(selectById).bind("id", id);
+        }
+
+        private String createSelectPage(Sort sort) {
+            return withLimit(createSelectImpl(selectFrom.get(), entityType, sort), true);
+        }
+
+        private String withLimit(String select, boolean offset) {
+            return select + (offset ? " LIMIT :limit OFFSET :offset" : " LIMIT :limit");
+        }
+    }
+
     private final SqlRenderer sqlRenderer;
     private final UpdateMapper updateMapper;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final StatementMapper statementMapper;
+    private final R2dbcDialect dialect;
 
-    public EntityManager(SqlRenderer sqlRenderer, UpdateMapper updateMapper, R2dbcEntityTemplate r2dbcEntityTemplate) {
+    public EntityManager(
+        SqlRenderer sqlRenderer,
+        UpdateMapper updateMapper,
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        R2dbcDialect dialect
+    ) {
         this.sqlRenderer = sqlRenderer;
         this.updateMapper = updateMapper;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
         this.statementMapper = r2dbcEntityTemplate.getDataAccessStrategy().getStatementMapper();
+        this.dialect = dialect;
     }
 
     /**
@@ -133,6 +265,59 @@ public class EntityManager {
         }
     }
 
+    /**
+     * Creates an SQL select statement which seeks past the given id instead of skipping rows with an offset, so every page
+     * costs the same regardless of its depth. The result is ordered by id, and the id is bound as {@code :afterId}, see
+     * {@link #bindSeek(GenericExecuteSpec, Long)}.
+     * @param selectFrom a representation of a select statement.
+     * @param entityType the entity type which holds the table name.
+     * @param afterId the id after which rows are returned, or null to start from the first row.
+     * @param size the maximum number of rows to return.
+     * @param where condition or null. The condition to apply as where clause.
+     * @return sql select statement
+     */
+    public String createSelect(SelectFromAndJoin selectFrom, Class<?> entityType, Long afterId, int size, Condition where) {
+        return createSeekSelect(selectFrom.limit(size), entityType, afterId, where);
+    }
+
+    /**
+     * Creates an SQL select statement which seeks past the given id instead of skipping rows with an offset, so every page
+     * costs the same regardless of its depth. The result is ordered by id, and the id is bound as {@code :afterId}, see
+     * {@link #bindSeek(GenericExecuteSpec, Long)}.
+     * @param selectFrom a representation of a select statement.
+     * @param entityType the entity type which holds the table name.
+     * @param afterId the id after which rows are returned, or null to start from the first row.
+     * @param size the maximum number of rows to return.
+     * @param where condition or null. The condition to apply as where clause.
+     * @return sql select statement
+     */
+    public String createSelect(SelectFromAndJoinCondition selectFrom, Class<?> entityType, Long afterId, int size, Condition where) {
+        return createSeekSelect(selectFrom.limit(size), entityType, afterId, where);
+    }
+
+    /**
+     * Creates the template of the SQL selects of an entity, see {@link SelectTemplate}. It is meant to be created once per
+     * entity, as it renders its selects right away.
+     * @param <S> the type of the select fragment.
+     * @param selectFrom the supplier of a new representation of the select statement, without any where clause.
+     * @param entityType the entity type which holds the table name.
+     * @return the template.
+     */
+    public <S extends SelectWhere & SelectOrdered> SelectTemplate createSelectTemplate(Supplier<S> selectFrom, Class<?> entityType) {
+        return new SelectTemplate(selectFrom, entityType);
+    }
+
+    /**
+     * Bind the id after which rows are returned to a select created by
+     * {@link #createSelect(SelectFromAndJoin, Class, Long, int, Condition)}.
+     * @param select the select.
+     * @param afterId the id after which rows are returned, or null to start from the first row.
+     * @return the select, with the id bound.
+     */
+    public GenericExecuteSpec bindSeek(GenericExecuteSpec select, Long afterId) {
+        return afterId != null ? select.bind(AFTER_ID_PARAMETER, afterId) : select;
+    }
+
     /**
      * Generate an actual SQL from the given {@link Select}.
      * @param select a representation of a select statement.
@@ -142,6 +327,29 @@ public class EntityManager {
         return sqlRenderer.render(select);
     }
 
+    /**
+     * Estimate the number of rows of the table of the given entity from the table statistics of the database, without
+     * scanning the table. Falls back to an exact count if the database does not provide an estimate.
+     * @param entityType the entity type which holds the table name.
+     * @return the estimated number of rows.
+     */
+    public Mono<Long> estimateCount(Class<?> entityType) {
+        RelationalPersistentEntity<?> entity = getPersistentEntity(entityType);
+        Assert.notNull(entity, "entityType is not a persistent entity");
+        String sql = dialect instanceof H2Dialect
+            ? "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES WHERE LOWER(TABLE_NAME) = :tableName"
+            : "SELECT TABLE_ROWS FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = DATABASE() AND LOWER(TABLE_NAME) = :tableName";
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .sql(sql)
+            .bind("tableName", entity.getTableName().getReference().toLowerCase(Locale.ROOT))
+            .map(row -> Optional.ofNullable((Number) row.get(0)))
+            .first()
+            .flatMap(Mono::justOrEmpty)
+            .map(Number::longValue)
+            .switchIfEmpty(Mono.defer(() -> r2dbcEntityTemplate.count(Query.empty(), entityType)));
+    }
+
     /**
      * Delete all the entity with the given type, and return the number of deletions.
      * @param entityType the entity type which holds the table name.
@@ -172,30 +380,105 @@ public class EntityManager {
     }
 
     /**
-     * Updates the table, which links the entity with the referred entities.
+     * Inserts the given entities of the same type into the database with a single batched statement, which carries one
+     * binding per entity through R2DBC {@link Statement#add()} - and sets their id, if it's an autoincrement field.
+     * @param <S> the type of the persisted entities.
+     * @param entityType the entity type which holds the table name.
+     * @param entities the entities to be inserted into the database.
+     * @return the persisted entities, in the same order, or an {@link IncorrectResultSizeDataAccessException} if the
+     * database did not return one generated id per entity.
+     */
+    public <S> Flux<S> insertAll(Class<S> entityType, List<S> entities) {
+        if (entities.isEmpty()) {
+            return Flux.empty();
+        }
+        RelationalPersistentEntity<?> entity = getPersistentEntity(entityType);
+        Assert.notNull(entity, "entityType is not a persistent entity");
+        RelationalPersistentProperty idProperty = entity.getRequiredIdProperty();
+        IdentifierProcessing identifierProcessing = dialect.getIdentifierProcessing();
+
+        List<OutboundRow> rows = entities
+            .stream()
+            .map(e -> {
+                OutboundRow row = r2dbcEntityTemplate.getDataAccessStrategy().getOutboundRow(e);
+                row.remove(idProperty.getColumnName());
+                return row;
+            })
+            .collect(Collectors.toList());
+        List<SqlIdentifier> columns = new ArrayList<>(rows.get(0).keySet());
+        BindMarkers bindMarkers = dialect.getBindMarkersFactory().create();
+        String sql =
+            "INSERT INTO " +
+            entity.getTableName().toSql(identifierProcessing) +
+            " (" +
+            columns.stream().map(column -> column.toSql(identifierProcessing)).collect(Collectors.joining(", ")) +
+            ") VALUES (" +
+            columns.stream().map(column -> bindMarkers.next(column.getReference()).getPlaceholder()).collect(Collectors.joining(", ")) +
+            ")";
+
+        String idColumn = idProperty.getColumnName().toSql(identifierProcessing);
+        Flux<Object> ids = r2dbcEntityTemplate
+            .getDatabaseClient()
+            .inConnectionMany(connection -> {
+                Statement statement = connection.createStatement(sql).returnGeneratedValues(idColumn);
+                for (int i = 0; i < rows.size(); i++) {
+                    if (i > 0) {
+                        statement.add();
+                    }
+                    for (int j = 0; j < columns.size(); j++) {
+                        Parameter parameter = rows.get(i).get(columns.get(j));
+                        if (parameter.hasValue()) {
+                            statement.bind(j, parameter.getValue());
+                        } else {
+                            statement.bindNull(j, parameter.getType());
+                        }
+                    }
+                }
+                return Flux
+                    .from(statement.execute())
+                    .concatMap(result -> result.map((row, metadata) -> (Object) row.get(0, idProperty.getType())));
+            });
+        return ids.collectList().flatMapIterable(generatedIds -> setGeneratedIds(entity, entities, generatedIds));
+    }
+
+    /**
+     * Set the generated ids of the entities inserted by {@link #insertAll(Class, List)}, checking that the database returned
+     * one id per entity - a driver may return fewer keys than rows for a batched statement, and the entities would be lost.
+     */
+    static <S> List<S> setGeneratedIds(RelationalPersistentEntity<?> entity, List<S> entities, List<Object> generatedIds) {
+        if (generatedIds.size() != entities.size()) {
+            throw new IncorrectResultSizeDataAccessException(
+                "The insert of " + entities.size() + " " + entity.getTableName() + " returned " + generatedIds.size() + " generated ids",
+                entities.size(),
+                generatedIds.size()
+            );
+        }
+        RelationalPersistentProperty idProperty = entity.getRequiredIdProperty();
+        for (int i = 0; i < entities.size(); i++) {
+            entity.getPropertyAccessor(entities.get(i)).setProperty(idProperty, generatedIds.get(i));
+        }
+        return entities;
+    }
+
+    /**
+     * Updates the table, which links the entity with the referred entities. Only the difference with the existing links is
+     * written: the removed links are deleted with a single statement, and the new ones are inserted with a single batched
+     * statement.
      * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id.
      * @param entityId the id of the entity, for which the links are created.
      * @param referencedIds the id of the referred entities.
      * @return the number of inserted rows.
      */
     public Mono<Integer> updateLinkTable(LinkTable table, Object entityId, Stream<?> referencedIds) {
-        return deleteFromLinkTable(table, entityId)
-            .then(
-                Flux
-                    .fromStream(referencedIds)
-                    .flatMap((Object referenceId) -> {
-                        StatementMapper.InsertSpec insert = r2dbcEntityTemplate
-                            .getDataAccessStrategy()
-                            .getStatementMapper()
-                            .createInsert(table.tableName)
-                            .withColumn(table.idColumn, Parameter.from(entityId))
-                            .withColumn(table.referenceColumn, Parameter.from(referenceId));
-
-                        return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(insert)).fetch().rowsUpdated();
-                    })
-                    .collectList()
-                    .map((List<Integer> updates) -> updates.stream().reduce(Integer::sum).orElse(0))
-            );
+        Assert.notNull(entityId, "entityId is null");
+        Set<Object> wantedIds = referencedIds.filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        return findLinkedIds(table, entityId)
+            .collect(Collectors.toSet())
+            .flatMap((Set<Object> existingIds) -> {
+                List<Object> removedIds = existingIds.stream().filter(id -> !wantedIds.contains(id)).collect(Collectors.toList());
+                List<Object> addedIds = wantedIds.stream().filter(id -> !existingIds.contains(id)).collect(Collectors.toList());
+                return deleteFromLinkTable(table, entityId, removedIds).then(insertIntoLinkTable(table, entityId, addedIds));
+            });
     }
 
     public Mono<Void> deleteFromLinkTable(LinkTable table, Object entityId) {
@@ -208,6 +491,56 @@ public class EntityManager {
         return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(deleteSpec)).then();
     }
 
+    private Flux<Object> findLinkedIds(LinkTable table, Object entityId) {
+        StatementMapper.SelectSpec selectSpec = statementMapper
+            .createSelect(table.tableName)
+            .withProjection(table.referenceColumn)
+            .withCriteria(Criteria.where(table.idColumn).is(entityId));
+        return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(selectSpec)).map(row -> row.get(0)).all();
+    }
+
+    private Mono<Void> deleteFromLinkTable(LinkTable table, Object entityId, Collection<?> referencedIds) {
+        if (referencedIds.isEmpty()) {
+            return Mono.empty();
+        }
+        StatementMapper.DeleteSpec deleteSpec = statementMapper
+            .createDelete(table.tableName)
+            .withCriteria(Criteria.where(table.idColumn).is(entityId).and(table.referenceColumn).in(referencedIds));
+        return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(deleteSpec)).then();
+    }
+
+    private Mono<Integer> insertIntoLinkTable(LinkTable table, Object entityId, List<?> referencedIds) {
+        if (referencedIds.isEmpty()) {
+            return Mono.just(0);
+        }
+        BindMarkers bindMarkers = dialect.getBindMarkersFactory().create();
+        String sql =
+            "INSERT INTO " +
+            table.tableName +
+            " (" +
+            table.idColumn +
+            ", " +
+            table.referenceColumn +
+            ") VALUES (" +
+            bindMarkers.next(table.idColumn).getPlaceholder() +
+            ", " +
+            bindMarkers.next(table.referenceColumn).getPlaceholder() +
+            ")";
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .inConnectionMany(connection -> {
+                Statement statement = connection.createStatement(sql);
+                for (int i = 0; i < referencedIds.size(); i++) {
+                    if (i > 0) {
+                        statement.add();
+                    }
+                    statement.bind(0, entityId).bind(1, referencedIds.get(i));
+                }
+                return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+            })
+            .reduce(0, Integer::sum);
+    }
+
     private String createSelectImpl(SelectOrdered selectFrom, Class<?> entityType, Sort sortParameter) {
         if (sortParameter != null && sortParameter.isSorted()) {
             RelationalPersistentEntity<?> entity = getPersistentEntity(entityType);
@@ -220,6 +553,30 @@ public class EntityManager {
         return createSelect(selectFrom.build());
     }
 
+    private String createSeekSelect(SelectFromAndJoin limitedSelectFrom, Class<?> entityType, Long afterId, Condition where) {
+        Condition condition = createSeekCondition(entityType, afterId, where);
+        SelectOrdered selectFrom = condition != null ? limitedSelectFrom.where(condition) : limitedSelectFrom;
+        return createSelectImpl(selectFrom, entityType, Sort.by(ID_PROPERTY));
+    }
+
+    private Condition createSeekCondition(Class<?> entityType, Long afterId, Condition where) {
+        if (afterId == null) {
+            return where;
+        }
+        Condition seek = createSeekCondition(entityType);
+        return where != null ? seek.and(Conditions.nest(where)) : seek;
+    }
+
+    private Condition createSeekCondition(Class<?> entityType) {
+        return Conditions.isGreater(getEntityTable(entityType).column(ID_PROPERTY), SQL.bindMarker(":" + AFTER_ID_PARAMETER));
+    }
+
+    private Table getEntityTable(Class<?> entityType) {
+        RelationalPersistentEntity<?> entity = getPersistentEntity(entityType);
+        Assert.notNull(entity, "entityType is not a persistent entity");
+        return Table.create(entity.getTableName()).as(EntityManager.ENTITY_ALIAS);
+    }
+
     private RelationalPersistentEntity<?> getPersistentEntity(Class<?> entityType) {
         return r2dbcEntityTemplate.getConverter().getMappingContext().getPersistentEntity(entityType);
     }
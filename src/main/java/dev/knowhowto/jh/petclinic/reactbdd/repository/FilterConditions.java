@@ -0,0 +1,187 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.data.relational.core.sql.BindMarker;
+import org.springframework.data.relational.core.sql.Column;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Functions;
+import org.springframework.data.relational.core.sql.SQL;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * The where clause of a select, built from the {@link Filter}s of a criteria, with the values of its bind markers.
+ * <p>
+ * The values are never rendered into the SQL, so the selects of the same filters share the same SQL whatever their
+ * values, and the database can reuse their prepared statements. The conditions are created on the columns of the aliased
+ * tables of the select, so they can apply to the joined tables as well as to the entity table.
+ */
+public final class FilterConditions {
+
+    private static final String BIND_MARKER_PREFIX = "filter";
+
+    private static final FilterConditions NONE = new FilterConditions(null, Collections.emptyMap());
+
+    private final Condition condition;
+
+    private final Map<String, Object> bindings;
+
+    private FilterConditions(Condition condition, Map<String, Object> bindings) {
+        this.condition = condition;
+        this.bindings = bindings;
+    }
+
+    /**
+     * @return the conditions of no filter.
+     */
+    public static FilterConditions none() {
+        return NONE;
+    }
+
+    /**
+     * @return a builder of the conditions of some filters.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return true if there is no condition.
+     */
+    public boolean isEmpty() {
+        return condition == null;
+    }
+
+    /**
+     * @return the condition of all the filters, or null if there is no condition.
+     */
+    public Condition getCondition() {
+        return condition;
+    }
+
+    /**
+     * Bind the values of the conditions to a select created with {@link #getCondition()}.
+     * @param select the select.
+     * @return the select, with the values bound.
+     */
+    public GenericExecuteSpec bind(GenericExecuteSpec select) {
+        GenericExecuteSpec result = select;
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            result = result.bind(binding.getKey(), binding.getValue());
+        }
+        return result;
+    }
+
+    public static final class Builder {
+
+        private final List<Condition> conditions = new ArrayList<>();
+
+        private final Map<String, Object> bindings = new LinkedHashMap<>();
+
+        private Builder() {}
+
+        /**
+         * Add the conditions of the given filter on the given column. The string filters are matched ignoring the case.
+         * @param filter the filter, or null.
+         * @param column the column, of an aliased table of the select.
+         * @return this builder.
+         */
+        public Builder filter(Filter<?> filter, Column column) {
+            if (filter == null) {
+                return this;
+            }
+            if (filter.getEquals() != null) {
+                conditions.add(Conditions.isEqual(column, bind(filter.getEquals())));
+            }
+            if (filter.getNotEquals() != null) {
+                conditions.add(Conditions.isNotEqual(column, bind(filter.getNotEquals())));
+            }
+            if (filter.getSpecified() != null) {
+                conditions.add(filter.getSpecified() ? Conditions.isNull(column).not() : Conditions.isNull(column));
+            }
+            if (filter.getIn() != null && !filter.getIn().isEmpty()) {
+                conditions.add(Conditions.in(column, bind(filter.getIn())));
+            }
+            if (filter.getNotIn() != null && !filter.getNotIn().isEmpty()) {
+                conditions.add(Conditions.in(column, bind(filter.getNotIn())).not());
+            }
+            if (filter instanceof RangeFilter) {
+                addRangeConditions((RangeFilter<?>) filter, column);
+            }
+            if (filter instanceof StringFilter) {
+                addStringConditions((StringFilter) filter, column);
+            }
+            return this;
+        }
+
+        /**
+         * @return the conditions of the filters.
+         */
+        public FilterConditions build() {
+            if (conditions.isEmpty()) {
+                return NONE;
+            }
+            Condition condition = conditions.stream().reduce(Condition::and).orElseThrow();
+            return new FilterConditions(condition, Collections.unmodifiableMap(new LinkedHashMap<>(bindings)));
+        }
+
+        private void addRangeConditions(RangeFilter<?> filter, Column column) {
+            if (filter.getGreaterThan() != null) {
+                conditions.add(Conditions.isGreater(column, bind(filter.getGreaterThan())));
+            }
+            if (filter.getGreaterThanOrEqual() != null) {
+                conditions.add(Conditions.isGreaterOrEqualTo(column, bind(filter.getGreaterThanOrEqual())));
+            }
+            if (filter.getLessThan() != null) {
+                conditions.add(Conditions.isLess(column, bind(filter.getLessThan())));
+            }
+            if (filter.getLessThanOrEqual() != null) {
+                conditions.add(Conditions.isLessOrEqualTo(column, bind(filter.getLessThanOrEqual())));
+            }
+        }
+
+        private void addStringConditions(StringFilter filter, Column column) {
+            Expression upperColumn = Functions.upper(column);
+            if (filter.getContains() != null) {
+                conditions.add(Conditions.like(upperColumn, bind(toContainsPattern(filter.getContains()))));
+            }
+            if (filter.getDoesNotContain() != null) {
+                conditions.add(Conditions.like(upperColumn, bind(toContainsPattern(filter.getDoesNotContain()))).not());
+            }
+        }
+
+        private BindMarker bind(Object value) {
+            String name = BIND_MARKER_PREFIX + bindings.size();
+            bindings.put(name, toDatabaseValue(value));
+            return SQL.bindMarker(":" + name);
+        }
+
+        private static String toContainsPattern(String value) {
+            String escaped = value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            return "%" + escaped.toUpperCase() + "%";
+        }
+
+        private static Object toDatabaseValue(Object value) {
+            if (value instanceof List) {
+                return ((List<?>) value).stream().map(Builder::toDatabaseValue).collect(Collectors.toList());
+            }
+            // the instants are stored as UTC date-times, as by the InstantWriteConverter of the DatabaseConfiguration
+            if (value instanceof Instant) {
+                return LocalDateTime.ofInstant((Instant) value, ZoneOffset.UTC);
+            }
+            return value;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.criteria.OwnersCriteria;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -35,10 +36,17 @@ interface OwnersRepositoryInternal {
 
     Flux<Owners> findAllBy(Pageable pageable);
 
+    Flux<Owners> findAllAfter(Long afterId, int size);
+
+    Flux<Owners> streamAll(int fetchSize);
+
     Flux<Owners> findAll();
 
     Mono<Owners> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Owners> findAllBy(Pageable pageable, Criteria criteria);
 
+    Flux<Owners> findByCriteria(OwnersCriteria criteria, Pageable pageable);
+
+    Flux<Owners> findByCriteriaAfter(OwnersCriteria criteria, Long afterId, int size);
+
+    Mono<Long> countByCriteria(OwnersCriteria criteria);
 }
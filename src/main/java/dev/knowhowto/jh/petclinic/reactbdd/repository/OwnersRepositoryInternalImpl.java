@@ -18,10 +18,9 @@ import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.support.SimpleR2dbcRepository;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.sql.Column;
-import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
-import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Functions;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -29,6 +28,7 @@ import org.springframework.data.relational.repository.support.MappingRelationalE
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.RowsFetchSpec;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.criteria.OwnersCriteria;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper.OwnersRowMapper;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -42,6 +42,7 @@ class OwnersRepositoryInternalImpl extends SimpleR2dbcRepository<Owners, Long> i
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final EntityManager.SelectTemplate selectTemplate;
 
     private final OwnersRowMapper ownersMapper;
 
@@ -62,20 +63,45 @@ class OwnersRepositoryInternalImpl extends SimpleR2dbcRepository<Owners, Long> i
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.selectTemplate = entityManager.createSelectTemplate(OwnersRepositoryInternalImpl::createSelectFrom, Owners.class);
         this.ownersMapper = ownersMapper;
     }
 
     @Override
     public Flux<Owners> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, FilterConditions.none()).all();
     }
 
-    RowsFetchSpec<Owners> createQuery(Pageable pageable, Condition whereClause) {
+    RowsFetchSpec<Owners> createQuery(Pageable pageable, FilterConditions where) {
+        if (where.isEmpty()) {
+            return selectTemplate.select(pageable).map(createRowMapper());
+        }
+        String select = entityManager.createSelect(createSelectFrom(), Owners.class, pageable, where.getCondition());
+        return where.bind(db.sql(select)).map(createRowMapper());
+    }
+
+    RowsFetchSpec<Owners> createQuery(Long afterId, int size, FilterConditions where) {
+        if (where.isEmpty()) {
+            return selectTemplate.selectAfter(afterId, size).map(createRowMapper());
+        }
+        String select = entityManager.createSelect(createSelectFrom(), Owners.class, afterId, size, where.getCondition());
+        return where.bind(entityManager.bindSeek(db.sql(select), afterId)).map(createRowMapper());
+    }
+
+    static SelectFromAndJoin createSelectFrom() {
         List<Expression> columns = OwnersSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Owners.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return selectFrom;
+    }
+
+    @Override
+    public Flux<Owners> findAllAfter(Long afterId, int size) {
+        return createQuery(afterId, size, FilterConditions.none()).all();
+    }
+
+    @Override
+    public Flux<Owners> streamAll(int fetchSize) {
+        return selectTemplate.selectAll(fetchSize).map(createRowMapper()).all();
     }
 
     @Override
@@ -85,13 +111,48 @@ class OwnersRepositoryInternalImpl extends SimpleR2dbcRepository<Owners, Long> i
 
     @Override
     public Mono<Owners> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return selectTemplate.selectById(id).map(createRowMapper()).one();
+    }
+
+    @Override
+    public Flux<Owners> findByCriteria(OwnersCriteria criteria, Pageable pageable) {
+        return createQuery(pageable, buildConditions(criteria)).all();
+    }
+
+    @Override
+    public Flux<Owners> findByCriteriaAfter(OwnersCriteria criteria, Long afterId, int size) {
+        return createQuery(afterId, size, buildConditions(criteria)).all();
+    }
+
+    @Override
+    public Mono<Long> countByCriteria(OwnersCriteria criteria) {
+        FilterConditions where = buildConditions(criteria);
+        if (where.isEmpty()) {
+            return count();
+        }
+        Select select = Select
+            .builder()
+            .select(Functions.count(Column.create("id", entityTable)))
+            .from(entityTable)
+            .where(where.getCondition())
+            .build();
+        return where.bind(db.sql(entityManager.createSelect(select))).map((row, metadata) -> row.get(0, Long.class)).one();
+    }
+
+    private FilterConditions buildConditions(OwnersCriteria criteria) {
+        return FilterConditions
+            .builder()
+            .filter(criteria.getId(), Column.create("id", entityTable))
+            .filter(criteria.getFirstname(), Column.create("firstname", entityTable))
+            .filter(criteria.getLastname(), Column.create("lastname", entityTable))
+            .filter(criteria.getAddress(), Column.create("address", entityTable))
+            .filter(criteria.getCity(), Column.create("city", entityTable))
+            .filter(criteria.getTelephone(), Column.create("telephone", entityTable))
+            .build();
     }
 
-    private Owners process(Row row, RowMetadata metadata) {
-        Owners entity = ownersMapper.apply(row, "e");
-        return entity;
+    private BiFunction<Row, RowMetadata, Owners> createRowMapper() {
+        return ownersMapper.indexed("e");
     }
 
     @Override
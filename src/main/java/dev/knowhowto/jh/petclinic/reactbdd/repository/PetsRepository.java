@@ -1,11 +1,13 @@
 package dev.knowhowto.jh.petclinic.reactbdd.repository;
 
+import java.util.Collection;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.criteria.PetsCriteria;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -29,6 +31,18 @@ public interface PetsRepository extends ReactiveCrudRepository<Pets, Long>, Pets
     @Query("SELECT * FROM pets entity WHERE entity.owner_id IS NULL")
     Flux<Pets> findAllWhereOwnerIsNull();
 
+    @Query("SELECT * FROM pets entity WHERE entity.owner_id IN (:ids)")
+    Flux<Pets> findByOwnerIn(Collection<Long> ids);
+
+    @Query("SELECT entity.owner_id FROM pets entity WHERE entity.id = :id AND entity.owner_id IS NOT NULL")
+    Mono<Long> findOwnerIdById(Long id);
+
+    @Query("SELECT DISTINCT entity.owner_id FROM pets entity WHERE entity.id IN (:ids) AND entity.owner_id IS NOT NULL")
+    Flux<Long> findOwnerIdsByIdIn(Collection<Long> ids);
+
+    @Query("SELECT DISTINCT entity.owner_id FROM pets entity WHERE entity.type_id = :id AND entity.owner_id IS NOT NULL")
+    Flux<Long> findOwnerIdsByType(Long id);
+
     @Override
     <S extends Pets> Mono<S> save(S entity);
 
@@ -47,10 +61,17 @@ interface PetsRepositoryInternal {
 
     Flux<Pets> findAllBy(Pageable pageable);
 
+    Flux<Pets> findAllAfter(Long afterId, int size);
+
+    Flux<Pets> streamAll(int fetchSize);
+
     Flux<Pets> findAll();
 
     Mono<Pets> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Pets> findAllBy(Pageable pageable, Criteria criteria);
 
+    Flux<Pets> findByCriteria(PetsCriteria criteria, Pageable pageable);
+
+    Flux<Pets> findByCriteriaAfter(PetsCriteria criteria, Long afterId, int size);
+
+    Mono<Long> countByCriteria(PetsCriteria criteria);
 }
@@ -19,20 +19,20 @@ import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.support.SimpleR2dbcRepository;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.sql.Column;
-import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
-import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Functions;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.RowsFetchSpec;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.criteria.PetsCriteria;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper.OwnersRowMapper;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper.PetsRowMapper;
-import dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper.TypesRowMapper;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -45,19 +45,17 @@ class PetsRepositoryInternalImpl extends SimpleR2dbcRepository<Pets, Long> imple
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final EntityManager.SelectTemplate selectTemplate;
 
-    private final TypesRowMapper typesMapper;
     private final OwnersRowMapper ownersMapper;
     private final PetsRowMapper petsMapper;
 
     private static final Table entityTable = Table.aliased("pets", EntityManager.ENTITY_ALIAS);
-    private static final Table typeTable = Table.aliased("types", "e_type");
     private static final Table ownerTable = Table.aliased("owners", "owner");
 
     public PetsRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
-        TypesRowMapper typesMapper,
         OwnersRowMapper ownersMapper,
         PetsRowMapper petsMapper,
         R2dbcEntityOperations entityOperations,
@@ -71,33 +69,54 @@ class PetsRepositoryInternalImpl extends SimpleR2dbcRepository<Pets, Long> imple
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
-        this.typesMapper = typesMapper;
+        this.selectTemplate = entityManager.createSelectTemplate(this::createSelectFrom, Pets.class);
         this.ownersMapper = ownersMapper;
         this.petsMapper = petsMapper;
     }
 
     @Override
     public Flux<Pets> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, FilterConditions.none()).all();
     }
 
-    RowsFetchSpec<Pets> createQuery(Pageable pageable, Condition whereClause) {
+    RowsFetchSpec<Pets> createQuery(Pageable pageable, FilterConditions where) {
+        if (where.isEmpty()) {
+            return selectTemplate.select(pageable).map(createRowMapper());
+        }
+        String select = entityManager.createSelect(createSelectFrom(), Pets.class, pageable, where.getCondition());
+        return where.bind(db.sql(select)).map(createRowMapper());
+    }
+
+    RowsFetchSpec<Pets> createQuery(Long afterId, int size, FilterConditions where) {
+        if (where.isEmpty()) {
+            return selectTemplate.selectAfter(afterId, size).map(createRowMapper());
+        }
+        String select = entityManager.createSelect(createSelectFrom(), Pets.class, afterId, size, where.getCondition());
+        return where.bind(entityManager.bindSeek(db.sql(select), afterId)).map(createRowMapper());
+    }
+
+    private SelectFromAndJoinCondition createSelectFrom() {
+        // the types are reference data, the services fill the type of the pets from the ReferenceDataService
         List<Expression> columns = PetsSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        columns.addAll(TypesSqlHelper.getColumns(typeTable, "type"));
         columns.addAll(OwnersSqlHelper.getColumns(ownerTable, "owner"));
         SelectFromAndJoinCondition selectFrom = Select
             .builder()
             .select(columns)
             .from(entityTable)
-            .leftOuterJoin(typeTable)
-            .on(Column.create("type_id", entityTable))
-            .equals(Column.create("id", typeTable))
             .leftOuterJoin(ownerTable)
             .on(Column.create("owner_id", entityTable))
             .equals(Column.create("id", ownerTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Pets.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return selectFrom;
+    }
+
+    @Override
+    public Flux<Pets> findAllAfter(Long afterId, int size) {
+        return createQuery(afterId, size, FilterConditions.none()).all();
+    }
+
+    @Override
+    public Flux<Pets> streamAll(int fetchSize) {
+        return selectTemplate.selectAll(fetchSize).map(createRowMapper()).all();
     }
 
     @Override
@@ -107,15 +126,53 @@ class PetsRepositoryInternalImpl extends SimpleR2dbcRepository<Pets, Long> imple
 
     @Override
     public Mono<Pets> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return selectTemplate.selectById(id).map(createRowMapper()).one();
+    }
+
+    @Override
+    public Flux<Pets> findByCriteria(PetsCriteria criteria, Pageable pageable) {
+        return createQuery(pageable, buildConditions(criteria)).all();
+    }
+
+    @Override
+    public Flux<Pets> findByCriteriaAfter(PetsCriteria criteria, Long afterId, int size) {
+        return createQuery(afterId, size, buildConditions(criteria)).all();
+    }
+
+    @Override
+    public Mono<Long> countByCriteria(PetsCriteria criteria) {
+        FilterConditions where = buildConditions(criteria);
+        if (where.isEmpty()) {
+            return count();
+        }
+        Select select = Select
+            .builder()
+            .select(Functions.count(Column.create("id", entityTable)))
+            .from(entityTable)
+            .where(where.getCondition())
+            .build();
+        return where.bind(db.sql(entityManager.createSelect(select))).map((row, metadata) -> row.get(0, Long.class)).one();
+    }
+
+    private FilterConditions buildConditions(PetsCriteria criteria) {
+        return FilterConditions
+            .builder()
+            .filter(criteria.getId(), Column.create("id", entityTable))
+            .filter(criteria.getName(), Column.create("name", entityTable))
+            .filter(criteria.getBirthdate(), Column.create("birthdate", entityTable))
+            .filter(criteria.getTypeId(), Column.create("type_id", entityTable))
+            .filter(criteria.getOwnerId(), Column.create("owner_id", entityTable))
+            .build();
     }
 
-    private Pets process(Row row, RowMetadata metadata) {
-        Pets entity = petsMapper.apply(row, "e");
-        entity.setType(typesMapper.apply(row, "type"));
-        entity.setOwner(ownersMapper.apply(row, "owner"));
-        return entity;
+    private BiFunction<Row, RowMetadata, Pets> createRowMapper() {
+        BiFunction<Row, RowMetadata, Pets> entityMapper = petsMapper.indexed("e");
+        BiFunction<Row, RowMetadata, Owners> ownerMapper = ownersMapper.indexed("owner");
+        return (row, metadata) -> {
+            Pets entity = entityMapper.apply(row, metadata);
+            entity.setOwner(ownerMapper.apply(row, metadata));
+            return entity;
+        };
     }
 
     @Override
@@ -0,0 +1,16 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.SearchOutbox;
+import reactor.core.publisher.Flux;
+
+/**
+ * Spring Data R2DBC repository for the {@link SearchOutbox} entity.
+ */
+@Repository
+public interface SearchOutboxRepository extends ReactiveCrudRepository<SearchOutbox, Long> {
+    @Query("SELECT * FROM search_outbox entity WHERE entity.failed_date IS NULL ORDER BY entity.id LIMIT :limit")
+    Flux<SearchOutbox> findOldest(int limit);
+}
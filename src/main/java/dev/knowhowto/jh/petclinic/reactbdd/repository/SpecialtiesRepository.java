@@ -25,7 +25,8 @@ public interface SpecialtiesRepository extends ReactiveCrudRepository<Specialtie
     Flux<Specialties> findAllWithEagerRelationships(Pageable page);
 
     @Query(
-        "SELECT entity.* FROM specialties entity JOIN rel_specialties__vet joinTable ON entity.id = joinTable.vet_id WHERE joinTable.vet_id = :id"
+        "SELECT entity.* FROM rel_specialties__vet joinTable JOIN specialties entity ON entity.id = joinTable.specialties_id" +
+        " WHERE joinTable.vet_id = :id"
     )
     Flux<Specialties> findByVet(Long id);
 
@@ -47,6 +48,8 @@ interface SpecialtiesRepositoryInternal {
 
     Flux<Specialties> findAllBy(Pageable pageable);
 
+    Flux<Specialties> findAllAfter(Long afterId, int size);
+
     Flux<Specialties> findAll();
 
     Mono<Specialties> findById(Long id);
@@ -19,9 +19,7 @@ import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.support.SimpleR2dbcRepository;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.sql.Column;
-import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
-import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
@@ -44,8 +42,10 @@ class SpecialtiesRepositoryInternalImpl extends SimpleR2dbcRepository<Specialtie
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final EntityManager.SelectTemplate selectTemplate;
 
     private final SpecialtiesRowMapper specialtiesMapper;
+    private final VetsSpecialtiesBatchLoader vetsSpecialtiesBatchLoader;
 
     private static final Table entityTable = Table.aliased("specialties", EntityManager.ENTITY_ALIAS);
 
@@ -55,6 +55,7 @@ class SpecialtiesRepositoryInternalImpl extends SimpleR2dbcRepository<Specialtie
         R2dbcEntityTemplate template,
         EntityManager entityManager,
         SpecialtiesRowMapper specialtiesMapper,
+        VetsSpecialtiesBatchLoader vetsSpecialtiesBatchLoader,
         R2dbcEntityOperations entityOperations,
         R2dbcConverter converter
     ) {
@@ -66,7 +67,9 @@ class SpecialtiesRepositoryInternalImpl extends SimpleR2dbcRepository<Specialtie
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.selectTemplate = entityManager.createSelectTemplate(this::createSelectFrom, Specialties.class);
         this.specialtiesMapper = specialtiesMapper;
+        this.vetsSpecialtiesBatchLoader = vetsSpecialtiesBatchLoader;
     }
 
     @Override
@@ -75,11 +78,31 @@ class SpecialtiesRepositoryInternalImpl extends SimpleR2dbcRepository<Specialtie
     }
 
     RowsFetchSpec<Specialties> createQuery(Pageable pageable, Condition whereClause) {
+        if (whereClause == null) {
+            return selectTemplate.select(pageable).map(createRowMapper());
+        }
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        String select = entityManager.createSelect(createSelectFrom(), Specialties.class, pageable, whereClause);
+        return db.sql(select).map(createRowMapper());
+    }
+
+    RowsFetchSpec<Specialties> createQuery(Long afterId, int size, Condition whereClause) {
+        if (whereClause == null) {
+            return selectTemplate.selectAfter(afterId, size).map(createRowMapper());
+        }
+        String select = entityManager.createSelect(createSelectFrom(), Specialties.class, afterId, size, whereClause);
+        return entityManager.bindSeek(db.sql(select), afterId).map(createRowMapper());
+    }
+
+    private SelectFromAndJoin createSelectFrom() {
         List<Expression> columns = SpecialtiesSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Specialties.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return selectFrom;
+    }
+
+    @Override
+    public Flux<Specialties> findAllAfter(Long afterId, int size) {
+        return createQuery(afterId, size, null).all();
     }
 
     @Override
@@ -89,28 +112,26 @@ class SpecialtiesRepositoryInternalImpl extends SimpleR2dbcRepository<Specialtie
 
     @Override
     public Mono<Specialties> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return selectTemplate.selectById(id).map(createRowMapper()).one();
     }
 
     @Override
     public Mono<Specialties> findOneWithEagerRelationships(Long id) {
-        return findById(id);
+        return findById(id).flatMap(specialties -> vetsSpecialtiesBatchLoader.loadVets(List.of(specialties)).next());
     }
 
     @Override
     public Flux<Specialties> findAllWithEagerRelationships() {
-        return findAll();
+        return findAll().collectList().flatMapMany(vetsSpecialtiesBatchLoader::loadVets);
     }
 
     @Override
     public Flux<Specialties> findAllWithEagerRelationships(Pageable page) {
-        return findAllBy(page);
+        return findAllBy(page).collectList().flatMapMany(vetsSpecialtiesBatchLoader::loadVets);
     }
 
-    private Specialties process(Row row, RowMetadata metadata) {
-        Specialties entity = specialtiesMapper.apply(row, "e");
-        return entity;
+    private BiFunction<Row, RowMetadata, Specialties> createRowMapper() {
+        return specialtiesMapper.indexed("e");
     }
 
     @Override
@@ -35,6 +35,8 @@ interface TypesRepositoryInternal {
 
     Flux<Types> findAllBy(Pageable pageable);
 
+    Flux<Types> findAllAfter(Long afterId, int size);
+
     Flux<Types> findAll();
 
     Mono<Types> findById(Long id);
@@ -18,9 +18,7 @@ import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.support.SimpleR2dbcRepository;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.sql.Column;
-import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
-import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
@@ -42,6 +40,7 @@ class TypesRepositoryInternalImpl extends SimpleR2dbcRepository<Types, Long> imp
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final EntityManager.SelectTemplate selectTemplate;
 
     private final TypesRowMapper typesMapper;
 
@@ -62,6 +61,7 @@ class TypesRepositoryInternalImpl extends SimpleR2dbcRepository<Types, Long> imp
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.selectTemplate = entityManager.createSelectTemplate(this::createSelectFrom, Types.class);
         this.typesMapper = typesMapper;
     }
 
@@ -71,11 +71,31 @@ class TypesRepositoryInternalImpl extends SimpleR2dbcRepository<Types, Long> imp
     }
 
     RowsFetchSpec<Types> createQuery(Pageable pageable, Condition whereClause) {
+        if (whereClause == null) {
+            return selectTemplate.select(pageable).map(createRowMapper());
+        }
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        String select = entityManager.createSelect(createSelectFrom(), Types.class, pageable, whereClause);
+        return db.sql(select).map(createRowMapper());
+    }
+
+    RowsFetchSpec<Types> createQuery(Long afterId, int size, Condition whereClause) {
+        if (whereClause == null) {
+            return selectTemplate.selectAfter(afterId, size).map(createRowMapper());
+        }
+        String select = entityManager.createSelect(createSelectFrom(), Types.class, afterId, size, whereClause);
+        return entityManager.bindSeek(db.sql(select), afterId).map(createRowMapper());
+    }
+
+    private SelectFromAndJoin createSelectFrom() {
         List<Expression> columns = TypesSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Types.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return selectFrom;
+    }
+
+    @Override
+    public Flux<Types> findAllAfter(Long afterId, int size) {
+        return createQuery(afterId, size, null).all();
     }
 
     @Override
@@ -85,13 +105,11 @@ class TypesRepositoryInternalImpl extends SimpleR2dbcRepository<Types, Long> imp
 
     @Override
     public Mono<Types> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return selectTemplate.selectById(id).map(createRowMapper()).one();
     }
 
-    private Types process(Row row, RowMetadata metadata) {
-        Types entity = typesMapper.apply(row, "e");
-        return entity;
+    private BiFunction<Row, RowMetadata, Types> createRowMapper() {
+        return typesMapper.indexed("e");
     }
 
     @Override
@@ -7,8 +7,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
-import org.apache.commons.beanutils.BeanComparator;
 import org.springframework.data.domain.*;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
@@ -48,6 +48,8 @@ public interface UserRepository extends R2dbcRepository<User, Long>, UserReposit
 
     Mono<Long> count();
 
+    Mono<Long> countByLoginStartingWith(String prefix);
+
     @Query("INSERT INTO jhi_user_authority VALUES(:userId, :authority)")
     Mono<Void> saveUserAuthority(Long userId, String authority);
 
@@ -94,28 +96,34 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
 
     @Override
     public Flux<User> findAllWithAuthorities(Pageable pageable) {
-        String property = pageable.getSort().stream().map(Sort.Order::getProperty).findFirst().orElse("id");
-        String direction = String.valueOf(
-            pageable.getSort().stream().map(Sort.Order::getDirection).findFirst().orElse(Sort.DEFAULT_DIRECTION)
-        );
-        long page = pageable.getPageNumber();
-        long size = pageable.getPageSize();
-
-        return db
-            .sql("SELECT * FROM jhi_user u LEFT JOIN jhi_user_authority ua ON u.id=ua.user_id")
-            .map((row, metadata) ->
-                Tuples.of(r2dbcConverter.read(User.class, row, metadata), Optional.ofNullable(row.get("authority_name", String.class)))
-            )
+        // page the users in SQL, sorted by id last so that the users tied on the requested order keep their page
+        Sort sort = pageable.getSort();
+        Pageable sortedPageable = sort.getOrderFor("id") != null
+            ? pageable
+            : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort.and(Sort.by(Sort.Order.asc("id"))));
+        return r2dbcEntityTemplate
+            .select(User.class)
+            .matching(query(where("id").isNotNull()).with(sortedPageable))
             .all()
-            .groupBy(t -> t.getT1().getLogin())
-            .flatMap(l -> l.collectList().map(t -> updateUserWithAuthorities(t.get(0).getT1(), t)))
-            .sort(
-                Sort.Direction.fromString(direction) == Sort.DEFAULT_DIRECTION
-                    ? new BeanComparator<>(property)
-                    : new BeanComparator<>(property).reversed()
-            )
-            .skip(page * size)
-            .take(size);
+            .collectList()
+            .flatMapMany(users -> {
+                if (users.isEmpty()) {
+                    return Flux.empty();
+                }
+                List<Long> ids = users.stream().map(User::getId).collect(Collectors.toList());
+                return db
+                    .sql("SELECT user_id, authority_name FROM jhi_user_authority WHERE user_id IN (:ids)")
+                    .bind("ids", ids)
+                    .map((row, metadata) -> Tuples.of(row.get("user_id", Long.class), row.get("authority_name", String.class)))
+                    .all()
+                    .collect(Collectors.groupingBy(Tuple2::getT1, Collectors.mapping(Tuple2::getT2, Collectors.toSet())))
+                    .flatMapIterable(authoritiesByUserId -> {
+                        users.forEach(user ->
+                            user.setAuthorities(toAuthorities(authoritiesByUserId.getOrDefault(user.getId(), Set.of())))
+                        );
+                        return users;
+                    });
+            });
     }
 
     @Override
@@ -140,6 +148,17 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
             .map(l -> updateUserWithAuthorities(l.get(0).getT1(), l));
     }
 
+    private Set<Authority> toAuthorities(Set<String> names) {
+        return names
+            .stream()
+            .map(name -> {
+                Authority authority = new Authority();
+                authority.setName(name);
+                return authority;
+            })
+            .collect(Collectors.toSet());
+    }
+
     private User updateUserWithAuthorities(User user, List<Tuple2<User, Optional<String>>> tuples) {
         user.setAuthorities(
             tuples
@@ -17,6 +17,15 @@ import reactor.core.publisher.Mono;
 public interface VetsRepository extends ReactiveCrudRepository<Vets, Long>, VetsRepositoryInternal {
     Flux<Vets> findAllBy(Pageable pageable);
 
+    @Override
+    Mono<Vets> findOneWithEagerRelationships(Long id);
+
+    @Override
+    Flux<Vets> findAllWithEagerRelationships();
+
+    @Override
+    Flux<Vets> findAllWithEagerRelationships(Pageable page);
+
     @Override
     <S extends Vets> Mono<S> save(S entity);
 
@@ -35,10 +44,17 @@ interface VetsRepositoryInternal {
 
     Flux<Vets> findAllBy(Pageable pageable);
 
+    Flux<Vets> findAllAfter(Long afterId, int size);
+
     Flux<Vets> findAll();
 
     Mono<Vets> findById(Long id);
     // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
     // Flux<Vets> findAllBy(Pageable pageable, Criteria criteria);
 
+    Mono<Vets> findOneWithEagerRelationships(Long id);
+
+    Flux<Vets> findAllWithEagerRelationships();
+
+    Flux<Vets> findAllWithEagerRelationships(Pageable page);
 }
@@ -18,9 +18,7 @@ import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.support.SimpleR2dbcRepository;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.sql.Column;
-import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
-import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
@@ -42,8 +40,10 @@ class VetsRepositoryInternalImpl extends SimpleR2dbcRepository<Vets, Long> imple
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final EntityManager.SelectTemplate selectTemplate;
 
     private final VetsRowMapper vetsMapper;
+    private final VetsSpecialtiesBatchLoader vetsSpecialtiesBatchLoader;
 
     private static final Table entityTable = Table.aliased("vets", EntityManager.ENTITY_ALIAS);
 
@@ -51,6 +51,7 @@ class VetsRepositoryInternalImpl extends SimpleR2dbcRepository<Vets, Long> imple
         R2dbcEntityTemplate template,
         EntityManager entityManager,
         VetsRowMapper vetsMapper,
+        VetsSpecialtiesBatchLoader vetsSpecialtiesBatchLoader,
         R2dbcEntityOperations entityOperations,
         R2dbcConverter converter
     ) {
@@ -62,7 +63,9 @@ class VetsRepositoryInternalImpl extends SimpleR2dbcRepository<Vets, Long> imple
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.selectTemplate = entityManager.createSelectTemplate(this::createSelectFrom, Vets.class);
         this.vetsMapper = vetsMapper;
+        this.vetsSpecialtiesBatchLoader = vetsSpecialtiesBatchLoader;
     }
 
     @Override
@@ -71,11 +74,31 @@ class VetsRepositoryInternalImpl extends SimpleR2dbcRepository<Vets, Long> imple
     }
 
     RowsFetchSpec<Vets> createQuery(Pageable pageable, Condition whereClause) {
+        if (whereClause == null) {
+            return selectTemplate.select(pageable).map(createRowMapper());
+        }
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        String select = entityManager.createSelect(createSelectFrom(), Vets.class, pageable, whereClause);
+        return db.sql(select).map(createRowMapper());
+    }
+
+    RowsFetchSpec<Vets> createQuery(Long afterId, int size, Condition whereClause) {
+        if (whereClause == null) {
+            return selectTemplate.selectAfter(afterId, size).map(createRowMapper());
+        }
+        String select = entityManager.createSelect(createSelectFrom(), Vets.class, afterId, size, whereClause);
+        return entityManager.bindSeek(db.sql(select), afterId).map(createRowMapper());
+    }
+
+    private SelectFromAndJoin createSelectFrom() {
         List<Expression> columns = VetsSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Vets.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return selectFrom;
+    }
+
+    @Override
+    public Flux<Vets> findAllAfter(Long afterId, int size) {
+        return createQuery(afterId, size, null).all();
     }
 
     @Override
@@ -85,13 +108,26 @@ class VetsRepositoryInternalImpl extends SimpleR2dbcRepository<Vets, Long> imple
 
     @Override
     public Mono<Vets> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return selectTemplate.selectById(id).map(createRowMapper()).one();
+    }
+
+    @Override
+    public Mono<Vets> findOneWithEagerRelationships(Long id) {
+        return findById(id).flatMap(vets -> vetsSpecialtiesBatchLoader.loadSpecialties(List.of(vets)).next());
+    }
+
+    @Override
+    public Flux<Vets> findAllWithEagerRelationships() {
+        return findAll().collectList().flatMapMany(vetsSpecialtiesBatchLoader::loadSpecialties);
+    }
+
+    @Override
+    public Flux<Vets> findAllWithEagerRelationships(Pageable page) {
+        return findAllBy(page).collectList().flatMapMany(vetsSpecialtiesBatchLoader::loadSpecialties);
     }
 
-    private Vets process(Row row, RowMetadata metadata) {
-        Vets entity = vetsMapper.apply(row, "e");
-        return entity;
+    private BiFunction<Row, RowMetadata, Vets> createRowMapper() {
+        return vetsMapper.indexed("e");
     }
 
     @Override
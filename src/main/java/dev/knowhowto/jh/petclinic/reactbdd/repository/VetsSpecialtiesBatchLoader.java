@@ -0,0 +1,166 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.sql.Column;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Specialties;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Vets;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper.ColumnConverter;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper.ColumnIndices;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper.SpecialtiesRowMapper;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper.VetsRowMapper;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Batch loader for the many-to-many relationship between {@link Specialties} and {@link Vets}.
+ * <p>
+ * The ids of a whole page of entities are gathered, and the linked entities are resolved with a single
+ * {@code IN (...)} query against {@code rel_specialties__vet}, instead of one query per entity. The queries are rendered
+ * once, and the ids are bound.
+ */
+@Component
+public class VetsSpecialtiesBatchLoader {
+
+    private static final Table linkTable = Table.aliased("rel_specialties__vet", "link");
+    private static final Table vetsTable = Table.aliased("vets", "vets");
+    private static final Table specialtiesTable = Table.aliased("specialties", "specialties");
+
+    private static final String SPECIALTIES_ID_COLUMN = "specialties_id";
+    private static final String VET_ID_COLUMN = "vet_id";
+    private static final String OWNER_ID_ALIAS = "link_owner_id";
+
+    private final DatabaseClient db;
+    private final EntityManager entityManager;
+    private final ColumnConverter converter;
+    private final VetsRowMapper vetsMapper;
+    private final SpecialtiesRowMapper specialtiesMapper;
+    private final String selectVets;
+    private final String selectSpecialties;
+
+    public VetsSpecialtiesBatchLoader(
+        R2dbcEntityTemplate template,
+        EntityManager entityManager,
+        ColumnConverter converter,
+        VetsRowMapper vetsMapper,
+        SpecialtiesRowMapper specialtiesMapper
+    ) {
+        this.db = template.getDatabaseClient();
+        this.entityManager = entityManager;
+        this.converter = converter;
+        this.vetsMapper = vetsMapper;
+        this.specialtiesMapper = specialtiesMapper;
+        this.selectVets = createSelect(SPECIALTIES_ID_COLUMN, VET_ID_COLUMN, vetsTable, VetsSqlHelper::getColumns);
+        this.selectSpecialties = createSelect(VET_ID_COLUMN, SPECIALTIES_ID_COLUMN, specialtiesTable, SpecialtiesSqlHelper::getColumns);
+    }
+
+    /**
+     * Fill {@link Specialties#getVets()} of all the given specialties with a single query. The loaded vets get the
+     * reverse {@link Vets#getSpecialties()} side filled as well.
+     * @param specialties the specialties to fill.
+     * @return the given specialties, in the same order.
+     */
+    public Flux<Specialties> loadVets(List<Specialties> specialties) {
+        return load(
+            specialties,
+            Specialties::getId,
+            selectVets,
+            vetsTable,
+            vetsMapper::indexed,
+            Specialties::addVet
+        )
+            .thenMany(Flux.fromIterable(specialties));
+    }
+
+    /**
+     * Fill {@link Vets#getSpecialties()} of all the given vets with a single query. The loaded specialties get the
+     * reverse {@link Specialties#getVets()} side filled as well.
+     * @param vets the vets to fill.
+     * @return the given vets, in the same order.
+     */
+    public Flux<Vets> loadSpecialties(List<Vets> vets) {
+        return load(
+            vets,
+            Vets::getId,
+            selectSpecialties,
+            specialtiesTable,
+            specialtiesMapper::indexed,
+            Vets::addSpecialty
+        )
+            .thenMany(Flux.fromIterable(vets));
+    }
+
+    private <S, T> Mono<Void> load(
+        List<S> owners,
+        Function<S, Long> idExtractor,
+        String select,
+        Table targetTable,
+        Function<String, BiFunction<Row, RowMetadata, T>> targetMapperFactory,
+        BiConsumer<S, T> linker
+    ) {
+        Map<Long, List<S>> ownersById = owners
+            .stream()
+            .filter(owner -> idExtractor.apply(owner) != null)
+            .collect(Collectors.groupingBy(idExtractor));
+        if (ownersById.isEmpty()) {
+            return Mono.empty();
+        }
+        String targetAlias = targetTable.getReferenceName().getReference();
+        BiFunction<Row, RowMetadata, T> targetMapper = targetMapperFactory.apply(targetAlias);
+        ColumnIndices ids = ColumnIndices.of(targetAlias + "_id", OWNER_ID_ALIAS);
+
+        // a target linked to several owners of the page is mapped once and shared between them
+        Map<Long, T> targetsById = new HashMap<>();
+        return db
+            .sql(select)
+            .bind("ids", ownersById.keySet())
+            .map((row, metadata) -> {
+                int[] index = ids.resolve(metadata);
+                T target = targetsById.computeIfAbsent(
+                    converter.fromRow(row, index[0], Long.class),
+                    id -> targetMapper.apply(row, metadata)
+                );
+                Long ownerId = converter.fromRow(row, index[1], Long.class);
+                ownersById.getOrDefault(ownerId, List.of()).forEach(owner -> linker.accept(owner, target));
+                return ownerId;
+            })
+            .all()
+            .then();
+    }
+
+    private String createSelect(
+        String ownerColumn,
+        String targetColumn,
+        Table targetTable,
+        BiFunction<Table, String, List<Expression>> targetColumns
+    ) {
+        List<Expression> columns = new ArrayList<>(targetColumns.apply(targetTable, targetTable.getReferenceName().getReference()));
+        columns.add(Column.aliased(ownerColumn, linkTable, OWNER_ID_ALIAS));
+        Select select = Select
+            .builder()
+            .select(columns)
+            .from(linkTable)
+            .join(targetTable)
+            .on(Column.create("id", targetTable))
+            .equals(Column.create(targetColumn, linkTable))
+            .where(Conditions.in(Column.create(ownerColumn, linkTable), SQL.bindMarker(":ids")))
+            .build();
+        return entityManager.createSelect(select);
+    }
+}
@@ -1,11 +1,13 @@
 package dev.knowhowto.jh.petclinic.reactbdd.repository;
 
+import java.util.Collection;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Visits;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.criteria.VisitsCriteria;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -23,6 +25,27 @@ public interface VisitsRepository extends ReactiveCrudRepository<Visits, Long>,
     @Query("SELECT * FROM visits entity WHERE entity.pet_id IS NULL")
     Flux<Visits> findAllWherePetIsNull();
 
+    /**
+     * Get the latest visits of each of the given pets.
+     *
+     * @param ids the ids of the pets.
+     * @param limit the maximum number of visits of each pet.
+     * @return the visits.
+     */
+    @Query(
+        "SELECT * FROM (" +
+        "SELECT visits.*, ROW_NUMBER() OVER (PARTITION BY visits.pet_id ORDER BY visits.visitdate DESC, visits.id DESC) AS visit_rank" +
+        " FROM visits WHERE visits.pet_id IN (:ids)" +
+        ") entity WHERE entity.visit_rank <= :limit"
+    )
+    Flux<Visits> findLatestByPetIn(Collection<Long> ids, int limit);
+
+    @Query(
+        "SELECT pets.owner_id FROM visits entity JOIN pets pets ON pets.id = entity.pet_id" +
+        " WHERE entity.id = :id AND pets.owner_id IS NOT NULL"
+    )
+    Mono<Long> findOwnerIdById(Long id);
+
     @Override
     <S extends Visits> Mono<S> save(S entity);
 
@@ -41,10 +64,17 @@ interface VisitsRepositoryInternal {
 
     Flux<Visits> findAllBy(Pageable pageable);
 
+    Flux<Visits> findAllAfter(Long afterId, int size);
+
+    Flux<Visits> streamAll(int fetchSize);
+
     Flux<Visits> findAll();
 
     Mono<Visits> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Visits> findAllBy(Pageable pageable, Criteria criteria);
 
+    Flux<Visits> findByCriteria(VisitsCriteria criteria, Pageable pageable);
+
+    Flux<Visits> findByCriteriaAfter(VisitsCriteria criteria, Long afterId, int size);
+
+    Mono<Long> countByCriteria(VisitsCriteria criteria);
 }
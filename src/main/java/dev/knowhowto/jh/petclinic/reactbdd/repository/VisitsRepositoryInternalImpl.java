@@ -19,17 +19,18 @@ import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.support.SimpleR2dbcRepository;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.sql.Column;
-import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
-import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Functions;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.RowsFetchSpec;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Visits;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.criteria.VisitsCriteria;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper.PetsRowMapper;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper.VisitsRowMapper;
 import reactor.core.publisher.Flux;
@@ -44,6 +45,7 @@ class VisitsRepositoryInternalImpl extends SimpleR2dbcRepository<Visits, Long> i
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final EntityManager.SelectTemplate selectTemplate;
 
     private final PetsRowMapper petsMapper;
     private final VisitsRowMapper visitsMapper;
@@ -67,16 +69,33 @@ class VisitsRepositoryInternalImpl extends SimpleR2dbcRepository<Visits, Long> i
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.selectTemplate = entityManager.createSelectTemplate(VisitsRepositoryInternalImpl::createSelectFrom, Visits.class);
         this.petsMapper = petsMapper;
         this.visitsMapper = visitsMapper;
     }
 
     @Override
     public Flux<Visits> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, FilterConditions.none()).all();
     }
 
-    RowsFetchSpec<Visits> createQuery(Pageable pageable, Condition whereClause) {
+    RowsFetchSpec<Visits> createQuery(Pageable pageable, FilterConditions where) {
+        if (where.isEmpty()) {
+            return selectTemplate.select(pageable).map(createRowMapper());
+        }
+        String select = entityManager.createSelect(createSelectFrom(), Visits.class, pageable, where.getCondition());
+        return where.bind(db.sql(select)).map(createRowMapper());
+    }
+
+    RowsFetchSpec<Visits> createQuery(Long afterId, int size, FilterConditions where) {
+        if (where.isEmpty()) {
+            return selectTemplate.selectAfter(afterId, size).map(createRowMapper());
+        }
+        String select = entityManager.createSelect(createSelectFrom(), Visits.class, afterId, size, where.getCondition());
+        return where.bind(entityManager.bindSeek(db.sql(select), afterId)).map(createRowMapper());
+    }
+
+    static SelectFromAndJoinCondition createSelectFrom() {
         List<Expression> columns = VisitsSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(PetsSqlHelper.getColumns(petTable, "pet"));
         SelectFromAndJoinCondition selectFrom = Select
@@ -86,9 +105,17 @@ class VisitsRepositoryInternalImpl extends SimpleR2dbcRepository<Visits, Long> i
             .leftOuterJoin(petTable)
             .on(Column.create("pet_id", entityTable))
             .equals(Column.create("id", petTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Visits.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return selectFrom;
+    }
+
+    @Override
+    public Flux<Visits> findAllAfter(Long afterId, int size) {
+        return createQuery(afterId, size, FilterConditions.none()).all();
+    }
+
+    @Override
+    public Flux<Visits> streamAll(int fetchSize) {
+        return selectTemplate.selectAll(fetchSize).map(createRowMapper()).all();
     }
 
     @Override
@@ -98,14 +125,56 @@ class VisitsRepositoryInternalImpl extends SimpleR2dbcRepository<Visits, Long> i
 
     @Override
     public Mono<Visits> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return selectTemplate.selectById(id).map(createRowMapper()).one();
+    }
+
+    @Override
+    public Flux<Visits> findByCriteria(VisitsCriteria criteria, Pageable pageable) {
+        return createQuery(pageable, buildConditions(criteria)).all();
+    }
+
+    @Override
+    public Flux<Visits> findByCriteriaAfter(VisitsCriteria criteria, Long afterId, int size) {
+        return createQuery(afterId, size, buildConditions(criteria)).all();
+    }
+
+    @Override
+    public Mono<Long> countByCriteria(VisitsCriteria criteria) {
+        FilterConditions where = buildConditions(criteria);
+        if (where.isEmpty()) {
+            return count();
+        }
+        Select select = Select
+            .builder()
+            .select(Functions.count(Column.create("id", entityTable)))
+            .from(entityTable)
+            .leftOuterJoin(petTable)
+            .on(Column.create("pet_id", entityTable))
+            .equals(Column.create("id", petTable))
+            .where(where.getCondition())
+            .build();
+        return where.bind(db.sql(entityManager.createSelect(select))).map((row, metadata) -> row.get(0, Long.class)).one();
+    }
+
+    private FilterConditions buildConditions(VisitsCriteria criteria) {
+        return FilterConditions
+            .builder()
+            .filter(criteria.getId(), Column.create("id", entityTable))
+            .filter(criteria.getVisitdate(), Column.create("visitdate", entityTable))
+            .filter(criteria.getDescription(), Column.create("description", entityTable))
+            .filter(criteria.getPetId(), Column.create("pet_id", entityTable))
+            .filter(criteria.getOwnerId(), Column.create("owner_id", petTable))
+            .build();
     }
 
-    private Visits process(Row row, RowMetadata metadata) {
-        Visits entity = visitsMapper.apply(row, "e");
-        entity.setPet(petsMapper.apply(row, "pet"));
-        return entity;
+    private BiFunction<Row, RowMetadata, Visits> createRowMapper() {
+        BiFunction<Row, RowMetadata, Visits> entityMapper = visitsMapper.indexed("e");
+        BiFunction<Row, RowMetadata, Pets> petMapper = petsMapper.indexed("pet");
+        return (row, metadata) -> {
+            Visits entity = entityMapper.apply(row, metadata);
+            entity.setPet(petMapper.apply(row, metadata));
+            return entity;
+        };
     }
 
     @Override
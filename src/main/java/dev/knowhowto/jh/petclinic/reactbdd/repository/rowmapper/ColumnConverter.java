@@ -1,25 +1,41 @@
 package dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.spi.Row;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
-import org.springframework.util.ClassUtils;
 
 /**
  * This service provides helper function dealing with the low level {@link Row} and Spring's {@link R2dbcCustomConversions}, so type conversions can be applied.
+ * <p>
+ * The values are read as the driver provides them, and the way to convert them is resolved once per (value type, target
+ * type), so that no conversion is attempted, nor fails, on each cell. The values which have to be converted, because the
+ * driver does not provide the target type, are counted per column by the {@code repository.column.conversions.fallback}
+ * meter.
  */
 @Component
 public class ColumnConverter {
 
+    public static final String FALLBACK_METER_NAME = "repository.column.conversions.fallback";
+
     private final ConversionService conversionService;
     private final R2dbcCustomConversions conversions;
+    private final MeterRegistry registry;
+
+    private final Map<Class<?>, Map<Class<?>, Conversion>> conversionsByTarget = new ConcurrentHashMap<>();
+    private final Map<String, Counter> fallbackCounters = new ConcurrentHashMap<>();
 
-    public ColumnConverter(R2dbcCustomConversions conversions, R2dbcConverter r2dbcConverter) {
+    public ColumnConverter(R2dbcCustomConversions conversions, R2dbcConverter r2dbcConverter, MeterRegistry registry) {
         this.conversionService = r2dbcConverter.getConversionService();
         this.conversions = conversions;
+        this.registry = registry;
     }
 
     /**
@@ -31,19 +47,10 @@ public class ColumnConverter {
      */
     @SuppressWarnings("unchecked")
     public <T> T convert(@Nullable Object value, @Nullable Class<T> target) {
-        if (value == null || target == null || ClassUtils.isAssignableValue(target, value)) {
+        if (value == null || target == null) {
             return (T) value;
         }
-
-        if (conversions.hasCustomReadTarget(value.getClass(), target)) {
-            return conversionService.convert(value, target);
-        }
-
-        if (Enum.class.isAssignableFrom(target)) {
-            return (T) Enum.valueOf((Class<Enum>) target, value.toString());
-        }
-
-        return conversionService.convert(value, target);
+        return (T) getConversion(value.getClass(), target).function.apply(value);
     }
 
     /**
@@ -55,12 +62,91 @@ public class ColumnConverter {
      * @return the value which can be constructed from the input.
      */
     public <T> T fromRow(Row row, String columnName, Class<T> target) {
-        try {
-            // try, directly the driver
-            return row.get(columnName, target);
-        } catch (Exception e) {
-            Object obj = row.get(columnName);
-            return convert(obj, target);
+        return convert(row.get(columnName), target, columnName);
+    }
+
+    /**
+     * Convert a value from the {@link Row} to a type, reading the column by index, see {@link ColumnIndices} - throws an
+     * exception, it it's impossible.
+     * @param row which contains the column values.
+     * @param index the index of the column which to convert.
+     * @param target class.
+     * @param <T> the parameter for the intended type.
+     * @return the value which can be constructed from the input.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T fromRow(Row row, int index, Class<T> target) {
+        Object value = row.get(index);
+        if (value == null) {
+            return null;
+        }
+        Conversion conversion = getConversion(value.getClass(), target);
+        if (conversion.fallback) {
+            countFallback(row.getMetadata().getColumnMetadata(index).getName());
+        }
+        return (T) conversion.function.apply(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T convert(@Nullable Object value, Class<T> target, String columnName) {
+        if (value == null) {
+            return null;
+        }
+        Conversion conversion = getConversion(value.getClass(), target);
+        if (conversion.fallback) {
+            countFallback(columnName);
+        }
+        return (T) conversion.function.apply(value);
+    }
+
+    private Conversion getConversion(Class<?> source, Class<?> target) {
+        Map<Class<?>, Conversion> conversionsBySource = conversionsByTarget.computeIfAbsent(target, key -> new ConcurrentHashMap<>());
+        Conversion conversion = conversionsBySource.get(source);
+        if (conversion == null) {
+            conversion = conversionsBySource.computeIfAbsent(source, key -> resolveConversion(key, target));
+        }
+        return conversion;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Conversion resolveConversion(Class<?> source, Class<?> target) {
+        if (target.isAssignableFrom(source)) {
+            return new Conversion(Function.identity(), false);
+        }
+        if (conversions.hasCustomReadTarget(source, target)) {
+            return new Conversion(value -> conversionService.convert(value, target), true);
+        }
+        if (Enum.class.isAssignableFrom(target)) {
+            return new Conversion(value -> Enum.valueOf((Class<Enum>) target, value.toString()), true);
+        }
+        return new Conversion(value -> conversionService.convert(value, target), true);
+    }
+
+    private void countFallback(String columnName) {
+        Counter counter = fallbackCounters.get(columnName);
+        if (counter == null) {
+            counter =
+                fallbackCounters.computeIfAbsent(
+                    columnName,
+                    column ->
+                        Counter
+                            .builder(FALLBACK_METER_NAME)
+                            .description("Number of column values converted because the driver does not provide the target type")
+                            .tag("column", column)
+                            .register(registry)
+                );
+        }
+        counter.increment();
+    }
+
+    private static final class Conversion {
+
+        private final Function<Object, Object> function;
+        private final boolean fallback;
+
+        private Conversion(Function<Object, Object> function, boolean fallback) {
+            this.function = function;
+            this.fallback = fallback;
         }
     }
 }
@@ -0,0 +1,87 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.RowMetadata;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The indices of a fixed list of columns, resolved by name from the {@link RowMetadata} of a result set.
+ * <p>
+ * The indices are resolved for the first row, and reused as long as the rows share the same metadata, so that the
+ * columns of the following rows are read by index, without building nor looking up their names.
+ */
+public final class ColumnIndices {
+
+    private final String[] names;
+
+    private volatile Resolution resolution;
+
+    private ColumnIndices(String[] names) {
+        this.names = names;
+    }
+
+    /**
+     * Create the indices of the given columns.
+     * @param names the column names.
+     * @return the indices, not resolved yet.
+     */
+    public static ColumnIndices of(String... names) {
+        return new ColumnIndices(names.clone());
+    }
+
+    /**
+     * Create the indices of the given columns, prefixed with the given alias as in {@code <prefix>_<column>}.
+     * @param prefix the column prefix.
+     * @param columns the column names, without the prefix.
+     * @return the indices, not resolved yet.
+     */
+    public static ColumnIndices withPrefix(String prefix, String... columns) {
+        return new ColumnIndices(Arrays.stream(columns).map(column -> prefix + "_" + column).toArray(String[]::new));
+    }
+
+    /**
+     * Get the indices of the columns in the given result set.
+     * @param metadata the metadata of the result set.
+     * @return the indices, in the order of the column names.
+     * @throws NoSuchElementException if a column is not part of the result set.
+     */
+    public int[] resolve(RowMetadata metadata) {
+        Resolution current = resolution;
+        if (current == null || current.metadata != metadata) {
+            current = new Resolution(metadata, indicesOf(metadata.getColumnMetadatas()));
+            resolution = current;
+        }
+        return current.indices;
+    }
+
+    private int[] indicesOf(List<? extends ColumnMetadata> columns) {
+        int[] indices = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            indices[i] = indexOf(columns, names[i]);
+        }
+        return indices;
+    }
+
+    private static int indexOf(List<? extends ColumnMetadata> columns, String name) {
+        // the drivers may change the case of the unquoted aliases
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).getName().equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        throw new NoSuchElementException("Column " + name + " is not part of the result set");
+    }
+
+    private static final class Resolution {
+
+        private final RowMetadata metadata;
+        private final int[] indices;
+
+        private Resolution(RowMetadata metadata, int[] indices) {
+            this.metadata = metadata;
+            this.indices = indices;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper;
 
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
@@ -32,4 +33,25 @@ public class OwnersRowMapper implements BiFunction<Row, String, Owners> {
         entity.setTelephone(converter.fromRow(row, prefix + "_telephone", String.class));
         return entity;
     }
+
+    /**
+     * Create a mapper of the columns with the given prefix, which reads them by index, see {@link ColumnIndices}. It is
+     * meant to be created for each query, as it keeps the indices of the result set.
+     * @param prefix the column prefix.
+     * @return the mapper of a {@link Row} to the {@link Owners} stored in the database.
+     */
+    public BiFunction<Row, RowMetadata, Owners> indexed(String prefix) {
+        ColumnIndices columns = ColumnIndices.withPrefix(prefix, "id", "firstname", "lastname", "address", "city", "telephone");
+        return (row, metadata) -> {
+            int[] index = columns.resolve(metadata);
+            Owners entity = new Owners();
+            entity.setId(converter.fromRow(row, index[0], Long.class));
+            entity.setFirstname(converter.fromRow(row, index[1], String.class));
+            entity.setLastname(converter.fromRow(row, index[2], String.class));
+            entity.setAddress(converter.fromRow(row, index[3], String.class));
+            entity.setCity(converter.fromRow(row, index[4], String.class));
+            entity.setTelephone(converter.fromRow(row, index[5], String.class));
+            return entity;
+        };
+    }
 }
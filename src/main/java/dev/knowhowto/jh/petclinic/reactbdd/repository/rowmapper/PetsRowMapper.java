@@ -1,6 +1,7 @@
 package dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper;
 
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.time.LocalDate;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
@@ -32,4 +33,24 @@ public class PetsRowMapper implements BiFunction<Row, String, Pets> {
         entity.setOwnerId(converter.fromRow(row, prefix + "_owner_id", Long.class));
         return entity;
     }
+
+    /**
+     * Create a mapper of the columns with the given prefix, which reads them by index, see {@link ColumnIndices}. It is
+     * meant to be created for each query, as it keeps the indices of the result set.
+     * @param prefix the column prefix.
+     * @return the mapper of a {@link Row} to the {@link Pets} stored in the database.
+     */
+    public BiFunction<Row, RowMetadata, Pets> indexed(String prefix) {
+        ColumnIndices columns = ColumnIndices.withPrefix(prefix, "id", "name", "birthdate", "type_id", "owner_id");
+        return (row, metadata) -> {
+            int[] index = columns.resolve(metadata);
+            Pets entity = new Pets();
+            entity.setId(converter.fromRow(row, index[0], Long.class));
+            entity.setName(converter.fromRow(row, index[1], String.class));
+            entity.setBirthdate(converter.fromRow(row, index[2], LocalDate.class));
+            entity.setTypeId(converter.fromRow(row, index[3], Long.class));
+            entity.setOwnerId(converter.fromRow(row, index[4], Long.class));
+            return entity;
+        };
+    }
 }
@@ -1,6 +1,7 @@
 package dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper;
 
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Specialties;
@@ -28,4 +29,21 @@ public class SpecialtiesRowMapper implements BiFunction<Row, String, Specialties
         entity.setName(converter.fromRow(row, prefix + "_name", String.class));
         return entity;
     }
+
+    /**
+     * Create a mapper of the columns with the given prefix, which reads them by index, see {@link ColumnIndices}. It is
+     * meant to be created for each query, as it keeps the indices of the result set.
+     * @param prefix the column prefix.
+     * @return the mapper of a {@link Row} to the {@link Specialties} stored in the database.
+     */
+    public BiFunction<Row, RowMetadata, Specialties> indexed(String prefix) {
+        ColumnIndices columns = ColumnIndices.withPrefix(prefix, "id", "name");
+        return (row, metadata) -> {
+            int[] index = columns.resolve(metadata);
+            Specialties entity = new Specialties();
+            entity.setId(converter.fromRow(row, index[0], Long.class));
+            entity.setName(converter.fromRow(row, index[1], String.class));
+            return entity;
+        };
+    }
 }
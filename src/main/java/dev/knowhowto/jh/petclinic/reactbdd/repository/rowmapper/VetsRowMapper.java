@@ -1,6 +1,7 @@
 package dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper;
 
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Vets;
@@ -29,4 +30,22 @@ public class VetsRowMapper implements BiFunction<Row, String, Vets> {
         entity.setLastname(converter.fromRow(row, prefix + "_lastname", String.class));
         return entity;
     }
+
+    /**
+     * Create a mapper of the columns with the given prefix, which reads them by index, see {@link ColumnIndices}. It is
+     * meant to be created for each query, as it keeps the indices of the result set.
+     * @param prefix the column prefix.
+     * @return the mapper of a {@link Row} to the {@link Vets} stored in the database.
+     */
+    public BiFunction<Row, RowMetadata, Vets> indexed(String prefix) {
+        ColumnIndices columns = ColumnIndices.withPrefix(prefix, "id", "firstname", "lastname");
+        return (row, metadata) -> {
+            int[] index = columns.resolve(metadata);
+            Vets entity = new Vets();
+            entity.setId(converter.fromRow(row, index[0], Long.class));
+            entity.setFirstname(converter.fromRow(row, index[1], String.class));
+            entity.setLastname(converter.fromRow(row, index[2], String.class));
+            return entity;
+        };
+    }
 }
@@ -1,6 +1,7 @@
 package dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper;
 
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.time.Instant;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
@@ -31,4 +32,23 @@ public class VisitsRowMapper implements BiFunction<Row, String, Visits> {
         entity.setPetId(converter.fromRow(row, prefix + "_pet_id", Long.class));
         return entity;
     }
+
+    /**
+     * Create a mapper of the columns with the given prefix, which reads them by index, see {@link ColumnIndices}. It is
+     * meant to be created for each query, as it keeps the indices of the result set.
+     * @param prefix the column prefix.
+     * @return the mapper of a {@link Row} to the {@link Visits} stored in the database.
+     */
+    public BiFunction<Row, RowMetadata, Visits> indexed(String prefix) {
+        ColumnIndices columns = ColumnIndices.withPrefix(prefix, "id", "visitdate", "description", "pet_id");
+        return (row, metadata) -> {
+            int[] index = columns.resolve(metadata);
+            Visits entity = new Visits();
+            entity.setId(converter.fromRow(row, index[0], Long.class));
+            entity.setVisitdate(converter.fromRow(row, index[1], Instant.class));
+            entity.setDescription(converter.fromRow(row, index[2], String.class));
+            entity.setPetId(converter.fromRow(row, index[3], Long.class));
+            return entity;
+        };
+    }
 }
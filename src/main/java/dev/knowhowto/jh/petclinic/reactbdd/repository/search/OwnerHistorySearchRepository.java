@@ -0,0 +1,94 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository.search;
+
+import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
+import static org.elasticsearch.index.query.QueryBuilders.matchQuery;
+import static org.elasticsearch.index.query.QueryBuilders.nestedQuery;
+import static org.elasticsearch.index.query.QueryBuilders.rangeQuery;
+
+import java.time.Instant;
+import org.apache.lucene.search.join.ScoreMode;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.RangeQueryBuilder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ReactiveElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.SearchPage;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
+import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.OwnerHistory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data Elasticsearch repository for the {@link OwnerHistory} document.
+ */
+public interface OwnerHistorySearchRepository
+    extends ReactiveElasticsearchRepository<OwnerHistory, Long>, OwnerHistorySearchRepositoryInternal {}
+
+interface OwnerHistorySearchRepositoryInternal {
+    /**
+     * Search for the owners matching the query, which have a pet with the given name visited in the given period.
+     *
+     * @param query the search on the owner fields.
+     * @param petName the name of the pet, or null.
+     * @param visitedFrom the start of the visit period, inclusive, or null.
+     * @param visitedTo the end of the visit period, exclusive, or null.
+     * @param pageable the pagination information.
+     * @param trackTotalHitsUpTo the number of hits up to which they are counted exactly, or null to always count them exactly.
+     * @return the page of owners, with the number of hits.
+     */
+    Mono<SearchPage<OwnerHistory>> search(
+        SearchQuery query,
+        String petName,
+        Instant visitedFrom,
+        Instant visitedTo,
+        Pageable pageable,
+        Integer trackTotalHitsUpTo
+    );
+}
+
+class OwnerHistorySearchRepositoryInternalImpl implements OwnerHistorySearchRepositoryInternal {
+
+    private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
+
+    OwnerHistorySearchRepositoryInternalImpl(ReactiveElasticsearchTemplate reactiveElasticsearchTemplate) {
+        this.reactiveElasticsearchTemplate = reactiveElasticsearchTemplate;
+    }
+
+    @Override
+    public Mono<SearchPage<OwnerHistory>> search(
+        SearchQuery query,
+        String petName,
+        Instant visitedFrom,
+        Instant visitedTo,
+        Pageable pageable,
+        Integer trackTotalHitsUpTo
+    ) {
+        BoolQueryBuilder ownerQuery = SearchQueryBuilder.build(OwnerHistory.class, query);
+        if (petName != null || visitedFrom != null || visitedTo != null) {
+            // the pet conditions must hold for the same pet, and the visit conditions for the same visit
+            BoolQueryBuilder petQuery = boolQuery();
+            if (petName != null) {
+                petQuery.filter(matchQuery("pets.name", petName));
+            }
+            if (visitedFrom != null || visitedTo != null) {
+                RangeQueryBuilder visitdateQuery = rangeQuery("pets.visits.visitdate");
+                if (visitedFrom != null) {
+                    visitdateQuery.gte(visitedFrom.toString());
+                }
+                if (visitedTo != null) {
+                    visitdateQuery.lt(visitedTo.toString());
+                }
+                petQuery.filter(nestedQuery("pets.visits", visitdateQuery, ScoreMode.None));
+            }
+            ownerQuery.filter(nestedQuery("pets", petQuery, ScoreMode.None));
+        }
+
+        NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(ownerQuery);
+        nativeSearchQuery.setPageable(pageable);
+        if (trackTotalHitsUpTo != null) {
+            nativeSearchQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        } else {
+            nativeSearchQuery.setTrackTotalHits(true);
+        }
+        return reactiveElasticsearchTemplate.searchForPage(nativeSearchQuery, OwnerHistory.class);
+    }
+}
@@ -1,14 +1,12 @@
 package dev.knowhowto.jh.petclinic.reactbdd.repository.search;
 
-import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
-
 import java.util.List;
 import org.elasticsearch.search.sort.SortBuilder;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.core.ReactiveElasticsearchTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
-import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
+import org.springframework.data.elasticsearch.core.SearchPage;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
@@ -19,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.PetsRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Spring Data Elasticsearch repository for the {@link Pets} entity.
@@ -26,7 +25,7 @@ import reactor.core.publisher.Flux;
 public interface PetsSearchRepository extends ReactiveElasticsearchRepository<Pets, Long>, PetsSearchRepositoryInternal {}
 
 interface PetsSearchRepositoryInternal {
-    Flux<Pets> search(String query, Pageable pageable);
+    Mono<SearchPage<Pets>> search(SearchQuery query, Pageable pageable, Integer trackTotalHitsUpTo);
 
     Flux<Pets> search(Query query);
 }
@@ -40,10 +39,11 @@ class PetsSearchRepositoryInternalImpl implements PetsSearchRepositoryInternal {
     }
 
     @Override
-    public Flux<Pets> search(String query, Pageable pageable) {
-        NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(queryStringQuery(query));
-        nativeSearchQuery.setPageable(pageable);
-        return search(nativeSearchQuery);
+    public Mono<SearchPage<Pets>> search(SearchQuery query, Pageable pageable, Integer trackTotalHitsUpTo) {
+        return reactiveElasticsearchTemplate.searchForPage(
+            SearchQueryBuilder.build(Pets.class, query, pageable, trackTotalHitsUpTo),
+            Pets.class
+        );
     }
 
     @Override
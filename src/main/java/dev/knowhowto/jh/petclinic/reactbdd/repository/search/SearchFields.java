@@ -0,0 +1,240 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository.search;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
+
+/**
+ * The fields of a search document which can be searched and filtered on, read once per document type from its class.
+ * <p>
+ * A text field can be filtered exactly, or by prefix, when it has a {@code keyword} inner field, and it is matched as you
+ * type when it has an {@code autocomplete} inner field of type {@code search_as_you_type}, for instance:
+ * <pre>
+ * &#64;MultiField(
+ *     mainField = &#64;Field(type = FieldType.Text),
+ *     otherFields = {
+ *         &#64;InnerField(suffix = SearchFields.KEYWORD_SUFFIX, type = FieldType.Keyword),
+ *         &#64;InnerField(suffix = SearchFields.AUTOCOMPLETE_SUFFIX, type = FieldType.Search_As_You_Type),
+ *     }
+ * )
+ * </pre>
+ */
+public final class SearchFields {
+
+    public static final String KEYWORD_SUFFIX = "keyword";
+
+    public static final String AUTOCOMPLETE_SUFFIX = "autocomplete";
+
+    private static final Map<Class<?>, SearchFields> CACHE = new ConcurrentHashMap<>();
+
+    private final Map<String, SearchField> fields;
+
+    private SearchFields(Class<?> documentType) {
+        Map<String, SearchField> result = new LinkedHashMap<>();
+        for (Class<?> type = documentType; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                toSearchField(field).ifPresent(searchField -> result.putIfAbsent(searchField.getName(), searchField));
+            }
+        }
+        this.fields = Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Get the fields of a document type.
+     *
+     * @param documentType the class of the search document.
+     * @return the fields of the document type.
+     */
+    public static SearchFields of(Class<?> documentType) {
+        return CACHE.computeIfAbsent(documentType, SearchFields::new);
+    }
+
+    public Optional<SearchField> get(String name) {
+        return Optional.ofNullable(fields.get(name));
+    }
+
+    public List<SearchField> getTextFields() {
+        return fields.values().stream().filter(field -> field.getKind() == Kind.TEXT).collect(Collectors.toList());
+    }
+
+    private static Optional<SearchField> toSearchField(Field field) {
+        if (
+            Modifier.isStatic(field.getModifiers()) ||
+            Modifier.isTransient(field.getModifiers()) ||
+            field.isAnnotationPresent(Transient.class) ||
+            field.isAnnotationPresent(JsonIgnore.class)
+        ) {
+            return Optional.empty();
+        }
+        Kind kind = Kind.of(field.getType());
+        if (kind == null) {
+            return Optional.empty();
+        }
+        String name = field.getName();
+        String keywordField = null;
+        String autocompleteField = null;
+        org.springframework.data.elasticsearch.annotations.Field mainField = field.getAnnotation(
+            org.springframework.data.elasticsearch.annotations.Field.class
+        );
+        MultiField multiField = field.getAnnotation(MultiField.class);
+        if (mainField != null && mainField.type() == FieldType.Keyword) {
+            keywordField = name;
+        }
+        if (multiField != null) {
+            for (InnerField innerField : multiField.otherFields()) {
+                if (innerField.type() == FieldType.Keyword) {
+                    keywordField = name + "." + innerField.suffix();
+                } else if (innerField.type() == FieldType.Search_As_You_Type) {
+                    autocompleteField = name + "." + innerField.suffix();
+                }
+            }
+        }
+        return Optional.of(new SearchField(name, field.getType(), kind, keywordField, autocompleteField));
+    }
+
+    /**
+     * The kinds of fields, which tell the filters they support.
+     */
+    public enum Kind {
+        TEXT,
+        NUMBER,
+        DATE,
+        BOOLEAN;
+
+        static Kind of(Class<?> javaType) {
+            if (javaType == String.class) {
+                return TEXT;
+            }
+            if (Number.class.isAssignableFrom(javaType) || (javaType.isPrimitive() && javaType != boolean.class && javaType != char.class)) {
+                return NUMBER;
+            }
+            if (Temporal.class.isAssignableFrom(javaType)) {
+                return DATE;
+            }
+            if (javaType == Boolean.class || javaType == boolean.class) {
+                return BOOLEAN;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A field of a search document.
+     */
+    public static class SearchField {
+
+        private final String name;
+
+        private final Class<?> javaType;
+
+        private final Kind kind;
+
+        private final String keywordField;
+
+        private final String autocompleteField;
+
+        SearchField(String name, Class<?> javaType, Kind kind, String keywordField, String autocompleteField) {
+            this.name = name;
+            this.javaType = javaType;
+            this.kind = kind;
+            this.keywordField = keywordField;
+            this.autocompleteField = autocompleteField;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return the field holding the exact value of a text field, or null if the text field is only analyzed.
+         */
+        public String getKeywordField() {
+            return keywordField;
+        }
+
+        /**
+         * @return the {@code search_as_you_type} field of a text field, or null.
+         */
+        public String getAutocompleteField() {
+            return autocompleteField;
+        }
+
+        /**
+         * The fields the free text is matched against: the {@code search_as_you_type} field and its shingles if any,
+         * otherwise the text field itself.
+         *
+         * @return the fields.
+         */
+        public List<String> getTextQueryFields() {
+            List<String> result = new ArrayList<>();
+            if (autocompleteField != null) {
+                result.add(autocompleteField);
+                result.add(autocompleteField + "._2gram");
+                result.add(autocompleteField + "._3gram");
+            } else {
+                result.add(name);
+            }
+            return result;
+        }
+
+        /**
+         * Parse a filter value according to the type of the field.
+         *
+         * @param value the value.
+         * @return the value in the format expected by Elasticsearch.
+         * @throws IllegalArgumentException if the value is not valid for the field.
+         */
+        public Object parse(String value) {
+            try {
+                if (javaType == String.class) {
+                    return value;
+                }
+                if (javaType == Long.class || javaType == long.class) {
+                    return Long.valueOf(value);
+                }
+                if (javaType == Integer.class || javaType == int.class) {
+                    return Integer.valueOf(value);
+                }
+                if (javaType == Boolean.class || javaType == boolean.class) {
+                    if (!"true".equals(value) && !"false".equals(value)) {
+                        throw new IllegalArgumentException();
+                    }
+                    return Boolean.valueOf(value);
+                }
+                if (javaType == LocalDate.class) {
+                    return LocalDate.parse(value).toString();
+                }
+                if (javaType == Instant.class) {
+                    return Instant.parse(value).toString();
+                }
+                if (javaType == ZonedDateTime.class) {
+                    return ZonedDateTime.parse(value).toInstant().toString();
+                }
+                return new BigDecimal(value);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid value " + value + " for " + name, e);
+            }
+        }
+    }
+}
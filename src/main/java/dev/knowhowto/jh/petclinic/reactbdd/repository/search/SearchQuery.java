@@ -0,0 +1,127 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A structured search: a free text matched against the text fields of the documents, and filters on single fields.
+ * <p>
+ * Unlike a {@code query_string} query, the text has no syntax: it can't contain wildcards, fuzzy or regular expressions.
+ * The filters are run in the filter context, where Elasticsearch caches them. See {@link SearchQueryBuilder}.
+ */
+public class SearchQuery {
+
+    private String text;
+
+    private final List<String> fields = new ArrayList<>();
+
+    private final List<Filter> filters = new ArrayList<>();
+
+    /**
+     * @return the free text, or null to match all the documents.
+     */
+    public String getText() {
+        return text;
+    }
+
+    public SearchQuery text(String text) {
+        this.text = text;
+        return this;
+    }
+
+    /**
+     * @return the fields the text is matched against, all the text fields if empty.
+     */
+    public List<String> getFields() {
+        return Collections.unmodifiableList(fields);
+    }
+
+    public SearchQuery fields(Collection<String> fields) {
+        this.fields.addAll(fields);
+        return this;
+    }
+
+    public List<Filter> getFilters() {
+        return Collections.unmodifiableList(filters);
+    }
+
+    public SearchQuery filter(String field, Operator operator, String value) {
+        this.filters.add(new Filter(field, operator, value));
+        return this;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchQuery{" +
+            "text='" + getText() + "'" +
+            ", fields=" + getFields() +
+            ", filters=" + getFilters() +
+            "}";
+    }
+
+    /**
+     * The operators of the filters, named after the request parameters, e.g. {@code name.prefix=Le}.
+     */
+    public enum Operator {
+        EQUALS("equals"),
+        PREFIX("prefix"),
+        GREATER_THAN("greaterThan"),
+        GREATER_THAN_OR_EQUAL("greaterThanOrEqual"),
+        LESS_THAN("lessThan"),
+        LESS_THAN_OR_EQUAL("lessThanOrEqual");
+
+        private final String parameterName;
+
+        Operator(String parameterName) {
+            this.parameterName = parameterName;
+        }
+
+        public String getParameterName() {
+            return parameterName;
+        }
+
+        public static Optional<Operator> fromParameterName(String parameterName) {
+            return Arrays.stream(values()).filter(operator -> operator.parameterName.equals(parameterName)).findFirst();
+        }
+    }
+
+    /**
+     * A filter on a single field.
+     */
+    public static class Filter {
+
+        private final String field;
+
+        private final Operator operator;
+
+        private final String value;
+
+        public Filter(String field, Operator operator, String value) {
+            this.field = field;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public Operator getOperator() {
+            return operator;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return field + "." + operator.getParameterName() + "=" + value;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository.search;
+
+import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
+import static org.elasticsearch.index.query.QueryBuilders.matchQuery;
+import static org.elasticsearch.index.query.QueryBuilders.multiMatchQuery;
+import static org.elasticsearch.index.query.QueryBuilders.prefixQuery;
+import static org.elasticsearch.index.query.QueryBuilders.rangeQuery;
+import static org.elasticsearch.index.query.QueryBuilders.termQuery;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.MultiMatchQueryBuilder;
+import org.elasticsearch.index.query.Operator;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
+import org.springframework.util.StringUtils;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchFields.Kind;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchFields.SearchField;
+
+/**
+ * Translates a {@link SearchQuery} into an Elasticsearch query.
+ * <p>
+ * The text is matched with a {@code bool_prefix} {@code multi_match} query, all its words being required and the last one
+ * being a prefix, against the {@code search_as_you_type} inner fields when the text fields have some. The filters are
+ * {@code term}, {@code prefix} and {@code range} queries on exact values, placed in the filter context of a {@code bool}
+ * query: they don't compute scores and are cached by Elasticsearch.
+ */
+public final class SearchQueryBuilder {
+
+    public static final int MAX_TEXT_LENGTH = 256;
+
+    private SearchQueryBuilder() {}
+
+    /**
+     * Build the Elasticsearch query of a search.
+     *
+     * @param documentType the class of the searched documents.
+     * @param query the search.
+     * @return the Elasticsearch query, to which other filters can be added.
+     * @throws IllegalArgumentException if the search refers to unknown fields, or applies a filter to a field which does
+     * not support it.
+     */
+    public static BoolQueryBuilder build(Class<?> documentType, SearchQuery query) {
+        SearchFields fields = SearchFields.of(documentType);
+        BoolQueryBuilder result = boolQuery();
+        if (StringUtils.hasText(query.getText())) {
+            result.must(toTextQuery(fields, query));
+        }
+        for (SearchQuery.Filter filter : query.getFilters()) {
+            result.filter(toFilterQuery(getField(fields, filter.getField()), filter));
+        }
+        return result;
+    }
+
+    /**
+     * Build the Elasticsearch query of a page of a search.
+     *
+     * @param documentType the class of the searched documents.
+     * @param query the search.
+     * @param pageable the pagination information.
+     * @param trackTotalHitsUpTo the number of hits up to which they are counted exactly, or null to always count them exactly.
+     * @return the Elasticsearch query.
+     * @throws IllegalArgumentException if the search is not valid, see {@link #build(Class, SearchQuery)}.
+     */
+    public static NativeSearchQuery build(Class<?> documentType, SearchQuery query, Pageable pageable, Integer trackTotalHitsUpTo) {
+        NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(build(documentType, query));
+        nativeSearchQuery.setPageable(pageable);
+        if (trackTotalHitsUpTo != null) {
+            nativeSearchQuery.setTrackTotalHitsUpTo(trackTotalHitsUpTo);
+        } else {
+            nativeSearchQuery.setTrackTotalHits(true);
+        }
+        return nativeSearchQuery;
+    }
+
+    private static QueryBuilder toTextQuery(SearchFields fields, SearchQuery query) {
+        if (query.getText().length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("The text is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        List<SearchField> textFields = query.getFields().isEmpty()
+            ? fields.getTextFields()
+            : query.getFields().stream().map(name -> getField(fields, name)).collect(Collectors.toList());
+        if (textFields.stream().anyMatch(field -> field.getKind() != Kind.TEXT)) {
+            throw new IllegalArgumentException("The text can only be matched against text fields");
+        }
+        String[] queryFields = textFields.stream().flatMap(field -> field.getTextQueryFields().stream()).toArray(String[]::new);
+        return multiMatchQuery(query.getText(), queryFields).type(MultiMatchQueryBuilder.Type.BOOL_PREFIX).operator(Operator.AND);
+    }
+
+    private static QueryBuilder toFilterQuery(SearchField field, SearchQuery.Filter filter) {
+        Object value = field.parse(filter.getValue());
+        switch (filter.getOperator()) {
+            case EQUALS:
+                if (field.getKind() != Kind.TEXT) {
+                    return termQuery(field.getName(), value);
+                }
+                return field.getKeywordField() != null
+                    ? termQuery(field.getKeywordField(), value)
+                    : matchQuery(field.getName(), value).operator(Operator.AND);
+            case PREFIX:
+                if (field.getKind() != Kind.TEXT || field.getKeywordField() == null) {
+                    throw new IllegalArgumentException("The field " + field.getName() + " can't be filtered by prefix");
+                }
+                return prefixQuery(field.getKeywordField(), filter.getValue());
+            default:
+                if (field.getKind() != Kind.NUMBER && field.getKind() != Kind.DATE) {
+                    throw new IllegalArgumentException("The field " + field.getName() + " can't be filtered by range");
+                }
+                return toRangeQuery(field.getName(), filter.getOperator(), value);
+        }
+    }
+
+    private static QueryBuilder toRangeQuery(String name, SearchQuery.Operator operator, Object value) {
+        switch (operator) {
+            case GREATER_THAN:
+                return rangeQuery(name).gt(value);
+            case GREATER_THAN_OR_EQUAL:
+                return rangeQuery(name).gte(value);
+            case LESS_THAN:
+                return rangeQuery(name).lt(value);
+            case LESS_THAN_OR_EQUAL:
+                return rangeQuery(name).lte(value);
+            default:
+                throw new IllegalArgumentException("Unsupported operator " + operator);
+        }
+    }
+
+    private static SearchField getField(SearchFields fields, String name) {
+        return fields.get(name).orElseThrow(() -> new IllegalArgumentException("Unknown field " + name));
+    }
+}
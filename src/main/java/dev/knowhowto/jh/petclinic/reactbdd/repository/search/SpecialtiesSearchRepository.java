@@ -1,7 +1,5 @@
 package dev.knowhowto.jh.petclinic.reactbdd.repository.search;
 
-import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
-
 import org.springframework.data.elasticsearch.core.ReactiveElasticsearchTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
@@ -22,7 +20,7 @@ public interface SpecialtiesSearchRepository
     extends ReactiveElasticsearchRepository<Specialties, Long>, SpecialtiesSearchRepositoryInternal {}
 
 interface SpecialtiesSearchRepositoryInternal {
-    Flux<Specialties> search(String query);
+    Flux<Specialties> search(SearchQuery query);
 
     Flux<Specialties> search(Query query);
 }
@@ -36,8 +34,8 @@ class SpecialtiesSearchRepositoryInternalImpl implements SpecialtiesSearchReposi
     }
 
     @Override
-    public Flux<Specialties> search(String query) {
-        NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(queryStringQuery(query));
+    public Flux<Specialties> search(SearchQuery query) {
+        NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(SearchQueryBuilder.build(Specialties.class, query));
         return search(nativeSearchQuery);
     }
 
@@ -1,7 +1,5 @@
 package dev.knowhowto.jh.petclinic.reactbdd.repository.search;
 
-import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
-
 import org.springframework.data.elasticsearch.core.ReactiveElasticsearchTemplate;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
@@ -15,7 +13,7 @@ import reactor.core.publisher.Flux;
 public interface UserSearchRepository extends ReactiveElasticsearchRepository<User, Long>, UserSearchRepositoryInternal {}
 
 interface UserSearchRepositoryInternal {
-    Flux<User> search(String query);
+    Flux<User> search(SearchQuery query);
 }
 
 class UserSearchRepositoryInternalImpl implements UserSearchRepositoryInternal {
@@ -27,8 +25,8 @@ class UserSearchRepositoryInternalImpl implements UserSearchRepositoryInternal {
     }
 
     @Override
-    public Flux<User> search(String query) {
-        NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(queryStringQuery(query));
+    public Flux<User> search(SearchQuery query) {
+        NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(SearchQueryBuilder.build(User.class, query));
         return reactiveElasticsearchTemplate.search(nativeSearchQuery, User.class).map(SearchHit::getContent);
     }
 }
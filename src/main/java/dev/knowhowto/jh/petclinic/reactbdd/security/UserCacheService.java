@@ -0,0 +1,115 @@
+package dev.knowhowto.jh.petclinic.reactbdd.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.User;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.UserRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service caching the users with their authorities, by login and by email, for the authentication and the account
+ * lookups.
+ * <p>
+ * The cache is bounded with {@code application.user-cache.maximum-size}, and the entries expire after
+ * {@code application.user-cache.time-to-live}. The {@code UserService} evicts a user whenever it is saved or deleted, and
+ * again once the transaction completes, so the time to live only bounds the staleness of changes made outside of it. The cached users are shared, and must not be
+ * modified.
+ */
+@Service
+public class UserCacheService {
+
+    private final Logger log = LoggerFactory.getLogger(UserCacheService.class);
+
+    private final UserRepository userRepository;
+
+    private final Cache<String, User> usersByLogin;
+
+    private final Cache<String, User> usersByEmail;
+
+    public UserCacheService(UserRepository userRepository, ApplicationProperties applicationProperties) {
+        this.userRepository = userRepository;
+        ApplicationProperties.UserCache properties = applicationProperties.getUserCache();
+        this.usersByLogin =
+            Caffeine.newBuilder().maximumSize(properties.getMaximumSize()).expireAfterWrite(properties.getTimeToLive()).build();
+        this.usersByEmail =
+            Caffeine.newBuilder().maximumSize(properties.getMaximumSize()).expireAfterWrite(properties.getTimeToLive()).build();
+    }
+
+    /**
+     * Get a user with its authorities by login.
+     *
+     * @param login the lower-cased login.
+     * @return the user, or an empty {@link Mono} if there is none.
+     */
+    public Mono<User> findOneWithAuthoritiesByLogin(String login) {
+        return Mono
+            .fromCallable(() -> usersByLogin.getIfPresent(login))
+            .switchIfEmpty(Mono.defer(() -> userRepository.findOneWithAuthoritiesByLogin(login)).doOnNext(this::put));
+    }
+
+    /**
+     * Get a user with its authorities by email, ignoring the case.
+     *
+     * @param email the email.
+     * @return the user, or an empty {@link Mono} if there is none.
+     */
+    public Mono<User> findOneWithAuthoritiesByEmailIgnoreCase(String email) {
+        String key = email.toLowerCase(Locale.ROOT);
+        return Mono
+            .fromCallable(() -> usersByEmail.getIfPresent(key))
+            .switchIfEmpty(Mono.defer(() -> userRepository.findOneWithAuthoritiesByEmailIgnoreCase(email)).doOnNext(this::put));
+    }
+
+    /**
+     * Evict a user, to be called with the login and email it had before being modified, and after it is saved or deleted.
+     * Within a transaction, it is evicted again once the transaction completes, so that a version loaded by a concurrent
+     * request before the commit is not kept.
+     *
+     * @param user the user.
+     * @return a Mono to signal the user is evicted.
+     */
+    public Mono<Void> evict(User user) {
+        String login = user.getLogin();
+        String email = user.getEmail();
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .filter(TransactionSynchronizationManager::isSynchronizationActive)
+            .doOnNext(synchronizationManager ->
+                synchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCompletion(int status) {
+                            return Mono.fromRunnable(() -> evict(login, email));
+                        }
+                    }
+                )
+            )
+            .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+            .then(Mono.fromRunnable(() -> evict(login, email)));
+    }
+
+    private void evict(String login, String email) {
+        log.trace("Evicting cached user {}", login);
+        if (login != null) {
+            usersByLogin.invalidate(login);
+        }
+        if (email != null) {
+            usersByEmail.invalidate(email.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private void put(User user) {
+        usersByLogin.put(user.getLogin(), user);
+        if (user.getEmail() != null) {
+            usersByEmail.put(user.getEmail().toLowerCase(Locale.ROOT), user);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.EntityManager;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.BulkItemResultDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.service.mapper.EntityMapper;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+/**
+ * Service for creating many entities from a stream.
+ * <p>
+ * The stream is read by batches of {@code application.bulk.batch-size} entities. Each batch is inserted with a single
+ * batched statement, in its own transaction, together with the rows of the search outbox which the {@link SearchIndexer}
+ * writes to Elasticsearch. The next batch is only requested once the previous one is saved.
+ */
+@Service
+public class BulkSaveService {
+
+    private final Logger log = LoggerFactory.getLogger(BulkSaveService.class);
+
+    private final EntityManager entityManager;
+
+    private final EntityCountService entityCountService;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final Validator validator;
+
+    private final int batchSize;
+
+    public BulkSaveService(
+        EntityManager entityManager,
+        EntityCountService entityCountService,
+        SearchOutboxService searchOutboxService,
+        TransactionalOperator transactionalOperator,
+        Validator validator,
+        ApplicationProperties applicationProperties
+    ) {
+        this.entityManager = entityManager;
+        this.entityCountService = entityCountService;
+        this.searchOutboxService = searchOutboxService;
+        this.transactionalOperator = transactionalOperator;
+        this.validator = validator;
+        this.batchSize = applicationProperties.getBulk().getBatchSize();
+    }
+
+    /**
+     * Create the entities of the given stream.
+     *
+     * @param entityType the entity type.
+     * @param dtos the DTOs of the entities to create.
+     * @param idExtractor gives the id of a DTO, which must be null.
+     * @param mapper the mapper between the DTO and the entity.
+     * @param relatedChanges records in the search outbox the changes of the other search documents built from the created
+     * entities, within the transaction of their batch.
+     * @param <D> the type of the DTO.
+     * @param <E> the type of the entity.
+     * @return the outcome of each item, with status {@code 201 (Created)} and the created DTO, or with status
+     * {@code 400 (Bad Request)} if the DTO is not valid, or with status {@code 500 (Internal Server Error)} if its batch
+     * couldn't be saved.
+     */
+    public <D, E> Flux<BulkItemResultDTO<D>> saveAll(
+        Class<E> entityType,
+        Flux<D> dtos,
+        Function<D, Long> idExtractor,
+        EntityMapper<D, E> mapper,
+        Function<List<E>, Mono<Void>> relatedChanges
+    ) {
+        return dtos.index().buffer(batchSize).concatMap(batch -> saveBatch(entityType, batch, idExtractor, mapper, relatedChanges));
+    }
+
+    private <D, E> Flux<BulkItemResultDTO<D>> saveBatch(
+        Class<E> entityType,
+        List<Tuple2<Long, D>> batch,
+        Function<D, Long> idExtractor,
+        EntityMapper<D, E> mapper,
+        Function<List<E>, Mono<Void>> relatedChanges
+    ) {
+        List<BulkItemResultDTO<D>> rejected = new ArrayList<>();
+        List<Long> indexes = new ArrayList<>();
+        List<E> entities = new ArrayList<>();
+        for (Tuple2<Long, D> item : batch) {
+            String error = validate(item.getT2(), idExtractor);
+            if (error != null) {
+                rejected.add(new BulkItemResultDTO<>(item.getT1(), HttpStatus.BAD_REQUEST.value(), null, error));
+            } else {
+                indexes.add(item.getT1());
+                entities.add(mapper.toEntity(item.getT2()));
+            }
+        }
+        if (entities.isEmpty()) {
+            return Flux.fromIterable(rejected);
+        }
+
+        // the results are only emitted once the transaction of the batch is committed
+        Flux<BulkItemResultDTO<D>> created = entityManager
+            .insertAll(entityType, entities)
+            .collectList()
+            .flatMap(savedEntities -> {
+                List<D> savedDtos = savedEntities.stream().map(mapper::toDto).collect(Collectors.toList());
+                List<Long> ids = savedDtos.stream().map(idExtractor).collect(Collectors.toList());
+                return searchOutboxService
+                    .indexAll(entityType, ids)
+                    .then(relatedChanges.apply(savedEntities))
+                    .then(entityCountService.evict(entityType))
+                    .thenReturn(savedDtos);
+            })
+            .as(transactionalOperator::transactional)
+            .flatMapIterable(savedDtos -> {
+                List<BulkItemResultDTO<D>> results = new ArrayList<>();
+                for (int i = 0; i < savedDtos.size(); i++) {
+                    results.add(new BulkItemResultDTO<>(indexes.get(i), HttpStatus.CREATED.value(), savedDtos.get(i), null));
+                }
+                return results;
+            })
+            .onErrorResume(e -> {
+                log.warn("Could not save a batch of {} {}", entities.size(), entityType.getSimpleName(), e);
+                return Flux
+                    .fromIterable(indexes)
+                    .map(index -> new BulkItemResultDTO<D>(index, HttpStatus.INTERNAL_SERVER_ERROR.value(), null, "error.http.500"));
+            });
+        return Flux.fromIterable(rejected).concatWith(created);
+    }
+
+    private <D> String validate(D dto, Function<D, Long> idExtractor) {
+        if (idExtractor.apply(dto) != null) {
+            return "idexists";
+        }
+        Set<ConstraintViolation<D>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,465 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
+import dev.knowhowto.jh.petclinic.reactbdd.config.Constants;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Types;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.User;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Visits;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.enumeration.SearchOperation;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.EntityManager;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.OwnersRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.PetsRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.TypesRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.UserRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.VisitsRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.security.AuthoritiesConstants;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service seeding the database with large volumes of generated owners, pets, visits and users, to run the load tests
+ * against data which looks like production.
+ * <p>
+ * It is only created when {@code application.data-generator.enabled} is true, and runs once the application is ready.
+ * Only the owners, pets, visits and users missing from the database are generated, so a run which was interrupted, or a
+ * database which already holds a few owners, is topped up to the configured volumes. The owners are generated by batches of
+ * {@code application.data-generator.batch-size}, each batch with its pets and their visits being inserted with batched
+ * statements in its own transaction, and the owner-history documents of the batch being written to Elasticsearch. The
+ * other Elasticsearch indices are rebuilt by the {@link SearchReindexService} once all the batches are inserted.
+ * <p>
+ * The pets are spread evenly over the owners, and the visits over the pets, so that the configured volumes are reached
+ * exactly. Each batch draws its values from a random generator seeded with {@code application.data-generator.seed} and
+ * its number, so the same configuration always generates the same data into the same database, whatever the concurrency.
+ * Only the generated ids depend on the order in which the batches are inserted.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.data-generator", name = "enabled", havingValue = "true")
+public class DataGeneratorService {
+
+    public static final String LOGIN_PREFIX = "loadtest-";
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2023, 2, 1);
+
+    private static final int MAX_PET_AGE_IN_DAYS = 20 * 365;
+
+    private static final int MAX_VISIT_AGE_IN_DAYS = 5 * 365;
+
+    private static final String[] DEFAULT_TYPES = { "cat", "dog", "lizard", "snake", "bird", "hamster" };
+
+    private static final String[] FIRST_NAMES = {
+        "George",
+        "Betty",
+        "Eduardo",
+        "Harold",
+        "Peter",
+        "Jean",
+        "Jeff",
+        "Maria",
+        "David",
+        "Carlos",
+        "Emma",
+        "Olivia",
+        "Liam",
+        "Noah",
+        "Sophia",
+        "Lucas",
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Franklin",
+        "Davis",
+        "Rodriquez",
+        "McTavish",
+        "Coleman",
+        "Black",
+        "Escobito",
+        "Schroeder",
+        "Estaban",
+        "Leroy",
+        "Martin",
+        "Dupont",
+        "Nguyen",
+        "Novak",
+        "Jensen",
+        "Rossi",
+    };
+
+    private static final String[] STREETS = { "Main St.", "Lake St.", "Madison Ave.", "Oak Rd.", "Pine Ln.", "Elm St." };
+
+    private static final String[] CITIES = { "Madison", "Sun Prairie", "McFarland", "Windsor", "Monona", "Waunakee", "Middleton" };
+
+    private static final String[] PET_NAMES = {
+        "Leo",
+        "Basil",
+        "Rosy",
+        "Jewel",
+        "Iggy",
+        "George",
+        "Samantha",
+        "Max",
+        "Lucky",
+        "Mulligan",
+        "Freddy",
+        "Sly",
+    };
+
+    private static final String[] DESCRIPTIONS = { "rabies shot", "neutered", "spayed", "checkup", "dental cleaning", "vaccination" };
+
+    private final Logger log = LoggerFactory.getLogger(DataGeneratorService.class);
+
+    private final ApplicationProperties.DataGenerator properties;
+
+    private final EntityManager entityManager;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final OwnersRepository ownersRepository;
+
+    private final PetsRepository petsRepository;
+
+    private final VisitsRepository visitsRepository;
+
+    private final TypesRepository typesRepository;
+
+    private final UserRepository userRepository;
+
+    private final PasswordHashingService passwordHashingService;
+
+    private final OwnerHistoryService ownerHistoryService;
+
+    private final SearchReindexService searchReindexService;
+
+    private final SearchableEntities searchableEntities;
+
+    private final EntityCountService entityCountService;
+
+    private final ReferenceDataService referenceDataService;
+
+    public DataGeneratorService(
+        ApplicationProperties applicationProperties,
+        EntityManager entityManager,
+        TransactionalOperator transactionalOperator,
+        OwnersRepository ownersRepository,
+        PetsRepository petsRepository,
+        VisitsRepository visitsRepository,
+        TypesRepository typesRepository,
+        UserRepository userRepository,
+        PasswordHashingService passwordHashingService,
+        OwnerHistoryService ownerHistoryService,
+        SearchReindexService searchReindexService,
+        SearchableEntities searchableEntities,
+        EntityCountService entityCountService,
+        ReferenceDataService referenceDataService
+    ) {
+        this.properties = applicationProperties.getDataGenerator();
+        this.entityManager = entityManager;
+        this.transactionalOperator = transactionalOperator;
+        this.ownersRepository = ownersRepository;
+        this.petsRepository = petsRepository;
+        this.visitsRepository = visitsRepository;
+        this.typesRepository = typesRepository;
+        this.userRepository = userRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.ownerHistoryService = ownerHistoryService;
+        this.searchReindexService = searchReindexService;
+        this.searchableEntities = searchableEntities;
+        this.entityCountService = entityCountService;
+        this.referenceDataService = referenceDataService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void generateOnStartup() {
+        generate().subscribe(null, e -> log.error("Could not generate the data", e));
+    }
+
+    /**
+     * Generate the volumes of data missing from the database to reach the configured ones, unless the database already
+     * holds the configured number of owners, then start rebuilding the Elasticsearch indices.
+     *
+     * @return a Mono to signal the data is inserted into the database.
+     */
+    public Mono<Void> generate() {
+        return Mono
+            .zip(ownersRepository.count(), petsRepository.count(), visitsRepository.count())
+            .flatMap(existing -> {
+                if (existing.getT1() >= properties.getOwners()) {
+                    log.info("Skipping the data generation, there are already {} owners", existing.getT1());
+                    return Mono.empty();
+                }
+                if (existing.getT1() > 0) {
+                    log.info(
+                        "Resuming the data generation, there are already {} owners, {} pets and {} visits",
+                        existing.getT1(),
+                        existing.getT2(),
+                        existing.getT3()
+                    );
+                }
+                Volumes volumes = new Volumes(
+                    properties.getOwners() - existing.getT1(),
+                    Math.max(properties.getPets() - existing.getT2(), 0),
+                    Math.max(properties.getVisits() - existing.getT3(), 0)
+                );
+                long start = System.nanoTime();
+                log.info("Generating {} owners, {} pets, {} visits and the missing users", volumes.owners, volumes.pets, volumes.visits);
+                return generateUsers()
+                    .then(generateOwners(volumes))
+                    .then(
+                        Mono.when(
+                            entityCountService.evict(Owners.class),
+                            entityCountService.evict(Pets.class),
+                            entityCountService.evict(Visits.class)
+                        )
+                    )
+                    .doOnSuccess(done -> {
+                        log.info("Generated the data in {} s", (System.nanoTime() - start) / 1_000_000_000L);
+                        searchReindexService.reindex(searchableEntities.getAll());
+                    });
+            });
+    }
+
+    private Mono<Void> generateUsers() {
+        return userRepository
+            .countByLoginStartingWith(LOGIN_PREFIX)
+            .flatMap(existing -> {
+                if (existing >= properties.getUsers()) {
+                    log.info("Skipping the generation of the users, there are already {}", existing);
+                    return Mono.empty();
+                }
+                // the users are inserted in order, each batch with its authorities in a transaction, so the existing ones
+                // are the first ones; they all share the same password, which is only hashed once
+                int first = Math.toIntExact(existing);
+                return passwordHashingService
+                    .encode(properties.getUserPassword())
+                    .flatMapMany(passwordHash ->
+                        Flux
+                            .range(first, properties.getUsers() - first)
+                            .map(index -> newUser(index, passwordHash))
+                            .buffer(properties.getBatchSize())
+                            .concatMap(users ->
+                                entityManager
+                                    .insertAll(User.class, users)
+                                    .concatMap(user -> userRepository.saveUserAuthority(user.getId(), AuthoritiesConstants.USER))
+                                    .then()
+                                    .as(transactionalOperator::transactional)
+                            )
+                    )
+                    .then();
+            });
+    }
+
+    private Mono<Void> generateOwners(Volumes volumes) {
+        int batchSize = properties.getBatchSize();
+        long batches = (volumes.owners + batchSize - 1) / batchSize;
+        AtomicLong generatedOwners = new AtomicLong();
+        return findOrCreateTypeIds()
+            .flatMapMany(typeIds ->
+                Flux
+                    .range(0, Math.toIntExact(batches))
+                    .flatMap(
+                        batch ->
+                            generateBatch(batch, volumes, typeIds)
+                                .doOnSuccess(owners -> {
+                                    long generated = generatedOwners.addAndGet(owners);
+                                    if ((batch + 1) % 100 == 0) {
+                                        log.info("Generated {} of {} owners", generated, volumes.owners);
+                                    }
+                                }),
+                        properties.getConcurrency()
+                    )
+            )
+            .then();
+    }
+
+    private Mono<List<Long>> findOrCreateTypeIds() {
+        // the ids are sorted, as the types are picked by their index
+        return typesRepository
+            .findAll()
+            .map(Types::getId)
+            .sort()
+            .collectList()
+            .flatMap(typeIds -> {
+                if (!typeIds.isEmpty()) {
+                    return Mono.just(typeIds);
+                }
+                List<Types> types = new ArrayList<>();
+                for (String name : DEFAULT_TYPES) {
+                    types.add(new Types().name(name));
+                }
+                return entityManager
+                    .insertAll(Types.class, types)
+                    .map(Types::getId)
+                    .collectList()
+                    .flatMap(createdTypeIds -> referenceDataService.invalidate().thenReturn(createdTypeIds));
+            });
+    }
+
+    /**
+     * Generate a batch of owners, with their pets and the visits of their pets.
+     *
+     * @param batch the number of the batch.
+     * @param volumes the volumes to generate.
+     * @param typeIds the ids of the pet types.
+     * @return the number of owners generated.
+     */
+    private Mono<Integer> generateBatch(int batch, Volumes volumes, List<Long> typeIds) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() + batch);
+        long firstOwner = (long) batch * properties.getBatchSize();
+        long lastOwner = Math.min(firstOwner + properties.getBatchSize(), volumes.owners);
+
+        List<Owners> owners = new ArrayList<>();
+        for (long index = firstOwner; index < lastOwner; index++) {
+            owners.add(newOwner(random));
+        }
+        return entityManager
+            .insertAll(Owners.class, owners)
+            .collectList()
+            .flatMap(savedOwners -> insertPets(savedOwners, firstOwner, volumes, typeIds, random))
+            .flatMap(savedPets -> insertVisits(savedPets, share(volumes.pets, volumes.owners, firstOwner), volumes, random))
+            .as(transactionalOperator::transactional)
+            .then(
+                Mono.defer(() -> {
+                    Map<Long, SearchOperation> changes = new LinkedHashMap<>();
+                    owners.forEach(owner -> changes.put(owner.getId(), SearchOperation.INDEX));
+                    return ownerHistoryService.write(changes);
+                })
+            )
+            .thenReturn(owners.size());
+    }
+
+    private Mono<List<Pets>> insertPets(
+        List<Owners> owners,
+        long firstOwner,
+        Volumes volumes,
+        List<Long> typeIds,
+        SplittableRandom random
+    ) {
+        List<Pets> pets = new ArrayList<>();
+        for (int i = 0; i < owners.size(); i++) {
+            long count = countOf(volumes.pets, volumes.owners, firstOwner + i);
+            for (long j = 0; j < count; j++) {
+                pets.add(newPet(owners.get(i).getId(), typeIds.get(random.nextInt(typeIds.size())), random));
+            }
+        }
+        return Flux
+            .fromIterable(pets)
+            .buffer(properties.getBatchSize())
+            .concatMap(batch -> entityManager.insertAll(Pets.class, batch))
+            .collectList();
+    }
+
+    private Mono<Long> insertVisits(List<Pets> pets, long firstPet, Volumes volumes, SplittableRandom random) {
+        List<Visits> visits = new ArrayList<>();
+        for (int i = 0; i < pets.size(); i++) {
+            long count = countOf(volumes.visits, volumes.pets, firstPet + i);
+            for (long j = 0; j < count; j++) {
+                visits.add(newVisit(pets.get(i), random));
+            }
+        }
+        return Flux
+            .fromIterable(visits)
+            .buffer(properties.getBatchSize())
+            .concatMap(batch -> entityManager.insertAll(Visits.class, batch))
+            .count();
+    }
+
+    /**
+     * @return the number of items of the given part, when the total is spread evenly over the parts.
+     */
+    private static long countOf(long total, long parts, long part) {
+        return share(total, parts, part + 1) - share(total, parts, part);
+    }
+
+    /**
+     * @return the number of items of the parts before the given part, when the total is spread evenly over the parts.
+     */
+    private static long share(long total, long parts, long part) {
+        return parts == 0 ? 0 : Math.multiplyExact(total, part) / parts;
+    }
+
+    private static String login(int index) {
+        return String.format("%s%07d", LOGIN_PREFIX, index);
+    }
+
+    private static User newUser(int index, String passwordHash) {
+        User user = new User();
+        user.setLogin(login(index));
+        user.setPassword(passwordHash);
+        user.setFirstName(FIRST_NAMES[index % FIRST_NAMES.length]);
+        user.setLastName(LAST_NAMES[index % LAST_NAMES.length]);
+        user.setEmail(login(index) + "@localhost");
+        user.setActivated(true);
+        user.setLangKey(Constants.DEFAULT_LANGUAGE);
+        user.setCreatedBy(Constants.SYSTEM);
+        return user;
+    }
+
+    private static Owners newOwner(SplittableRandom random) {
+        return new Owners()
+            .firstname(pick(FIRST_NAMES, random))
+            .lastname(pick(LAST_NAMES, random))
+            .address((random.nextInt(9999) + 1) + " " + pick(STREETS, random))
+            .city(pick(CITIES, random))
+            .telephone(String.format("608%07d", random.nextInt(10_000_000)));
+    }
+
+    private static Pets newPet(Long ownerId, Long typeId, SplittableRandom random) {
+        Pets pet = new Pets().name(pick(PET_NAMES, random)).birthdate(REFERENCE_DATE.minusDays(random.nextInt(MAX_PET_AGE_IN_DAYS)));
+        pet.setOwnerId(ownerId);
+        pet.setTypeId(typeId);
+        return pet;
+    }
+
+    private static Visits newVisit(Pets pet, SplittableRandom random) {
+        // the visits are after the birth of the pet, and before the reference date
+        long days = Math.min(ChronoUnit.DAYS.between(pet.getBirthdate(), REFERENCE_DATE), MAX_VISIT_AGE_IN_DAYS);
+        Instant visitdate = REFERENCE_DATE
+            .minusDays(days == 0 ? 0 : random.nextLong(days))
+            .atStartOfDay()
+            .plusMinutes(8 * 60 + random.nextInt(10 * 60))
+            .toInstant(ZoneOffset.UTC);
+        Visits visit = new Visits().visitdate(visitdate).description(pick(DESCRIPTIONS, random));
+        visit.setPetId(pet.getId());
+        return visit;
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * The numbers of owners, pets and visits to generate.
+     */
+    private static final class Volumes {
+
+        private final long owners;
+
+        private final long pets;
+
+        private final long visits;
+
+        private Volumes(long owners, long pets, long visits) {
+            this.owners = owners;
+            this.pets = pets;
+            this.visits = visits;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties.CountStrategy;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.EntityManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service computing the total number of entities for paginated list endpoints.
+ * <p>
+ * The {@link CountStrategy} is configured per entity with {@code application.pagination.count.strategies.<entity>},
+ * where the entity name is the lower-cased entity class name.
+ */
+@Service
+public class EntityCountService {
+
+    private final Logger log = LoggerFactory.getLogger(EntityCountService.class);
+
+    private final ApplicationProperties.Pagination.Count properties;
+
+    private final EntityManager entityManager;
+
+    private final Cache<Class<?>, Long> cachedCounts;
+
+    public EntityCountService(ApplicationProperties applicationProperties, EntityManager entityManager) {
+        this.properties = applicationProperties.getPagination().getCount();
+        this.entityManager = entityManager;
+        this.cachedCounts = Caffeine.newBuilder().expireAfterWrite(properties.getCacheTimeToLive()).build();
+    }
+
+    /**
+     * Count the entities of the given type, using the strategy configured for it.
+     *
+     * @param entityType the entity type.
+     * @param exactCount the exact count, only subscribed to if the strategy requires it.
+     * @return the number of entities, or an empty {@link Mono} if the entity is configured not to be counted.
+     */
+    public Mono<Long> count(Class<?> entityType, Mono<Long> exactCount) {
+        switch (getStrategy(entityType)) {
+            case APPROXIMATE:
+                return entityManager.estimateCount(entityType);
+            case CACHED:
+                return Mono
+                    .justOrEmpty(cachedCounts.getIfPresent(entityType))
+                    .switchIfEmpty(exactCount.doOnNext(count -> cachedCounts.put(entityType, count)));
+            case NONE:
+                return Mono.empty();
+            default:
+                return exactCount;
+        }
+    }
+
+    /**
+     * Evict the cached count of the given entity type, to be called when entities are created or deleted. Within a
+     * transaction, it is evicted again once the transaction completes, so that a count cached before the commit is not kept.
+     *
+     * @param entityType the entity type.
+     * @return a Mono to signal the count is evicted.
+     */
+    public Mono<Void> evict(Class<?> entityType) {
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .filter(TransactionSynchronizationManager::isSynchronizationActive)
+            .doOnNext(synchronizationManager ->
+                synchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCompletion(int status) {
+                            return Mono.fromRunnable(() -> invalidate(entityType));
+                        }
+                    }
+                )
+            )
+            .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+            .then(Mono.fromRunnable(() -> invalidate(entityType)));
+    }
+
+    private void invalidate(Class<?> entityType) {
+        log.trace("Evicting cached count of {}", entityType.getSimpleName());
+        cachedCounts.invalidate(entityType);
+    }
+
+    private CountStrategy getStrategy(Class<?> entityType) {
+        return properties
+            .getStrategies()
+            .getOrDefault(entityType.getSimpleName().toLowerCase(Locale.ROOT), properties.getDefaultStrategy());
+    }
+}
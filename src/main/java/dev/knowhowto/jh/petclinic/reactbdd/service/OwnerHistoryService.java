@@ -0,0 +1,287 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.OwnerHistory;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.OwnerHistory.PetHistory;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.OwnerHistory.VisitHistory;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Types;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Visits;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.enumeration.SearchOperation;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.OwnersRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.PetsRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.TypesRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.VisitsRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.OwnerHistorySearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.SearchPageDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service maintaining the {@link OwnerHistory} search documents.
+ * <p>
+ * The owners, pets, visits and types services record the owners whose document has to be rebuilt in the search outbox,
+ * within their transaction. The {@link SearchIndexer} then rebuilds the documents of a batch of owners with one query per table.
+ */
+@Service
+public class OwnerHistoryService {
+
+    private final Logger log = LoggerFactory.getLogger(OwnerHistoryService.class);
+
+    private final OwnersRepository ownersRepository;
+
+    private final PetsRepository petsRepository;
+
+    private final VisitsRepository visitsRepository;
+
+    private final TypesRepository typesRepository;
+
+    private final OwnerHistorySearchRepository ownerHistorySearchRepository;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final int visitsPerPet;
+
+    private final int buildPageSize;
+
+    private final Integer trackTotalHitsUpTo;
+
+    public OwnerHistoryService(
+        OwnersRepository ownersRepository,
+        PetsRepository petsRepository,
+        VisitsRepository visitsRepository,
+        TypesRepository typesRepository,
+        OwnerHistorySearchRepository ownerHistorySearchRepository,
+        SearchOutboxService searchOutboxService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.ownersRepository = ownersRepository;
+        this.petsRepository = petsRepository;
+        this.visitsRepository = visitsRepository;
+        this.typesRepository = typesRepository;
+        this.ownerHistorySearchRepository = ownerHistorySearchRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.visitsPerPet = applicationProperties.getSearch().getOwnerHistory().getVisitsPerPet();
+        this.buildPageSize = applicationProperties.getSearch().getReindex().getBulkSize();
+        this.trackTotalHitsUpTo = applicationProperties.getSearch().getTrackTotalHitsUpTo();
+    }
+
+    /**
+     * Record that the document of the current owner of the given pet has to be rebuilt.
+     *
+     * @param petId the id of the pet, or null.
+     * @return a Mono to signal the change is recorded.
+     */
+    public Mono<Void> petChanged(Long petId) {
+        if (petId == null) {
+            return Mono.empty();
+        }
+        return petsRepository.findOwnerIdById(petId).flatMap(ownerId -> searchOutboxService.index(OwnerHistory.class, ownerId));
+    }
+
+    /**
+     * Record that the documents of the current owners of the given pets have to be rebuilt.
+     *
+     * @param petIds the ids of the pets, the null ones are ignored.
+     * @return a Mono to signal the changes are recorded.
+     */
+    public Mono<Void> petsChanged(Collection<Long> petIds) {
+        Set<Long> ids = petIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return petsRepository
+            .findOwnerIdsByIdIn(ids)
+            .collectList()
+            .flatMap(ownerIds -> searchOutboxService.indexAll(OwnerHistory.class, ownerIds));
+    }
+
+    /**
+     * Record that the documents of the owners of the pets of the given type have to be rebuilt, since they hold its name.
+     *
+     * @param typeId the id of the type, or null.
+     * @return a Mono to signal the changes are recorded.
+     */
+    public Mono<Void> typeChanged(Long typeId) {
+        if (typeId == null) {
+            return Mono.empty();
+        }
+        return petsRepository
+            .findOwnerIdsByType(typeId)
+            .collectList()
+            .flatMap(ownerIds -> searchOutboxService.indexAll(OwnerHistory.class, ownerIds));
+    }
+
+    /**
+     * Record that the document of the current owner of the pet of the given visit has to be rebuilt.
+     *
+     * @param visitId the id of the visit, or null.
+     * @return a Mono to signal the change is recorded.
+     */
+    public Mono<Void> visitChanged(Long visitId) {
+        if (visitId == null) {
+            return Mono.empty();
+        }
+        return visitsRepository.findOwnerIdById(visitId).flatMap(ownerId -> searchOutboxService.index(OwnerHistory.class, ownerId));
+    }
+
+    /**
+     * Write the changes recorded in the search outbox: the documents of the indexed owners are rebuilt from the database,
+     * and the documents of the deleted owners are removed.
+     *
+     * @param changes the latest operation of each owner id.
+     * @return a Mono to signal the documents are written.
+     */
+    public Mono<Void> write(Map<Long, SearchOperation> changes) {
+        Set<Long> indexedIds = new HashSet<>();
+        Set<Long> deletedIds = new HashSet<>();
+        changes.forEach((id, operation) -> (operation == SearchOperation.DELETE ? deletedIds : indexedIds).add(id));
+
+        Mono<Void> index = indexedIds.isEmpty()
+            ? Mono.empty()
+            : build(indexedIds)
+                .collectList()
+                .flatMap(documents -> {
+                    // the owners deleted in the meantime have no document anymore
+                    documents.forEach(document -> indexedIds.remove(document.getId()));
+                    deletedIds.addAll(indexedIds);
+                    return documents.isEmpty() ? Mono.empty() : ownerHistorySearchRepository.saveAll(documents).then();
+                });
+        return index.then(Mono.defer(() -> deletedIds.isEmpty() ? Mono.empty() : ownerHistorySearchRepository.deleteAllById(deletedIds)));
+    }
+
+    /**
+     * Build the documents of the given owners from the database.
+     *
+     * @param ownerIds the ids of the owners.
+     * @return the documents of the owners which exist.
+     */
+    public Flux<OwnerHistory> build(Collection<Long> ownerIds) {
+        log.debug("Request to build the OwnerHistory of {} owners", ownerIds.size());
+        return ownersRepository.findAllById(ownerIds).collectList().filter(owners -> !owners.isEmpty()).flatMapMany(this::buildFromOwners);
+    }
+
+    /**
+     * Build the documents of all the owners from the database, reading the owners by pages of
+     * {@code application.search.reindex.bulk-size}, so that they are not all held in memory.
+     *
+     * @return the documents of all the owners, ordered by id.
+     */
+    public Flux<OwnerHistory> buildAll() {
+        log.debug("Request to build the OwnerHistory of all the owners");
+        return ownersRepository
+            .findAllAfter(null, buildPageSize)
+            .collectList()
+            .expand(owners ->
+                owners.size() < buildPageSize
+                    ? Mono.empty()
+                    : ownersRepository.findAllAfter(owners.get(owners.size() - 1).getId(), buildPageSize).collectList()
+            )
+            .filter(owners -> !owners.isEmpty())
+            .concatMap(this::buildFromOwners);
+    }
+
+    private Flux<OwnerHistory> buildFromOwners(List<Owners> owners) {
+        Set<Long> ownerIds = owners.stream().map(Owners::getId).collect(Collectors.toSet());
+        return petsRepository
+            .findByOwnerIn(ownerIds)
+            .collectList()
+            .flatMapMany(pets -> {
+                Set<Long> typeIds = pets.stream().map(Pets::getTypeId).filter(Objects::nonNull).collect(Collectors.toSet());
+                Set<Long> petIds = pets.stream().map(Pets::getId).collect(Collectors.toSet());
+                Mono<Map<Long, String>> typeNames = typeIds.isEmpty()
+                    ? Mono.just(Collections.emptyMap())
+                    : typesRepository.findAllById(typeIds).collectMap(Types::getId, Types::getName);
+                Mono<Map<Long, Collection<Visits>>> visits = petIds.isEmpty()
+                    ? Mono.just(Collections.emptyMap())
+                    : visitsRepository.findLatestByPetIn(petIds, visitsPerPet).collectMultimap(Visits::getPetId);
+                return Mono.zip(typeNames, visits).flatMapIterable(tuple -> toOwnerHistories(owners, pets, tuple.getT1(), tuple.getT2()));
+            });
+    }
+
+    /**
+     * Search for the owners matching the query, which have a pet with the given name visited in the given period.
+     *
+     * @param query the search on the owner fields.
+     * @param petName the name of the pet, or null.
+     * @param visitedFrom the start of the visit period, inclusive, or null.
+     * @param visitedTo the end of the visit period, exclusive, or null.
+     * @param pageable the pagination information.
+     * @return the page of owners, with the number of hits of the query.
+     */
+    public Mono<SearchPageDTO<OwnerHistory>> search(
+        SearchQuery query,
+        String petName,
+        Instant visitedFrom,
+        Instant visitedTo,
+        Pageable pageable
+    ) {
+        log.debug("Request to search for a page of OwnerHistory for query {} and pet {}", query, petName);
+        return ownerHistorySearchRepository
+            .search(query, petName, visitedFrom, visitedTo, pageable, trackTotalHitsUpTo)
+            .map(searchPage -> SearchPageDTO.of(searchPage, Function.identity()));
+    }
+
+    private static List<OwnerHistory> toOwnerHistories(
+        List<Owners> owners,
+        List<Pets> pets,
+        Map<Long, String> typeNames,
+        Map<Long, Collection<Visits>> visits
+    ) {
+        Map<Long, List<Pets>> petsByOwner = pets.stream().collect(Collectors.groupingBy(Pets::getOwnerId));
+        List<OwnerHistory> result = new ArrayList<>(owners.size());
+        for (Owners owner : owners) {
+            OwnerHistory ownerHistory = new OwnerHistory().id(owner.getId());
+            ownerHistory.setFirstname(owner.getFirstname());
+            ownerHistory.setLastname(owner.getLastname());
+            ownerHistory.setAddress(owner.getAddress());
+            ownerHistory.setCity(owner.getCity());
+            ownerHistory.setTelephone(owner.getTelephone());
+            for (Pets pet : petsByOwner.getOrDefault(owner.getId(), Collections.emptyList())) {
+                ownerHistory.getPets().add(toPetHistory(pet, typeNames, visits.getOrDefault(pet.getId(), Collections.emptyList())));
+            }
+            result.add(ownerHistory);
+        }
+        return result;
+    }
+
+    private static PetHistory toPetHistory(Pets pet, Map<Long, String> typeNames, Collection<Visits> visits) {
+        PetHistory petHistory = new PetHistory();
+        petHistory.setId(pet.getId());
+        petHistory.setName(pet.getName());
+        petHistory.setBirthdate(pet.getBirthdate());
+        petHistory.setType(pet.getTypeId() != null ? typeNames.get(pet.getTypeId()) : null);
+        visits
+            .stream()
+            .sorted(Comparator.comparing(Visits::getVisitdate).reversed())
+            .forEach(visit -> {
+                VisitHistory visitHistory = new VisitHistory();
+                visitHistory.setId(visit.getId());
+                visitHistory.setVisitdate(visit.getVisitdate());
+                visitHistory.setDescription(visit.getDescription());
+                petHistory.getVisits().add(visitHistory);
+            });
+        if (!petHistory.getVisits().isEmpty()) {
+            petHistory.setLastVisitdate(petHistory.getVisits().get(0).getVisitdate());
+        }
+        return petHistory;
+    }
+}
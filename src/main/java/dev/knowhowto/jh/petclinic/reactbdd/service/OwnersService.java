@@ -1,7 +1,11 @@
 package dev.knowhowto.jh.petclinic.reactbdd.service;
 
 import org.springframework.data.domain.Pageable;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.criteria.OwnersCriteria;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.BulkItemResultDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.OwnersDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.SearchPageDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -17,6 +21,14 @@ public interface OwnersService {
      */
     Mono<OwnersDTO> save(OwnersDTO ownersDTO);
 
+    /**
+     * Save a stream of new owners, by batches.
+     *
+     * @param ownersDTOs the entities to save.
+     * @return the outcome of each entity.
+     */
+    Flux<BulkItemResultDTO<OwnersDTO>> saveAll(Flux<OwnersDTO> ownersDTOs);
+
     /**
      * Updates a owners.
      *
@@ -41,18 +53,54 @@ public interface OwnersService {
      */
     Flux<OwnersDTO> findAll(Pageable pageable);
 
+    /**
+     * Get the owners following the given id, ordered by id.
+     *
+     * @param afterId the id of the last entity of the previous page, or null to start from the first one.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
+     */
+    Flux<OwnersDTO> findAllAfter(Long afterId, int size);
+
+    /**
+     * Get the owners matching the criteria.
+     *
+     * @param criteria the filtering criteria.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<OwnersDTO> findByCriteria(OwnersCriteria criteria, Pageable pageable);
+
+    /**
+     * Get the owners matching the criteria following the given id, ordered by id.
+     *
+     * @param criteria the filtering criteria.
+     * @param afterId the id of the last entity of the previous page, or null to start from the first one.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
+     */
+    Flux<OwnersDTO> findByCriteriaAfter(OwnersCriteria criteria, Long afterId, int size);
+
+    /**
+     * Get all the owners, streamed from a database cursor.
+     *
+     * @return the entities, read from the database as they are requested.
+     */
+    Flux<OwnersDTO> exportAll();
+
     /**
      * Returns the number of owners available.
-     * @return the number of entities in the database.
+     * @return the number of entities in the database, or an empty Mono if the entity is configured not to be counted.
      *
      */
     Mono<Long> countAll();
 
     /**
-     * Returns the number of owners available in search repository.
-     *
+     * Returns the number of owners matching the criteria.
+     * @param criteria the filtering criteria.
+     * @return the number of matching entities, counted as {@link #countAll()} if no filter is set.
      */
-    Mono<Long> searchCount();
+    Mono<Long> countByCriteria(OwnersCriteria criteria);
 
     /**
      * Get the "id" owners.
@@ -73,10 +121,9 @@ public interface OwnersService {
     /**
      * Search for the owners corresponding to the query.
      *
-     * @param query the query of the search.
-     *
+     * @param query the search.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of entities, with the number of hits of the query.
      */
-    Flux<OwnersDTO> search(String query, Pageable pageable);
+    Mono<SearchPageDTO<OwnersDTO>> search(SearchQuery query, Pageable pageable);
 }
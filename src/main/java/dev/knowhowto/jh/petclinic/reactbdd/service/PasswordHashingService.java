@@ -0,0 +1,67 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service;
+
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import dev.knowhowto.jh.petclinic.reactbdd.config.PasswordHashingConfiguration;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Service encoding and matching passwords on the password hashing scheduler, see {@link PasswordHashingConfiguration},
+ * so that they never run on the event loop.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final Scheduler passwordHashingScheduler;
+
+    public PasswordHashingService(
+        PasswordEncoder passwordEncoder,
+        @Qualifier(PasswordHashingConfiguration.PASSWORD_HASHING_SCHEDULER) Scheduler passwordHashingScheduler
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingScheduler = passwordHashingScheduler;
+    }
+
+    /**
+     * Encode a password.
+     *
+     * @param rawPassword the clear text password.
+     * @return the encoded password, or a {@code 503 (Service Unavailable)} error if too many passwords are being hashed.
+     */
+    public Mono<String> encode(CharSequence rawPassword) {
+        return schedule(Mono.fromCallable(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Check a password against its encoded form.
+     *
+     * @param rawPassword the clear text password.
+     * @param encodedPassword the encoded password.
+     * @return whether the password matches, or a {@code 503 (Service Unavailable)} error if too many passwords are being
+     * hashed.
+     */
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return schedule(Mono.fromCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    private <T> Mono<T> schedule(Mono<T> hashing) {
+        return hashing.subscribeOn(passwordHashingScheduler).onErrorMap(RejectedExecutionException.class, PasswordHashingService::busy);
+    }
+
+    /**
+     * The error of a password hashing rejected because the queue of the scheduler is full.
+     *
+     * @param e the rejection.
+     * @return the error.
+     */
+    public static ResponseStatusException busy(RejectedExecutionException e) {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many password hashing requests", e);
+    }
+}
@@ -1,7 +1,11 @@
 package dev.knowhowto.jh.petclinic.reactbdd.service;
 
 import org.springframework.data.domain.Pageable;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.criteria.PetsCriteria;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.BulkItemResultDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.PetsDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.SearchPageDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -17,6 +21,14 @@ public interface PetsService {
      */
     Mono<PetsDTO> save(PetsDTO petsDTO);
 
+    /**
+     * Save a stream of new pets, by batches.
+     *
+     * @param petsDTOs the entities to save.
+     * @return the outcome of each entity.
+     */
+    Flux<BulkItemResultDTO<PetsDTO>> saveAll(Flux<PetsDTO> petsDTOs);
+
     /**
      * Updates a pets.
      *
@@ -41,18 +53,54 @@ public interface PetsService {
      */
     Flux<PetsDTO> findAll(Pageable pageable);
 
+    /**
+     * Get the pets following the given id, ordered by id.
+     *
+     * @param afterId the id of the last entity of the previous page, or null to start from the first one.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
+     */
+    Flux<PetsDTO> findAllAfter(Long afterId, int size);
+
+    /**
+     * Get the pets matching the criteria.
+     *
+     * @param criteria the filtering criteria.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<PetsDTO> findByCriteria(PetsCriteria criteria, Pageable pageable);
+
+    /**
+     * Get the pets matching the criteria following the given id, ordered by id.
+     *
+     * @param criteria the filtering criteria.
+     * @param afterId the id of the last entity of the previous page, or null to start from the first one.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
+     */
+    Flux<PetsDTO> findByCriteriaAfter(PetsCriteria criteria, Long afterId, int size);
+
+    /**
+     * Get all the pets, streamed from a database cursor.
+     *
+     * @return the entities, read from the database as they are requested.
+     */
+    Flux<PetsDTO> exportAll();
+
     /**
      * Returns the number of pets available.
-     * @return the number of entities in the database.
+     * @return the number of entities in the database, or an empty Mono if the entity is configured not to be counted.
      *
      */
     Mono<Long> countAll();
 
     /**
-     * Returns the number of pets available in search repository.
-     *
+     * Returns the number of pets matching the criteria.
+     * @param criteria the filtering criteria.
+     * @return the number of matching entities, counted as {@link #countAll()} if no filter is set.
      */
-    Mono<Long> searchCount();
+    Mono<Long> countByCriteria(PetsCriteria criteria);
 
     /**
      * Get the "id" pets.
@@ -73,10 +121,9 @@ public interface PetsService {
     /**
      * Search for the pets corresponding to the query.
      *
-     * @param query the query of the search.
-     *
+     * @param query the search.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of entities, with the number of hits of the query.
      */
-    Flux<PetsDTO> search(String query, Pageable pageable);
+    Mono<SearchPageDTO<PetsDTO>> search(SearchQuery query, Pageable pageable);
 }
@@ -0,0 +1,257 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Specialties;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Types;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.SpecialtiesRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.TypesRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service keeping the reference data, the {@link Types} and the {@link Specialties}, in memory.
+ * <p>
+ * The reference data is loaded when the application starts, and is versioned: the types and specialties services
+ * invalidate it when they save or delete an entity, and the next request loads a new version. The entries also expire
+ * after {@code application.reference-data.time-to-live}, which bounds the staleness of the changes made by the other
+ * instances. The cached entities are shared, and must not be modified.
+ */
+@Service
+public class ReferenceDataService {
+
+    private final Logger log = LoggerFactory.getLogger(ReferenceDataService.class);
+
+    private final TypesRepository typesRepository;
+
+    private final SpecialtiesRepository specialtiesRepository;
+
+    private final Duration timeToLive;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final AtomicReference<Mono<ReferenceData>> referenceData = new AtomicReference<>();
+
+    public ReferenceDataService(
+        TypesRepository typesRepository,
+        SpecialtiesRepository specialtiesRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.typesRepository = typesRepository;
+        this.specialtiesRepository = specialtiesRepository;
+        this.timeToLive = applicationProperties.getReferenceData().getTimeToLive();
+    }
+
+    /**
+     * Load the reference data when the application starts, so that the first requests do not wait for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        get().subscribe(null, error -> log.warn("Could not load the reference data: {}", error.getMessage()));
+    }
+
+    /**
+     * Get the current version of the reference data, loading it if it was invalidated or has expired.
+     *
+     * @return the reference data.
+     */
+    public Mono<ReferenceData> get() {
+        return Mono.defer(() -> referenceData.updateAndGet(current -> current != null ? current : load()));
+    }
+
+    /**
+     * Invalidate the reference data, to be called when a type or a specialty is saved or deleted. Within a transaction, it
+     * is invalidated again once the transaction completes, so that a version loaded before the commit is not kept.
+     *
+     * @return a Mono to signal the reference data is invalidated.
+     */
+    public Mono<Void> invalidate() {
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .filter(TransactionSynchronizationManager::isSynchronizationActive)
+            .doOnNext(synchronizationManager ->
+                synchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCompletion(int status) {
+                            return Mono.fromRunnable(ReferenceDataService.this::evict);
+                        }
+                    }
+                )
+            )
+            .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+            .then(Mono.fromRunnable(this::evict));
+    }
+
+    private void evict() {
+        long invalidatedVersion = version.getAndIncrement();
+        referenceData.set(null);
+        log.debug("Invalidated the reference data version {}", invalidatedVersion);
+    }
+
+    private Mono<ReferenceData> load() {
+        return Mono
+            .defer(() -> {
+                long loadedVersion = version.get();
+                return Mono
+                    .zip(typesRepository.findAll().collectList(), specialtiesRepository.findAll().collectList())
+                    .map(tuple -> new ReferenceData(loadedVersion, tuple.getT1(), tuple.getT2()));
+            })
+            .doOnNext(loaded ->
+                log.debug(
+                    "Loaded the reference data version {}: {} types, {} specialties",
+                    loaded.getVersion(),
+                    loaded.getTypes().size(),
+                    loaded.getSpecialties().size()
+                )
+            )
+            .cache(loaded -> timeToLive, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    /**
+     * A version of the reference data, with the types and the specialties ordered by id.
+     */
+    public static final class ReferenceData {
+
+        private static final Map<String, Comparator<Types>> TYPES_ORDERS = Map.of(
+            "id",
+            Comparator.comparing(Types::getId),
+            "name",
+            Comparator.comparing(Types::getName, Comparator.nullsFirst(Comparator.naturalOrder()))
+        );
+
+        private final long version;
+
+        private final List<Types> types;
+
+        private final Map<Long, Types> typesById;
+
+        private final List<Specialties> specialties;
+
+        private final String typesETag;
+
+        ReferenceData(long version, List<Types> types, List<Specialties> specialties) {
+            this.version = version;
+            this.types = types.stream().sorted(Comparator.comparing(Types::getId)).collect(Collectors.toUnmodifiableList());
+            this.typesById =
+                Collections.unmodifiableMap(
+                    this.types.stream().collect(Collectors.toMap(Types::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new))
+                );
+            this.specialties =
+                specialties.stream().sorted(Comparator.comparing(Specialties::getId)).collect(Collectors.toUnmodifiableList());
+            this.typesETag = eTag(this.types.stream().map(type -> type.getId() + ":" + type.getName()));
+        }
+
+        /**
+         * @return the version, which changes whenever the reference data is invalidated.
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * @return all the types, ordered by id.
+         */
+        public List<Types> getTypes() {
+            return types;
+        }
+
+        /**
+         * Get a page of the types, sorted by id or by name.
+         *
+         * @param pageable the pagination information.
+         * @return the page of types, or an empty Optional if the sort is on another property.
+         */
+        public Optional<List<Types>> getTypes(Pageable pageable) {
+            if (pageable == null || pageable.isUnpaged()) {
+                return Optional.of(types);
+            }
+            Comparator<Types> order = null;
+            for (Sort.Order sortOrder : pageable.getSort()) {
+                Comparator<Types> propertyOrder = TYPES_ORDERS.get(sortOrder.getProperty());
+                if (propertyOrder == null) {
+                    return Optional.empty();
+                }
+                propertyOrder = sortOrder.isDescending() ? propertyOrder.reversed() : propertyOrder;
+                order = order == null ? propertyOrder : order.thenComparing(propertyOrder);
+            }
+            return Optional.of(
+                types
+                    .stream()
+                    .sorted(order != null ? order : TYPES_ORDERS.get("id"))
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .collect(Collectors.toList())
+            );
+        }
+
+        /**
+         * Get the types following the given id, ordered by id.
+         *
+         * @param afterId the id of the last type of the previous page, or null to start from the first one.
+         * @param size the maximum number of types.
+         * @return the types.
+         */
+        public List<Types> getTypesAfter(Long afterId, int size) {
+            return types.stream().filter(type -> afterId == null || type.getId() > afterId).limit(size).collect(Collectors.toList());
+        }
+
+        /**
+         * @return an entity tag of the types, which only changes when a type is created, updated or deleted.
+         */
+        public String getTypesETag() {
+            return typesETag;
+        }
+
+        /**
+         * @return all the specialties, ordered by id, without their vets.
+         */
+        public List<Specialties> getSpecialties() {
+            return specialties;
+        }
+
+        /**
+         * Set the type of a pet from its type id. A type which is not known yet, as it was created by another instance, only
+         * gets its id.
+         *
+         * @param pets the pet.
+         * @return the pet, with its type.
+         */
+        public Pets withType(Pets pets) {
+            Long typeId = pets.getTypeId();
+            if (typeId != null) {
+                Types type = typesById.get(typeId);
+                pets.setType(type != null ? type : new Types().id(typeId));
+            }
+            return pets;
+        }
+
+        private static String eTag(Stream<String> values) {
+            String content = values.collect(Collectors.joining("\n"));
+            return "\"" + DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)) + "\"";
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.OwnerHistory;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.SearchOutbox;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.enumeration.SearchOperation;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.SearchOutboxRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.service.SearchableEntities.SearchableEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Service writing the entity changes recorded by the {@link SearchOutboxService} to Elasticsearch.
+ * <p>
+ * The outbox is polled every {@code application.search.indexer.poll-interval}, and drained by batches: the entities of a
+ * batch are read back from the database and written with one Elasticsearch bulk request per entity type. A batch which
+ * fails is retried with an exponential backoff, then its changes are written one by one: the changes which fail while
+ * others succeed count an attempt, and are kept in the outbox as dead letters, with a failed date, after
+ * {@code application.search.indexer.max-attempts}, so that a document Elasticsearch always rejects does not hold back the
+ * others. When all of them fail, Elasticsearch is likely unavailable, and the batch is left in the outbox for the next poll.
+ * The indices are thus eventually consistent with the database, except for the dead letters, which a reindex repairs.
+ * <p>
+ * The {@link OwnerHistory} documents, which are not entities, are written by the {@link OwnerHistoryService}.
+ */
+@Service
+public class SearchIndexer {
+
+    private final Logger log = LoggerFactory.getLogger(SearchIndexer.class);
+
+    private final ApplicationProperties.Search.Indexer properties;
+
+    private final SearchOutboxRepository searchOutboxRepository;
+
+    private final SearchableEntities searchableEntities;
+
+    private final OwnerHistoryService ownerHistoryService;
+
+    private final AtomicInteger pauses = new AtomicInteger();
+
+    private Disposable polling;
+
+    public SearchIndexer(
+        ApplicationProperties applicationProperties,
+        SearchOutboxRepository searchOutboxRepository,
+        SearchableEntities searchableEntities,
+        OwnerHistoryService ownerHistoryService
+    ) {
+        this.properties = applicationProperties.getSearch().getIndexer();
+        this.searchOutboxRepository = searchOutboxRepository;
+        this.searchableEntities = searchableEntities;
+        this.ownerHistoryService = ownerHistoryService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPolling() {
+        log.debug("Polling the search outbox every {}", properties.getPollInterval());
+        polling = Flux.interval(properties.getPollInterval()).onBackpressureDrop().concatMap(tick -> drain(), 1).subscribe();
+    }
+
+    @PreDestroy
+    public void stopPolling() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    /**
+     * Stop writing the changes of the outbox to Elasticsearch, until {@link #resume()} is called. The changes keep on being
+     * recorded in the meantime.
+     */
+    public void pause() {
+        pauses.incrementAndGet();
+    }
+
+    /**
+     * Resume writing the changes of the outbox to Elasticsearch, after a {@link #pause()}.
+     */
+    public void resume() {
+        pauses.decrementAndGet();
+    }
+
+    /**
+     * Write all the changes of the outbox to Elasticsearch, unless the indexer is paused.
+     *
+     * @return the number of changes written.
+     */
+    public Mono<Long> drain() {
+        if (pauses.get() > 0) {
+            return Mono.just(0L);
+        }
+        return drainBatch()
+            .expand(count -> count == properties.getBatchSize() ? drainBatch() : Mono.empty())
+            .reduce(0L, (total, count) -> total + count)
+            .onErrorResume(e -> {
+                log.warn("Could not write the search outbox to Elasticsearch, it will be retried at the next poll", e);
+                return Mono.just(0L);
+            });
+    }
+
+    private Mono<Integer> drainBatch() {
+        return searchOutboxRepository
+            .findOldest(properties.getBatchSize())
+            .collectList()
+            .flatMap(changes -> {
+                if (changes.isEmpty()) {
+                    return Mono.just(0);
+                }
+                List<Long> changeIds = changes.stream().map(SearchOutbox::getId).collect(Collectors.toList());
+                return write(changes)
+                    .retryWhen(Retry.backoff(properties.getMaxRetries(), properties.getRetryBackoff()))
+                    .then(searchOutboxRepository.deleteAllById(changeIds))
+                    .thenReturn(changes.size())
+                    .onErrorResume(e -> {
+                        log.warn("Could not write a batch of {} changes of the search outbox, writing them one by one", changes.size(), e);
+                        return drainOneByOne(changes, e);
+                    });
+            });
+    }
+
+    private Mono<Integer> drainOneByOne(List<SearchOutbox> changes, Throwable batchError) {
+        List<Long> writtenIds = new ArrayList<>();
+        List<SearchOutbox> failedChanges = new ArrayList<>();
+        return Flux
+            .fromIterable(changes)
+            .concatMap(change ->
+                write(List.of(change))
+                    .doOnSuccess(written -> writtenIds.add(change.getId()))
+                    .onErrorResume(e -> {
+                        log.debug("Could not write the change {} of the search outbox", change, e);
+                        failedChanges.add(change);
+                        return Mono.empty();
+                    })
+            )
+            .then(
+                Mono.defer(() -> {
+                    if (writtenIds.isEmpty()) {
+                        return Mono.error(batchError);
+                    }
+                    for (SearchOutbox change : failedChanges) {
+                        change.setAttempts(change.getAttempts() + 1);
+                        if (change.getAttempts() >= properties.getMaxAttempts()) {
+                            log.error("Giving up writing the change {} of the search outbox", change);
+                            change.setFailedDate(Instant.now());
+                        }
+                    }
+                    return searchOutboxRepository
+                        .deleteAllById(writtenIds)
+                        .then(searchOutboxRepository.saveAll(failedChanges).then())
+                        .thenReturn(changes.size());
+                })
+            );
+    }
+
+    private Mono<Void> write(List<SearchOutbox> changes) {
+        // only the latest change of each entity matters, the entity is read back in its current state
+        Map<String, Map<Long, SearchOperation>> latestChanges = new LinkedHashMap<>();
+        for (SearchOutbox change : changes) {
+            latestChanges
+                .computeIfAbsent(change.getEntityType(), entityType -> new LinkedHashMap<>())
+                .put(change.getEntityId(), change.getOperation());
+        }
+        return Flux
+            .fromIterable(latestChanges.entrySet())
+            .concatMap(entry -> {
+                if (OwnerHistory.class.getSimpleName().equals(entry.getKey())) {
+                    return ownerHistoryService.write(entry.getValue());
+                }
+                return searchableEntities
+                    .get(entry.getKey())
+                    .map(entity -> write(entity, entry.getValue()))
+                    .orElseGet(() -> {
+                        log.warn("Ignoring the changes of unknown entity type {} in the search outbox", entry.getKey());
+                        return Mono.empty();
+                    });
+            })
+            .then();
+    }
+
+    private static <E> Mono<Void> write(SearchableEntity<E> entity, Map<Long, SearchOperation> changes) {
+        List<Long> indexedIds = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        changes.forEach((id, operation) -> (operation == SearchOperation.DELETE ? deletedIds : indexedIds).add(id));
+
+        Mono<Void> index = indexedIds.isEmpty()
+            ? Mono.empty()
+            : entity
+                .findAllById(indexedIds)
+                .collectList()
+                .flatMap(entities -> entities.isEmpty() ? Mono.empty() : entity.getSearchRepository().saveAll(entities).then());
+        Mono<Void> delete = deletedIds.isEmpty() ? Mono.empty() : entity.getSearchRepository().deleteAllById(deletedIds);
+        return index.then(delete);
+    }
+}
@@ -0,0 +1,100 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.SearchOutbox;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.enumeration.SearchOperation;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.EntityManager;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.SearchOutboxRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service recording the entity changes which have to be written to Elasticsearch.
+ * <p>
+ * The changes are written to the {@code search_outbox} table, within the transaction of the caller, so they are committed
+ * together with the entities. They are then written to Elasticsearch by the {@link SearchIndexer}.
+ */
+@Service
+public class SearchOutboxService {
+
+    private final Logger log = LoggerFactory.getLogger(SearchOutboxService.class);
+
+    private final SearchOutboxRepository searchOutboxRepository;
+
+    private final EntityManager entityManager;
+
+    public SearchOutboxService(SearchOutboxRepository searchOutboxRepository, EntityManager entityManager) {
+        this.searchOutboxRepository = searchOutboxRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Record that entities, or the search documents built from them, have to be (re)indexed.
+     *
+     * @param documentType the entity type, or the type of the search document.
+     * @param idExtractor gives the id of the document from an entity, nothing is recorded if it is null.
+     * @param <E> the type of the entity.
+     * @return a function recording that the given entity has to be indexed, and returning it.
+     */
+    public <E> Function<E, Mono<E>> index(Class<?> documentType, Function<E, Long> idExtractor) {
+        return entity -> index(documentType, idExtractor.apply(entity)).thenReturn(entity);
+    }
+
+    /**
+     * Record that the given entity, or search document, has to be (re)indexed.
+     *
+     * @param documentType the entity type, or the type of the search document.
+     * @param documentId the id of the document, nothing is recorded if it is null.
+     * @return a Mono to signal the change is recorded.
+     */
+    public Mono<Void> index(Class<?> documentType, Long documentId) {
+        return record(documentType, documentId, SearchOperation.INDEX);
+    }
+
+    /**
+     * Record that the given entities, or search documents, have to be (re)indexed, with a single batched insert.
+     *
+     * @param documentType the entity type, or the type of the search document.
+     * @param documentIds the ids of the documents, the null ones are ignored.
+     * @return a Mono to signal the changes are recorded.
+     */
+    public Mono<Void> indexAll(Class<?> documentType, Collection<Long> documentIds) {
+        List<SearchOutbox> changes = documentIds
+            .stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .map(documentId ->
+                new SearchOutbox().entityType(documentType.getSimpleName()).entityId(documentId).operation(SearchOperation.INDEX)
+            )
+            .collect(Collectors.toList());
+        log.trace("Recording {} of {} {}", SearchOperation.INDEX, documentType.getSimpleName(), documentIds);
+        return entityManager.insertAll(SearchOutbox.class, changes).then();
+    }
+
+    /**
+     * Record that the given entity has to be removed from its index.
+     *
+     * @param entityType the entity type.
+     * @param entityId the id of the entity.
+     * @return a Mono to signal the change is recorded.
+     */
+    public Mono<Void> delete(Class<?> entityType, Long entityId) {
+        return record(entityType, entityId, SearchOperation.DELETE);
+    }
+
+    private Mono<Void> record(Class<?> entityType, Long entityId, SearchOperation operation) {
+        if (entityId == null) {
+            return Mono.empty();
+        }
+        log.trace("Recording {} of {} {}", operation, entityType.getSimpleName(), entityId);
+        return searchOutboxRepository
+            .save(new SearchOutbox().entityType(entityType.getSimpleName()).entityId(entityId).operation(operation))
+            .then();
+    }
+}
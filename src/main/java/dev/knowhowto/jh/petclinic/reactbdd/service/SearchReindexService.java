@@ -0,0 +1,204 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.elasticsearch.core.ReactiveElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.ReactiveIndexOperations;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Service;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
+import dev.knowhowto.jh.petclinic.reactbdd.service.SearchableEntities.SearchableEntity;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.ReindexStatusDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service rebuilding the Elasticsearch indices from the database.
+ * <p>
+ * The documents are streamed from the database into a fresh versioned index, for instance {@code pets-20230201133520},
+ * with bulk requests of {@code application.search.reindex.bulk-size} documents, at most
+ * {@code application.search.reindex.concurrency} of them in flight. The alias the documents are searched with, for
+ * instance {@code pets}, is then switched atomically to the new index, and the previous index is deleted. The new index
+ * is created with the current mapping of the documents, so this is also how the existing indices get the fields mapped
+ * since they were created.
+ * <p>
+ * The {@link SearchIndexer} is paused while reindexing, so the changes made in the meantime are written to the new index
+ * once the alias is switched.
+ */
+@Service
+public class SearchReindexService {
+
+    public static final String DOCUMENTS_METER_NAME = "search.reindex.documents";
+    public static final String DOCUMENTS_METER_DESCRIPTION = "Indicates the number of documents written by the reindex job.";
+    public static final String DOCUMENTS_METER_BASE_UNIT = "documents";
+    public static final String PROGRESS_METER_NAME = "search.reindex.progress";
+    public static final String PROGRESS_METER_DESCRIPTION = "Indicates the ratio of the documents written by the current reindex job.";
+    public static final String INDEX_DIMENSION = "index";
+
+    private static final DateTimeFormatter VERSION_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss").withZone(ZoneOffset.UTC);
+
+    private final Logger log = LoggerFactory.getLogger(SearchReindexService.class);
+
+    private final ApplicationProperties.Search.Reindex properties;
+
+    private final ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
+
+    private final SearchIndexer searchIndexer;
+
+    private final Map<String, ReindexStatusDTO> statuses = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> documentCounters = new HashMap<>();
+
+    public SearchReindexService(
+        ApplicationProperties applicationProperties,
+        ReactiveElasticsearchTemplate reactiveElasticsearchTemplate,
+        SearchIndexer searchIndexer,
+        SearchableEntities searchableEntities,
+        MeterRegistry registry
+    ) {
+        this.properties = applicationProperties.getSearch().getReindex();
+        this.reactiveElasticsearchTemplate = reactiveElasticsearchTemplate;
+        this.searchIndexer = searchIndexer;
+        for (SearchableEntity<?> entity : searchableEntities.getAll()) {
+            String index = entity.getIndexName();
+            documentCounters.put(
+                index,
+                Counter
+                    .builder(DOCUMENTS_METER_NAME)
+                    .baseUnit(DOCUMENTS_METER_BASE_UNIT)
+                    .description(DOCUMENTS_METER_DESCRIPTION)
+                    .tag(INDEX_DIMENSION, index)
+                    .register(registry)
+            );
+            Gauge
+                .builder(PROGRESS_METER_NAME, statuses, currentStatuses -> getProgress(currentStatuses.get(index)))
+                .description(PROGRESS_METER_DESCRIPTION)
+                .tag(INDEX_DIMENSION, index)
+                .register(registry);
+        }
+    }
+
+    /**
+     * Start reindexing the given entities in the background, one after the other. The entities which are already being
+     * reindexed are skipped.
+     *
+     * @param entities the entities to reindex.
+     * @return the status of the reindex of each entity.
+     */
+    public List<ReindexStatusDTO> reindex(Collection<SearchableEntity<?>> entities) {
+        Instant now = Instant.now();
+        List<ReindexStatusDTO> started = new ArrayList<>();
+        List<Mono<Void>> jobs = new ArrayList<>();
+        for (SearchableEntity<?> entity : entities) {
+            String index = entity.getIndexName();
+            ReindexStatusDTO status = new ReindexStatusDTO(index, index + "-" + VERSION_FORMATTER.format(now));
+            ReindexStatusDTO current = statuses.merge(
+                index,
+                status,
+                (previous, next) -> previous.getState() == ReindexStatusDTO.State.RUNNING ? previous : next
+            );
+            started.add(current);
+            if (current == status) {
+                jobs.add(reindex(entity, status));
+            }
+        }
+        if (!jobs.isEmpty()) {
+            log.info("Reindexing {}", jobs.size() == entities.size() ? entities.size() + " indices" : jobs.size() + " of the indices");
+            searchIndexer.pause();
+            Flux.concat(jobs).doFinally(signal -> searchIndexer.resume()).subscribe();
+        }
+        return started;
+    }
+
+    /**
+     * @return the status of the latest reindex of each index.
+     */
+    public List<ReindexStatusDTO> getStatuses() {
+        List<ReindexStatusDTO> result = new ArrayList<>(statuses.values());
+        result.sort((a, b) -> a.getIndex().compareTo(b.getIndex()));
+        return Collections.unmodifiableList(result);
+    }
+
+    private <E> Mono<Void> reindex(SearchableEntity<E> entity, ReindexStatusDTO status) {
+        IndexCoordinates versionedIndex = IndexCoordinates.of(status.getVersionedIndex());
+        ReactiveIndexOperations indexOperations = reactiveElasticsearchTemplate.indexOps(versionedIndex);
+        Counter documentCounter = documentCounters.get(status.getIndex());
+        return entity
+            .count()
+            .doOnNext(status::setTotal)
+            .then(indexOperations.createSettings(entity.getEntityType()).flatMap(indexOperations::create))
+            .then(indexOperations.putMapping(entity.getEntityType()))
+            .thenMany(
+                entity
+                    .findAll()
+                    .buffer(properties.getBulkSize())
+                    .flatMap(
+                        documents -> reactiveElasticsearchTemplate.saveAll(Mono.just(documents), versionedIndex).count(),
+                        properties.getConcurrency()
+                    )
+            )
+            .doOnNext(count -> {
+                status.setIndexed(status.getIndexed() + count);
+                documentCounter.increment(count);
+            })
+            .then(switchAlias(status.getIndex(), status.getVersionedIndex()))
+            .doOnSuccess(switched -> {
+                status.setState(ReindexStatusDTO.State.COMPLETED);
+                status.setFinishedAt(Instant.now());
+                log.info("Reindexed {} documents into {}", status.getIndexed(), status.getVersionedIndex());
+            })
+            .onErrorResume(e -> {
+                log.error("Could not reindex {}", status.getIndex(), e);
+                status.setState(ReindexStatusDTO.State.FAILED);
+                status.setFinishedAt(Instant.now());
+                status.setError(e.getMessage());
+                return reactiveElasticsearchTemplate.indexOps(versionedIndex).delete().onErrorResume(deleteError -> Mono.empty()).then();
+            });
+    }
+
+    private Mono<Void> switchAlias(String alias, String versionedIndex) {
+        ReactiveIndexOperations aliasOperations = reactiveElasticsearchTemplate.indexOps(IndexCoordinates.of(alias));
+        return aliasOperations
+            .getAliases(alias)
+            .onErrorReturn(Collections.emptyMap())
+            .defaultIfEmpty(Collections.emptyMap())
+            .zipWith(aliasOperations.exists())
+            .flatMap(tuple -> {
+                Collection<String> previousIndices = tuple.getT1().keySet();
+                List<AliasAction> actions = new ArrayList<>();
+                if (previousIndices.isEmpty() && tuple.getT2()) {
+                    // the alias is still a concrete index created before the first reindex
+                    actions.add(new AliasAction.RemoveIndex(AliasActionParameters.builder().withIndices(alias).build()));
+                }
+                for (String previousIndex : previousIndices) {
+                    actions.add(new AliasAction.Remove(AliasActionParameters.builder().withIndices(previousIndex).withAliases(alias).build()));
+                }
+                actions.add(new AliasAction.Add(AliasActionParameters.builder().withIndices(versionedIndex).withAliases(alias).build()));
+                return aliasOperations
+                    .alias(new AliasActions(actions.toArray(new AliasAction[0])))
+                    .thenMany(Flux.fromIterable(previousIndices))
+                    .concatMap(previousIndex -> reactiveElasticsearchTemplate.indexOps(IndexCoordinates.of(previousIndex)).delete())
+                    .then();
+            });
+    }
+
+    private static double getProgress(ReindexStatusDTO status) {
+        return status != null ? status.getProgress() : 0;
+    }
+}
@@ -0,0 +1,194 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Component;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.OwnerHistory;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Specialties;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Types;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Vets;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Visits;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.OwnersRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.PetsRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.SpecialtiesRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.TypesRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.VetsRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.VisitsRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.OwnerHistorySearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.OwnersSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.PetsSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SpecialtiesSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.TypesSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.VetsSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.VisitsSearchRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The entities which are indexed in Elasticsearch, with their database and search repositories, and the search documents
+ * which are built from several entities, such as the {@link OwnerHistory} built from an owner with its pets and visits.
+ */
+@Component
+public class SearchableEntities {
+
+    private final Map<String, SearchableEntity<?>> entities = new LinkedHashMap<>();
+
+    public SearchableEntities(
+        OwnersRepository ownersRepository,
+        OwnersSearchRepository ownersSearchRepository,
+        PetsRepository petsRepository,
+        PetsSearchRepository petsSearchRepository,
+        SpecialtiesRepository specialtiesRepository,
+        SpecialtiesSearchRepository specialtiesSearchRepository,
+        TypesRepository typesRepository,
+        TypesSearchRepository typesSearchRepository,
+        VetsRepository vetsRepository,
+        VetsSearchRepository vetsSearchRepository,
+        VisitsRepository visitsRepository,
+        VisitsSearchRepository visitsSearchRepository,
+        OwnerHistoryService ownerHistoryService,
+        OwnerHistorySearchRepository ownerHistorySearchRepository
+    ) {
+        register(Owners.class, ownersRepository, ownersSearchRepository);
+        register(Pets.class, petsRepository, petsSearchRepository);
+        register(Specialties.class, specialtiesRepository, specialtiesSearchRepository);
+        register(Types.class, typesRepository, typesSearchRepository);
+        register(Vets.class, vetsRepository, vetsSearchRepository);
+        register(Visits.class, visitsRepository, visitsSearchRepository);
+        // one document per owner
+        entities.put(
+            OwnerHistory.class.getSimpleName(),
+            new SearchableEntity<>(
+                OwnerHistory.class,
+                ownersRepository::count,
+                ownerHistoryService::buildAll,
+                ownerHistoryService::build,
+                ownerHistorySearchRepository
+            )
+        );
+    }
+
+    private <E> void register(
+        Class<E> entityType,
+        ReactiveCrudRepository<E, Long> repository,
+        ReactiveElasticsearchRepository<E, Long> searchRepository
+    ) {
+        entities.put(entityType.getSimpleName(), new SearchableEntity<>(entityType, repository, searchRepository));
+    }
+
+    /**
+     * @return all the searchable entities.
+     */
+    public Collection<SearchableEntity<?>> getAll() {
+        return Collections.unmodifiableCollection(entities.values());
+    }
+
+    /**
+     * Get a searchable entity by the simple name of its class.
+     *
+     * @param entityName the simple name of the entity class.
+     * @return the searchable entity, if any.
+     */
+    public Optional<SearchableEntity<?>> get(String entityName) {
+        return Optional.ofNullable(entities.get(entityName));
+    }
+
+    /**
+     * Get a searchable entity by the name of its index.
+     *
+     * @param indexName the name of the index, or of the alias, of the entity.
+     * @return the searchable entity, if any.
+     */
+    public Optional<SearchableEntity<?>> getByIndexName(String indexName) {
+        return entities.values().stream().filter(entity -> entity.getIndexName().equals(indexName)).findFirst();
+    }
+
+    /**
+     * A search document type, with the functions reading its documents from the database.
+     *
+     * @param <E> the type of the search document, which is an entity unless it is built from several entities.
+     */
+    public static class SearchableEntity<E> {
+
+        private final Class<E> entityType;
+
+        private final String indexName;
+
+        private final Supplier<Mono<Long>> counter;
+
+        private final Supplier<Flux<E>> allDocuments;
+
+        private final Function<Collection<Long>, Flux<E>> documentsById;
+
+        private final ReactiveElasticsearchRepository<E, Long> searchRepository;
+
+        SearchableEntity(
+            Class<E> entityType,
+            ReactiveCrudRepository<E, Long> repository,
+            ReactiveElasticsearchRepository<E, Long> searchRepository
+        ) {
+            this(entityType, repository::count, repository::findAll, repository::findAllById, searchRepository);
+        }
+
+        SearchableEntity(
+            Class<E> entityType,
+            Supplier<Mono<Long>> counter,
+            Supplier<Flux<E>> allDocuments,
+            Function<Collection<Long>, Flux<E>> documentsById,
+            ReactiveElasticsearchRepository<E, Long> searchRepository
+        ) {
+            this.entityType = entityType;
+            this.indexName = entityType.getAnnotation(Document.class).indexName();
+            this.counter = counter;
+            this.allDocuments = allDocuments;
+            this.documentsById = documentsById;
+            this.searchRepository = searchRepository;
+        }
+
+        public Class<E> getEntityType() {
+            return entityType;
+        }
+
+        public String getIndexName() {
+            return indexName;
+        }
+
+        /**
+         * @return the number of documents in the database.
+         */
+        public Mono<Long> count() {
+            return counter.get();
+        }
+
+        /**
+         * @return all the documents, read from the database.
+         */
+        public Flux<E> findAll() {
+            return allDocuments.get();
+        }
+
+        /**
+         * Read the documents with the given ids from the database.
+         *
+         * @param ids the ids of the documents.
+         * @return the documents which exist.
+         */
+        public Flux<E> findAllById(Collection<Long> ids) {
+            return documentsById.apply(ids);
+        }
+
+        public ReactiveElasticsearchRepository<E, Long> getSearchRepository() {
+            return searchRepository;
+        }
+    }
+}
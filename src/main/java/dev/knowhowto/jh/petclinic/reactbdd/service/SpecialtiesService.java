@@ -2,6 +2,7 @@ package dev.knowhowto.jh.petclinic.reactbdd.service;
 
 import java.util.List;
 import org.springframework.data.domain.Pageable;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.SpecialtiesDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -51,17 +52,11 @@ public interface SpecialtiesService {
 
     /**
      * Returns the number of specialties available.
-     * @return the number of entities in the database.
+     * @return the number of entities in the database, or an empty Mono if the entity is configured not to be counted.
      *
      */
     Mono<Long> countAll();
 
-    /**
-     * Returns the number of specialties available in search repository.
-     *
-     */
-    Mono<Long> searchCount();
-
     /**
      * Get the "id" specialties.
      *
@@ -81,8 +76,8 @@ public interface SpecialtiesService {
     /**
      * Search for the specialties corresponding to the query.
      *
-     * @param query the query of the search.
+     * @param query the search.
      * @return the list of entities.
      */
-    Flux<SpecialtiesDTO> search(String query);
+    Flux<SpecialtiesDTO> search(SearchQuery query);
 }
@@ -1,6 +1,8 @@
 package dev.knowhowto.jh.petclinic.reactbdd.service;
 
 import org.springframework.data.domain.Pageable;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.SearchPageDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.TypesDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -41,18 +43,28 @@ public interface TypesService {
      */
     Flux<TypesDTO> findAll(Pageable pageable);
 
+    /**
+     * Get the types following the given id, ordered by id.
+     *
+     * @param afterId the id of the last entity of the previous page, or null to start from the first one.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
+     */
+    Flux<TypesDTO> findAllAfter(Long afterId, int size);
+
     /**
      * Returns the number of types available.
-     * @return the number of entities in the database.
+     * @return the number of entities in the database, or an empty Mono if the entity is configured not to be counted.
      *
      */
     Mono<Long> countAll();
 
     /**
-     * Returns the number of types available in search repository.
+     * Get an entity tag of all the types, which only changes when a type is created, updated or deleted.
      *
+     * @return the entity tag.
      */
-    Mono<Long> searchCount();
+    Mono<String> getETag();
 
     /**
      * Get the "id" types.
@@ -73,10 +85,9 @@ public interface TypesService {
     /**
      * Search for the types corresponding to the query.
      *
-     * @param query the query of the search.
-     *
+     * @param query the search.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of entities, with the number of hits of the query.
      */
-    Flux<TypesDTO> search(String query, Pageable pageable);
+    Mono<SearchPageDTO<TypesDTO>> search(SearchQuery query, Pageable pageable);
 }
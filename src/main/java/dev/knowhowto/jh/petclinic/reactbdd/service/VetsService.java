@@ -1,6 +1,8 @@
 package dev.knowhowto.jh.petclinic.reactbdd.service;
 
 import org.springframework.data.domain.Pageable;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.SearchPageDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.VetsDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -42,17 +44,20 @@ public interface VetsService {
     Flux<VetsDTO> findAll(Pageable pageable);
 
     /**
-     * Returns the number of vets available.
-     * @return the number of entities in the database.
+     * Get the vets following the given id, ordered by id.
      *
+     * @param afterId the id of the last entity of the previous page, or null to start from the first one.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
      */
-    Mono<Long> countAll();
+    Flux<VetsDTO> findAllAfter(Long afterId, int size);
 
     /**
-     * Returns the number of vets available in search repository.
+     * Returns the number of vets available.
+     * @return the number of entities in the database, or an empty Mono if the entity is configured not to be counted.
      *
      */
-    Mono<Long> searchCount();
+    Mono<Long> countAll();
 
     /**
      * Get the "id" vets.
@@ -73,10 +78,9 @@ public interface VetsService {
     /**
      * Search for the vets corresponding to the query.
      *
-     * @param query the query of the search.
-     *
+     * @param query the search.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of entities, with the number of hits of the query.
      */
-    Flux<VetsDTO> search(String query, Pageable pageable);
+    Mono<SearchPageDTO<VetsDTO>> search(SearchQuery query, Pageable pageable);
 }
@@ -1,6 +1,10 @@
 package dev.knowhowto.jh.petclinic.reactbdd.service;
 
 import org.springframework.data.domain.Pageable;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.criteria.VisitsCriteria;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.BulkItemResultDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.SearchPageDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.VisitsDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -17,6 +21,14 @@ public interface VisitsService {
      */
     Mono<VisitsDTO> save(VisitsDTO visitsDTO);
 
+    /**
+     * Save a stream of new visits, by batches.
+     *
+     * @param visitsDTOs the entities to save.
+     * @return the outcome of each entity.
+     */
+    Flux<BulkItemResultDTO<VisitsDTO>> saveAll(Flux<VisitsDTO> visitsDTOs);
+
     /**
      * Updates a visits.
      *
@@ -41,18 +53,54 @@ public interface VisitsService {
      */
     Flux<VisitsDTO> findAll(Pageable pageable);
 
+    /**
+     * Get the visits following the given id, ordered by id.
+     *
+     * @param afterId the id of the last entity of the previous page, or null to start from the first one.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
+     */
+    Flux<VisitsDTO> findAllAfter(Long afterId, int size);
+
+    /**
+     * Get the visits matching the criteria.
+     *
+     * @param criteria the filtering criteria.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    Flux<VisitsDTO> findByCriteria(VisitsCriteria criteria, Pageable pageable);
+
+    /**
+     * Get the visits matching the criteria following the given id, ordered by id.
+     *
+     * @param criteria the filtering criteria.
+     * @param afterId the id of the last entity of the previous page, or null to start from the first one.
+     * @param size the maximum number of entities to return.
+     * @return the list of entities.
+     */
+    Flux<VisitsDTO> findByCriteriaAfter(VisitsCriteria criteria, Long afterId, int size);
+
+    /**
+     * Get all the visits, streamed from a database cursor.
+     *
+     * @return the entities, read from the database as they are requested.
+     */
+    Flux<VisitsDTO> exportAll();
+
     /**
      * Returns the number of visits available.
-     * @return the number of entities in the database.
+     * @return the number of entities in the database, or an empty Mono if the entity is configured not to be counted.
      *
      */
     Mono<Long> countAll();
 
     /**
-     * Returns the number of visits available in search repository.
-     *
+     * Returns the number of visits matching the criteria.
+     * @param criteria the filtering criteria.
+     * @return the number of matching entities, counted as {@link #countAll()} if no filter is set.
      */
-    Mono<Long> searchCount();
+    Mono<Long> countByCriteria(VisitsCriteria criteria);
 
     /**
      * Get the "id" visits.
@@ -73,10 +121,9 @@ public interface VisitsService {
     /**
      * Search for the visits corresponding to the query.
      *
-     * @param query the query of the search.
-     *
+     * @param query the search.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of entities, with the number of hits of the query.
      */
-    Flux<VisitsDTO> search(String query, Pageable pageable);
+    Mono<SearchPageDTO<VisitsDTO>> search(SearchQuery query, Pageable pageable);
 }
@@ -0,0 +1,81 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the outcome of one item of a bulk request.
+ *
+ * @param <T> the type of the DTO of the item.
+ */
+public class BulkItemResultDTO<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long index;
+
+    private int status;
+
+    private T result;
+
+    private String error;
+
+    public BulkItemResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BulkItemResultDTO(long index, int status, T result, String error) {
+        this.index = index;
+        this.status = status;
+        this.result = result;
+        this.error = error;
+    }
+
+    /**
+     * @return the position of the item in the bulk request, starting at 0.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    /**
+     * @return the HTTP status the item would have been answered with by the single item endpoint.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public T getResult() {
+        return result;
+    }
+
+    public void setResult(T result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkItemResultDTO{" +
+            "index=" + getIndex() +
+            ", status=" + getStatus() +
+            ", result=" + getResult() +
+            ", error='" + getError() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,151 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service.dto;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A DTO representing the progress of the reindex of one Elasticsearch index.
+ */
+public class ReindexStatusDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED,
+    }
+
+    private String index;
+
+    private String versionedIndex;
+
+    private State state;
+
+    private Long total;
+
+    private long indexed;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private String error;
+
+    public ReindexStatusDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ReindexStatusDTO(String index, String versionedIndex) {
+        this.index = index;
+        this.versionedIndex = versionedIndex;
+        this.state = State.RUNNING;
+        this.startedAt = Instant.now();
+    }
+
+    /**
+     * @return the name of the alias the entities are searched with.
+     */
+    public String getIndex() {
+        return index;
+    }
+
+    public void setIndex(String index) {
+        this.index = index;
+    }
+
+    /**
+     * @return the name of the index the entities are written to, which the alias is switched to once completed.
+     */
+    public String getVersionedIndex() {
+        return versionedIndex;
+    }
+
+    public void setVersionedIndex(String versionedIndex) {
+        this.versionedIndex = versionedIndex;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    /**
+     * @return the number of entities in the database when the reindex started, or null if not counted yet.
+     */
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    public long getIndexed() {
+        return indexed;
+    }
+
+    public void setIndexed(long indexed) {
+        this.indexed = indexed;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    /**
+     * @return the ratio of the entities already indexed, between 0 and 1.
+     */
+    public double getProgress() {
+        if (state == State.COMPLETED) {
+            return 1;
+        }
+        return total == null || total == 0 ? 0 : Math.min(1, (double) indexed / total);
+    }
+
+    /**
+     * @return the average number of entities indexed per second.
+     */
+    public double getThroughput() {
+        long millis = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now()).toMillis();
+        return millis == 0 ? 0 : indexed * 1000.0 / millis;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ReindexStatusDTO{" +
+            "index='" + getIndex() + "'" +
+            ", versionedIndex='" + getVersionedIndex() + "'" +
+            ", state='" + getState() + "'" +
+            ", total=" + getTotal() +
+            ", indexed=" + getIndexed() +
+            ", startedAt='" + getStartedAt() + "'" +
+            ", finishedAt='" + getFinishedAt() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,72 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service.dto;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchPage;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+
+/**
+ * A page of search results, with the number of hits of the query.
+ * <p>
+ * When the tracking of the total hits is capped, the total is only a lower bound once the cap is reached.
+ *
+ * @param <T> the type of the results.
+ */
+public class SearchPageDTO<T> extends PageImpl<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean totalExact;
+
+    public SearchPageDTO(List<T> content, Pageable pageable, long total, boolean totalExact) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+    }
+
+    /**
+     * Map the hits of an Elasticsearch page.
+     *
+     * @param searchPage the page of hits.
+     * @param mapper the mapper from an entity to its DTO.
+     * @param <E> the type of the entities.
+     * @param <D> the type of the DTOs.
+     * @return the page of DTOs.
+     */
+    public static <E, D> SearchPageDTO<D> of(SearchPage<E> searchPage, Function<E, D> mapper) {
+        List<D> content = searchPage.getContent().stream().map(SearchHit::getContent).map(mapper).collect(Collectors.toList());
+        return new SearchPageDTO<>(
+            content,
+            searchPage.getPageable(),
+            searchPage.getSearchHits().getTotalHits(),
+            searchPage.getSearchHits().getTotalHitsRelation() == TotalHitsRelation.EQUAL_TO
+        );
+    }
+
+    /**
+     * @return false if the total is only a lower bound of the number of hits.
+     */
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SearchPageDTO)) {
+            return false;
+        }
+        return super.equals(o) && totalExact == ((SearchPageDTO<?>) o).totalExact;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), totalExact);
+    }
+}
@@ -2,16 +2,27 @@ package dev.knowhowto.jh.petclinic.reactbdd.service.impl;
 
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.OwnerHistory;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.criteria.OwnersCriteria;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.OwnersRepository;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.search.OwnersSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
+import dev.knowhowto.jh.petclinic.reactbdd.service.BulkSaveService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.EntityCountService;
 import dev.knowhowto.jh.petclinic.reactbdd.service.OwnersService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.SearchOutboxService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.BulkItemResultDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.OwnersDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.SearchPageDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.mapper.OwnersMapper;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -31,22 +42,67 @@ public class OwnersServiceImpl implements OwnersService {
 
     private final OwnersSearchRepository ownersSearchRepository;
 
-    public OwnersServiceImpl(OwnersRepository ownersRepository, OwnersMapper ownersMapper, OwnersSearchRepository ownersSearchRepository) {
+    private final EntityCountService entityCountService;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final BulkSaveService bulkSaveService;
+
+    private final Integer trackTotalHitsUpTo;
+
+    private final int exportFetchSize;
+
+    public OwnersServiceImpl(
+        OwnersRepository ownersRepository,
+        OwnersMapper ownersMapper,
+        OwnersSearchRepository ownersSearchRepository,
+        EntityCountService entityCountService,
+        SearchOutboxService searchOutboxService,
+        BulkSaveService bulkSaveService,
+        ApplicationProperties applicationProperties
+    ) {
         this.ownersRepository = ownersRepository;
         this.ownersMapper = ownersMapper;
         this.ownersSearchRepository = ownersSearchRepository;
+        this.entityCountService = entityCountService;
+        this.searchOutboxService = searchOutboxService;
+        this.bulkSaveService = bulkSaveService;
+        this.trackTotalHitsUpTo = applicationProperties.getSearch().getTrackTotalHitsUpTo();
+        this.exportFetchSize = applicationProperties.getExport().getFetchSize();
     }
 
     @Override
     public Mono<OwnersDTO> save(OwnersDTO ownersDTO) {
         log.debug("Request to save Owners : {}", ownersDTO);
-        return ownersRepository.save(ownersMapper.toEntity(ownersDTO)).flatMap(ownersSearchRepository::save).map(ownersMapper::toDto);
+        return ownersRepository
+            .save(ownersMapper.toEntity(ownersDTO))
+            .flatMap(searchOutboxService.index(Owners.class, Owners::getId))
+            .flatMap(searchOutboxService.index(OwnerHistory.class, Owners::getId))
+            .flatMap(savedOwners -> entityCountService.evict(Owners.class).thenReturn(savedOwners))
+            .map(ownersMapper::toDto);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<BulkItemResultDTO<OwnersDTO>> saveAll(Flux<OwnersDTO> ownersDTOs) {
+        log.debug("Request to save a bulk of Owners");
+        return bulkSaveService.saveAll(
+            Owners.class,
+            ownersDTOs,
+            OwnersDTO::getId,
+            ownersMapper,
+            owners -> searchOutboxService.indexAll(OwnerHistory.class, owners.stream().map(Owners::getId).collect(Collectors.toList()))
+        );
     }
 
     @Override
     public Mono<OwnersDTO> update(OwnersDTO ownersDTO) {
         log.debug("Request to update Owners : {}", ownersDTO);
-        return ownersRepository.save(ownersMapper.toEntity(ownersDTO)).flatMap(ownersSearchRepository::save).map(ownersMapper::toDto);
+        return ownersRepository
+            .save(ownersMapper.toEntity(ownersDTO))
+            .flatMap(searchOutboxService.index(Owners.class, Owners::getId))
+            .flatMap(searchOutboxService.index(OwnerHistory.class, Owners::getId))
+            .map(ownersMapper::toDto);
     }
 
     @Override
@@ -61,11 +117,8 @@ public class OwnersServiceImpl implements OwnersService {
                 return existingOwners;
             })
             .flatMap(ownersRepository::save)
-            .flatMap(savedOwners -> {
-                ownersSearchRepository.save(savedOwners);
-
-                return Mono.just(savedOwners);
-            })
+            .flatMap(searchOutboxService.index(Owners.class, Owners::getId))
+            .flatMap(searchOutboxService.index(OwnerHistory.class, Owners::getId))
             .map(ownersMapper::toDto);
     }
 
@@ -76,12 +129,44 @@ public class OwnersServiceImpl implements OwnersService {
         return ownersRepository.findAllBy(pageable).map(ownersMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<OwnersDTO> findAllAfter(Long afterId, int size) {
+        log.debug("Request to get Owners after id {}", afterId);
+        return ownersRepository.findAllAfter(afterId, size).map(ownersMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<OwnersDTO> findByCriteria(OwnersCriteria criteria, Pageable pageable) {
+        log.debug("Request to get all Owners by Criteria: {}", criteria);
+        return ownersRepository.findByCriteria(criteria, pageable).map(ownersMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<OwnersDTO> findByCriteriaAfter(OwnersCriteria criteria, Long afterId, int size) {
+        log.debug("Request to get Owners by Criteria: {} after id {}", criteria, afterId);
+        return ownersRepository.findByCriteriaAfter(criteria, afterId, size).map(ownersMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<OwnersDTO> exportAll() {
+        log.debug("Request to export all Owners");
+        // the rows are requested from the cursor by chunks of the fetch size, as fast as the response is written
+        return ownersRepository.streamAll(exportFetchSize).limitRate(exportFetchSize).map(ownersMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
-        return ownersRepository.count();
+        return entityCountService.count(Owners.class, ownersRepository.count());
     }
 
-    public Mono<Long> searchCount() {
-        return ownersSearchRepository.count();
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(OwnersCriteria criteria) {
+        // the count strategy only applies to the unfiltered count, the filtered counts are exact
+        return criteria.isEmpty() ? countAll() : ownersRepository.countByCriteria(criteria);
     }
 
     @Override
@@ -94,13 +179,19 @@ public class OwnersServiceImpl implements OwnersService {
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Owners : {}", id);
-        return ownersRepository.deleteById(id).then(ownersSearchRepository.deleteById(id));
+        return ownersRepository
+            .deleteById(id)
+            .then(searchOutboxService.delete(Owners.class, id))
+            .then(searchOutboxService.delete(OwnerHistory.class, id))
+            .then(entityCountService.evict(Owners.class));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<OwnersDTO> search(String query, Pageable pageable) {
+    public Mono<SearchPageDTO<OwnersDTO>> search(SearchQuery query, Pageable pageable) {
         log.debug("Request to search for a page of Owners for query {}", query);
-        return ownersSearchRepository.search(query, pageable).map(ownersMapper::toDto);
+        return ownersSearchRepository
+            .search(query, pageable, trackTotalHitsUpTo)
+            .map(searchPage -> SearchPageDTO.of(searchPage, ownersMapper::toDto));
     }
 }
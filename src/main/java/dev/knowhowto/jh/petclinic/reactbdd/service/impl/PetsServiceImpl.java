@@ -2,16 +2,29 @@ package dev.knowhowto.jh.petclinic.reactbdd.service.impl;
 
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.OwnerHistory;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.criteria.PetsCriteria;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.PetsRepository;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.search.PetsSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
+import dev.knowhowto.jh.petclinic.reactbdd.service.BulkSaveService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.EntityCountService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.OwnerHistoryService;
 import dev.knowhowto.jh.petclinic.reactbdd.service.PetsService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.ReferenceDataService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.SearchOutboxService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.BulkItemResultDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.PetsDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.SearchPageDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.mapper.PetsMapper;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -31,76 +44,188 @@ public class PetsServiceImpl implements PetsService {
 
     private final PetsSearchRepository petsSearchRepository;
 
-    public PetsServiceImpl(PetsRepository petsRepository, PetsMapper petsMapper, PetsSearchRepository petsSearchRepository) {
+    private final EntityCountService entityCountService;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final BulkSaveService bulkSaveService;
+
+    private final OwnerHistoryService ownerHistoryService;
+
+    private final ReferenceDataService referenceDataService;
+
+    private final Integer trackTotalHitsUpTo;
+
+    private final int exportFetchSize;
+
+    public PetsServiceImpl(
+        PetsRepository petsRepository,
+        PetsMapper petsMapper,
+        PetsSearchRepository petsSearchRepository,
+        EntityCountService entityCountService,
+        SearchOutboxService searchOutboxService,
+        BulkSaveService bulkSaveService,
+        OwnerHistoryService ownerHistoryService,
+        ReferenceDataService referenceDataService,
+        ApplicationProperties applicationProperties
+    ) {
         this.petsRepository = petsRepository;
         this.petsMapper = petsMapper;
         this.petsSearchRepository = petsSearchRepository;
+        this.entityCountService = entityCountService;
+        this.searchOutboxService = searchOutboxService;
+        this.bulkSaveService = bulkSaveService;
+        this.ownerHistoryService = ownerHistoryService;
+        this.referenceDataService = referenceDataService;
+        this.trackTotalHitsUpTo = applicationProperties.getSearch().getTrackTotalHitsUpTo();
+        this.exportFetchSize = applicationProperties.getExport().getFetchSize();
     }
 
     @Override
     public Mono<PetsDTO> save(PetsDTO petsDTO) {
         log.debug("Request to save Pets : {}", petsDTO);
-        return petsRepository.save(petsMapper.toEntity(petsDTO)).flatMap(petsSearchRepository::save).map(petsMapper::toDto);
+        return toDto(
+            petsRepository
+                .save(petsMapper.toEntity(petsDTO))
+                .flatMap(searchOutboxService.index(Pets.class, Pets::getId))
+                .flatMap(searchOutboxService.index(OwnerHistory.class, Pets::getOwnerId))
+                .flatMap(savedPets -> entityCountService.evict(Pets.class).thenReturn(savedPets))
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<BulkItemResultDTO<PetsDTO>> saveAll(Flux<PetsDTO> petsDTOs) {
+        log.debug("Request to save a bulk of Pets");
+        return bulkSaveService.saveAll(
+            Pets.class,
+            petsDTOs,
+            PetsDTO::getId,
+            petsMapper,
+            pets -> searchOutboxService.indexAll(OwnerHistory.class, pets.stream().map(Pets::getOwnerId).collect(Collectors.toList()))
+        );
     }
 
     @Override
     public Mono<PetsDTO> update(PetsDTO petsDTO) {
         log.debug("Request to update Pets : {}", petsDTO);
-        return petsRepository.save(petsMapper.toEntity(petsDTO)).flatMap(petsSearchRepository::save).map(petsMapper::toDto);
+        // the pets may move to another owner, whose history has to be rebuilt as well as the previous one
+        return toDto(
+            ownerHistoryService
+                .petChanged(petsDTO.getId())
+                .then(petsRepository.save(petsMapper.toEntity(petsDTO)))
+                .flatMap(searchOutboxService.index(Pets.class, Pets::getId))
+                .flatMap(searchOutboxService.index(OwnerHistory.class, Pets::getOwnerId))
+        );
     }
 
     @Override
     public Mono<PetsDTO> partialUpdate(PetsDTO petsDTO) {
         log.debug("Request to partially update Pets : {}", petsDTO);
 
-        return petsRepository
-            .findById(petsDTO.getId())
-            .map(existingPets -> {
-                petsMapper.partialUpdate(existingPets, petsDTO);
-
-                return existingPets;
-            })
-            .flatMap(petsRepository::save)
-            .flatMap(savedPets -> {
-                petsSearchRepository.save(savedPets);
-
-                return Mono.just(savedPets);
-            })
-            .map(petsMapper::toDto);
+        return toDto(
+            petsRepository
+                .findById(petsDTO.getId())
+                .flatMap(searchOutboxService.index(OwnerHistory.class, Pets::getOwnerId))
+                .map(existingPets -> {
+                    petsMapper.partialUpdate(existingPets, petsDTO);
+
+                    return existingPets;
+                })
+                .flatMap(petsRepository::save)
+                .flatMap(searchOutboxService.index(Pets.class, Pets::getId))
+                .flatMap(searchOutboxService.index(OwnerHistory.class, Pets::getOwnerId))
+        );
     }
 
     @Override
     @Transactional(readOnly = true)
     public Flux<PetsDTO> findAll(Pageable pageable) {
         log.debug("Request to get all Pets");
-        return petsRepository.findAllBy(pageable).map(petsMapper::toDto);
+        return toDtos(petsRepository.findAllBy(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<PetsDTO> findAllAfter(Long afterId, int size) {
+        log.debug("Request to get Pets after id {}", afterId);
+        return toDtos(petsRepository.findAllAfter(afterId, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<PetsDTO> findByCriteria(PetsCriteria criteria, Pageable pageable) {
+        log.debug("Request to get all Pets by Criteria: {}", criteria);
+        return toDtos(petsRepository.findByCriteria(criteria, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<PetsDTO> findByCriteriaAfter(PetsCriteria criteria, Long afterId, int size) {
+        log.debug("Request to get Pets by Criteria: {} after id {}", criteria, afterId);
+        return toDtos(petsRepository.findByCriteriaAfter(criteria, afterId, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<PetsDTO> exportAll() {
+        log.debug("Request to export all Pets");
+        // the rows are requested from the cursor by chunks of the fetch size, as fast as the response is written
+        return toDtos(petsRepository.streamAll(exportFetchSize).limitRate(exportFetchSize));
     }
 
     public Mono<Long> countAll() {
-        return petsRepository.count();
+        return entityCountService.count(Pets.class, petsRepository.count());
     }
 
-    public Mono<Long> searchCount() {
-        return petsSearchRepository.count();
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(PetsCriteria criteria) {
+        // the count strategy only applies to the unfiltered count, the filtered counts are exact
+        return criteria.isEmpty() ? countAll() : petsRepository.countByCriteria(criteria);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Mono<PetsDTO> findOne(Long id) {
         log.debug("Request to get Pets : {}", id);
-        return petsRepository.findById(id).map(petsMapper::toDto);
+        return toDto(petsRepository.findById(id));
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Pets : {}", id);
-        return petsRepository.deleteById(id).then(petsSearchRepository.deleteById(id));
+        return ownerHistoryService
+            .petChanged(id)
+            .then(petsRepository.deleteById(id))
+            .then(searchOutboxService.delete(Pets.class, id))
+            .then(entityCountService.evict(Pets.class));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<PetsDTO> search(String query, Pageable pageable) {
+    public Mono<SearchPageDTO<PetsDTO>> search(SearchQuery query, Pageable pageable) {
         log.debug("Request to search for a page of Pets for query {}", query);
-        return petsSearchRepository.search(query, pageable).map(petsMapper::toDto);
+        return referenceDataService
+            .get()
+            .flatMap(referenceData ->
+                petsSearchRepository
+                    .search(query, pageable, trackTotalHitsUpTo)
+                    .map(searchPage -> SearchPageDTO.of(searchPage, pets -> petsMapper.toDto(referenceData.withType(pets))))
+            );
+    }
+
+    /**
+     * Map a pet read from or saved to the database, filling the type from the reference data.
+     */
+    private Mono<PetsDTO> toDto(Mono<Pets> pets) {
+        return referenceDataService.get().flatMap(referenceData -> pets.map(referenceData::withType)).map(petsMapper::toDto);
+    }
+
+    /**
+     * Map the pets read from the database, which do not join their type, filling the type from the reference data.
+     */
+    private Flux<PetsDTO> toDtos(Flux<Pets> pets) {
+        return referenceDataService.get().flatMapMany(referenceData -> pets.map(referenceData::withType)).map(petsMapper::toDto);
     }
 }
@@ -13,7 +13,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Specialties;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.SpecialtiesRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SpecialtiesSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.service.EntityCountService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.ReferenceDataService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.SearchOutboxService;
 import dev.knowhowto.jh.petclinic.reactbdd.service.SpecialtiesService;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.SpecialtiesDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.mapper.SpecialtiesMapper;
@@ -35,14 +39,26 @@ public class SpecialtiesServiceImpl implements SpecialtiesService {
 
     private final SpecialtiesSearchRepository specialtiesSearchRepository;
 
+    private final EntityCountService entityCountService;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final ReferenceDataService referenceDataService;
+
     public SpecialtiesServiceImpl(
         SpecialtiesRepository specialtiesRepository,
         SpecialtiesMapper specialtiesMapper,
-        SpecialtiesSearchRepository specialtiesSearchRepository
+        SpecialtiesSearchRepository specialtiesSearchRepository,
+        EntityCountService entityCountService,
+        SearchOutboxService searchOutboxService,
+        ReferenceDataService referenceDataService
     ) {
         this.specialtiesRepository = specialtiesRepository;
         this.specialtiesMapper = specialtiesMapper;
         this.specialtiesSearchRepository = specialtiesSearchRepository;
+        this.entityCountService = entityCountService;
+        this.searchOutboxService = searchOutboxService;
+        this.referenceDataService = referenceDataService;
     }
 
     @Override
@@ -50,7 +66,9 @@ public class SpecialtiesServiceImpl implements SpecialtiesService {
         log.debug("Request to save Specialties : {}", specialtiesDTO);
         return specialtiesRepository
             .save(specialtiesMapper.toEntity(specialtiesDTO))
-            .flatMap(specialtiesSearchRepository::save)
+            .flatMap(searchOutboxService.index(Specialties.class, Specialties::getId))
+            .flatMap(savedSpecialties -> referenceDataService.invalidate().thenReturn(savedSpecialties))
+            .flatMap(savedSpecialties -> entityCountService.evict(Specialties.class).thenReturn(savedSpecialties))
             .map(specialtiesMapper::toDto);
     }
 
@@ -59,7 +77,8 @@ public class SpecialtiesServiceImpl implements SpecialtiesService {
         log.debug("Request to update Specialties : {}", specialtiesDTO);
         return specialtiesRepository
             .save(specialtiesMapper.toEntity(specialtiesDTO))
-            .flatMap(specialtiesSearchRepository::save)
+            .flatMap(searchOutboxService.index(Specialties.class, Specialties::getId))
+            .flatMap(savedSpecialties -> referenceDataService.invalidate().thenReturn(savedSpecialties))
             .map(specialtiesMapper::toDto);
     }
 
@@ -75,11 +94,8 @@ public class SpecialtiesServiceImpl implements SpecialtiesService {
                 return existingSpecialties;
             })
             .flatMap(specialtiesRepository::save)
-            .flatMap(savedSpecialties -> {
-                specialtiesSearchRepository.save(savedSpecialties);
-
-                return Mono.just(savedSpecialties);
-            })
+            .flatMap(searchOutboxService.index(Specialties.class, Specialties::getId))
+            .flatMap(savedSpecialties -> referenceDataService.invalidate().thenReturn(savedSpecialties))
             .map(specialtiesMapper::toDto);
     }
 
@@ -87,7 +103,10 @@ public class SpecialtiesServiceImpl implements SpecialtiesService {
     @Transactional(readOnly = true)
     public Flux<SpecialtiesDTO> findAll() {
         log.debug("Request to get all Specialties");
-        return specialtiesRepository.findAll().map(specialtiesMapper::toDto);
+        return referenceDataService
+            .get()
+            .flatMapMany(referenceData -> Flux.fromIterable(referenceData.getSpecialties()))
+            .map(specialtiesMapper::toDto);
     }
 
     public Flux<SpecialtiesDTO> findAllWithEagerRelationships(Pageable pageable) {
@@ -95,11 +114,7 @@ public class SpecialtiesServiceImpl implements SpecialtiesService {
     }
 
     public Mono<Long> countAll() {
-        return specialtiesRepository.count();
-    }
-
-    public Mono<Long> searchCount() {
-        return specialtiesSearchRepository.count();
+        return entityCountService.count(Specialties.class, specialtiesRepository.count());
     }
 
     @Override
@@ -112,12 +127,16 @@ public class SpecialtiesServiceImpl implements SpecialtiesService {
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Specialties : {}", id);
-        return specialtiesRepository.deleteById(id).then(specialtiesSearchRepository.deleteById(id));
+        return specialtiesRepository
+            .deleteById(id)
+            .then(searchOutboxService.delete(Specialties.class, id))
+            .then(referenceDataService.invalidate())
+            .then(entityCountService.evict(Specialties.class));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<SpecialtiesDTO> search(String query) {
+    public Flux<SpecialtiesDTO> search(SearchQuery query) {
         log.debug("Request to search Specialties for query {}", query);
         return specialtiesSearchRepository.search(query).map(specialtiesMapper::toDto);
     }
@@ -7,10 +7,17 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Types;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.TypesRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.search.TypesSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.service.EntityCountService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.OwnerHistoryService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.ReferenceDataService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.SearchOutboxService;
 import dev.knowhowto.jh.petclinic.reactbdd.service.TypesService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.SearchPageDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.TypesDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.mapper.TypesMapper;
 import reactor.core.publisher.Flux;
@@ -31,22 +38,57 @@ public class TypesServiceImpl implements TypesService {
 
     private final TypesSearchRepository typesSearchRepository;
 
-    public TypesServiceImpl(TypesRepository typesRepository, TypesMapper typesMapper, TypesSearchRepository typesSearchRepository) {
+    private final EntityCountService entityCountService;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final ReferenceDataService referenceDataService;
+
+    private final OwnerHistoryService ownerHistoryService;
+
+    private final Integer trackTotalHitsUpTo;
+
+    public TypesServiceImpl(
+        TypesRepository typesRepository,
+        TypesMapper typesMapper,
+        TypesSearchRepository typesSearchRepository,
+        EntityCountService entityCountService,
+        SearchOutboxService searchOutboxService,
+        ReferenceDataService referenceDataService,
+        OwnerHistoryService ownerHistoryService,
+        ApplicationProperties applicationProperties
+    ) {
         this.typesRepository = typesRepository;
         this.typesMapper = typesMapper;
         this.typesSearchRepository = typesSearchRepository;
+        this.entityCountService = entityCountService;
+        this.searchOutboxService = searchOutboxService;
+        this.referenceDataService = referenceDataService;
+        this.ownerHistoryService = ownerHistoryService;
+        this.trackTotalHitsUpTo = applicationProperties.getSearch().getTrackTotalHitsUpTo();
     }
 
     @Override
     public Mono<TypesDTO> save(TypesDTO typesDTO) {
         log.debug("Request to save Types : {}", typesDTO);
-        return typesRepository.save(typesMapper.toEntity(typesDTO)).flatMap(typesSearchRepository::save).map(typesMapper::toDto);
+        return typesRepository
+            .save(typesMapper.toEntity(typesDTO))
+            .flatMap(searchOutboxService.index(Types.class, Types::getId))
+            .flatMap(savedTypes -> referenceDataService.invalidate().thenReturn(savedTypes))
+            .flatMap(savedTypes -> ownerHistoryService.typeChanged(savedTypes.getId()).thenReturn(savedTypes))
+            .flatMap(savedTypes -> entityCountService.evict(Types.class).thenReturn(savedTypes))
+            .map(typesMapper::toDto);
     }
 
     @Override
     public Mono<TypesDTO> update(TypesDTO typesDTO) {
         log.debug("Request to update Types : {}", typesDTO);
-        return typesRepository.save(typesMapper.toEntity(typesDTO)).flatMap(typesSearchRepository::save).map(typesMapper::toDto);
+        return typesRepository
+            .save(typesMapper.toEntity(typesDTO))
+            .flatMap(searchOutboxService.index(Types.class, Types::getId))
+            .flatMap(savedTypes -> referenceDataService.invalidate().thenReturn(savedTypes))
+            .flatMap(savedTypes -> ownerHistoryService.typeChanged(savedTypes.getId()).thenReturn(savedTypes))
+            .map(typesMapper::toDto);
     }
 
     @Override
@@ -61,11 +103,9 @@ public class TypesServiceImpl implements TypesService {
                 return existingTypes;
             })
             .flatMap(typesRepository::save)
-            .flatMap(savedTypes -> {
-                typesSearchRepository.save(savedTypes);
-
-                return Mono.just(savedTypes);
-            })
+            .flatMap(searchOutboxService.index(Types.class, Types::getId))
+            .flatMap(savedTypes -> referenceDataService.invalidate().thenReturn(savedTypes))
+            .flatMap(savedTypes -> ownerHistoryService.typeChanged(savedTypes.getId()).thenReturn(savedTypes))
             .map(typesMapper::toDto);
     }
 
@@ -73,15 +113,32 @@ public class TypesServiceImpl implements TypesService {
     @Transactional(readOnly = true)
     public Flux<TypesDTO> findAll(Pageable pageable) {
         log.debug("Request to get all Types");
-        return typesRepository.findAllBy(pageable).map(typesMapper::toDto);
+        // the types are served from memory, unless they are sorted on a property the reference data does not sort on
+        return referenceDataService
+            .get()
+            .flatMapMany(referenceData ->
+                referenceData.getTypes(pageable).map(Flux::fromIterable).orElseGet(() -> typesRepository.findAllBy(pageable))
+            )
+            .map(typesMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<TypesDTO> findAllAfter(Long afterId, int size) {
+        log.debug("Request to get Types after id {}", afterId);
+        return referenceDataService
+            .get()
+            .flatMapMany(referenceData -> Flux.fromIterable(referenceData.getTypesAfter(afterId, size)))
+            .map(typesMapper::toDto);
     }
 
     public Mono<Long> countAll() {
-        return typesRepository.count();
+        return referenceDataService.get().map(referenceData -> (long) referenceData.getTypes().size());
     }
 
-    public Mono<Long> searchCount() {
-        return typesSearchRepository.count();
+    @Override
+    public Mono<String> getETag() {
+        return referenceDataService.get().map(ReferenceDataService.ReferenceData::getTypesETag);
     }
 
     @Override
@@ -94,13 +151,20 @@ public class TypesServiceImpl implements TypesService {
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Types : {}", id);
-        return typesRepository.deleteById(id).then(typesSearchRepository.deleteById(id));
+        return ownerHistoryService
+            .typeChanged(id)
+            .then(typesRepository.deleteById(id))
+            .then(searchOutboxService.delete(Types.class, id))
+            .then(referenceDataService.invalidate())
+            .then(entityCountService.evict(Types.class));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<TypesDTO> search(String query, Pageable pageable) {
+    public Mono<SearchPageDTO<TypesDTO>> search(SearchQuery query, Pageable pageable) {
         log.debug("Request to search for a page of Types for query {}", query);
-        return typesSearchRepository.search(query, pageable).map(typesMapper::toDto);
+        return typesSearchRepository
+            .search(query, pageable, trackTotalHitsUpTo)
+            .map(searchPage -> SearchPageDTO.of(searchPage, typesMapper::toDto));
     }
 }
@@ -7,10 +7,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Vets;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.VetsRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.search.VetsSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.service.EntityCountService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.SearchOutboxService;
 import dev.knowhowto.jh.petclinic.reactbdd.service.VetsService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.SearchPageDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.VetsDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.mapper.VetsMapper;
 import reactor.core.publisher.Flux;
@@ -31,22 +36,45 @@ public class VetsServiceImpl implements VetsService {
 
     private final VetsSearchRepository vetsSearchRepository;
 
-    public VetsServiceImpl(VetsRepository vetsRepository, VetsMapper vetsMapper, VetsSearchRepository vetsSearchRepository) {
+    private final EntityCountService entityCountService;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final Integer trackTotalHitsUpTo;
+
+    public VetsServiceImpl(
+        VetsRepository vetsRepository,
+        VetsMapper vetsMapper,
+        VetsSearchRepository vetsSearchRepository,
+        EntityCountService entityCountService,
+        SearchOutboxService searchOutboxService,
+        ApplicationProperties applicationProperties
+    ) {
         this.vetsRepository = vetsRepository;
         this.vetsMapper = vetsMapper;
         this.vetsSearchRepository = vetsSearchRepository;
+        this.entityCountService = entityCountService;
+        this.searchOutboxService = searchOutboxService;
+        this.trackTotalHitsUpTo = applicationProperties.getSearch().getTrackTotalHitsUpTo();
     }
 
     @Override
     public Mono<VetsDTO> save(VetsDTO vetsDTO) {
         log.debug("Request to save Vets : {}", vetsDTO);
-        return vetsRepository.save(vetsMapper.toEntity(vetsDTO)).flatMap(vetsSearchRepository::save).map(vetsMapper::toDto);
+        return vetsRepository
+            .save(vetsMapper.toEntity(vetsDTO))
+            .flatMap(searchOutboxService.index(Vets.class, Vets::getId))
+            .flatMap(savedVets -> entityCountService.evict(Vets.class).thenReturn(savedVets))
+            .map(vetsMapper::toDto);
     }
 
     @Override
     public Mono<VetsDTO> update(VetsDTO vetsDTO) {
         log.debug("Request to update Vets : {}", vetsDTO);
-        return vetsRepository.save(vetsMapper.toEntity(vetsDTO)).flatMap(vetsSearchRepository::save).map(vetsMapper::toDto);
+        return vetsRepository
+            .save(vetsMapper.toEntity(vetsDTO))
+            .flatMap(searchOutboxService.index(Vets.class, Vets::getId))
+            .map(vetsMapper::toDto);
     }
 
     @Override
@@ -61,11 +89,7 @@ public class VetsServiceImpl implements VetsService {
                 return existingVets;
             })
             .flatMap(vetsRepository::save)
-            .flatMap(savedVets -> {
-                vetsSearchRepository.save(savedVets);
-
-                return Mono.just(savedVets);
-            })
+            .flatMap(searchOutboxService.index(Vets.class, Vets::getId))
             .map(vetsMapper::toDto);
     }
 
@@ -76,12 +100,15 @@ public class VetsServiceImpl implements VetsService {
         return vetsRepository.findAllBy(pageable).map(vetsMapper::toDto);
     }
 
-    public Mono<Long> countAll() {
-        return vetsRepository.count();
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<VetsDTO> findAllAfter(Long afterId, int size) {
+        log.debug("Request to get Vets after id {}", afterId);
+        return vetsRepository.findAllAfter(afterId, size).map(vetsMapper::toDto);
     }
 
-    public Mono<Long> searchCount() {
-        return vetsSearchRepository.count();
+    public Mono<Long> countAll() {
+        return entityCountService.count(Vets.class, vetsRepository.count());
     }
 
     @Override
@@ -94,13 +121,18 @@ public class VetsServiceImpl implements VetsService {
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Vets : {}", id);
-        return vetsRepository.deleteById(id).then(vetsSearchRepository.deleteById(id));
+        return vetsRepository
+            .deleteById(id)
+            .then(searchOutboxService.delete(Vets.class, id))
+            .then(entityCountService.evict(Vets.class));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<VetsDTO> search(String query, Pageable pageable) {
+    public Mono<SearchPageDTO<VetsDTO>> search(SearchQuery query, Pageable pageable) {
         log.debug("Request to search for a page of Vets for query {}", query);
-        return vetsSearchRepository.search(query, pageable).map(vetsMapper::toDto);
+        return vetsSearchRepository
+            .search(query, pageable, trackTotalHitsUpTo)
+            .map(searchPage -> SearchPageDTO.of(searchPage, vetsMapper::toDto));
     }
 }
@@ -2,15 +2,26 @@ package dev.knowhowto.jh.petclinic.reactbdd.service.impl;
 
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Visits;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.criteria.VisitsCriteria;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.VisitsRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.search.VisitsSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.service.BulkSaveService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.EntityCountService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.OwnerHistoryService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.SearchOutboxService;
 import dev.knowhowto.jh.petclinic.reactbdd.service.VisitsService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.BulkItemResultDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.SearchPageDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.VisitsDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.mapper.VisitsMapper;
 import reactor.core.publisher.Flux;
@@ -31,22 +42,73 @@ public class VisitsServiceImpl implements VisitsService {
 
     private final VisitsSearchRepository visitsSearchRepository;
 
-    public VisitsServiceImpl(VisitsRepository visitsRepository, VisitsMapper visitsMapper, VisitsSearchRepository visitsSearchRepository) {
+    private final EntityCountService entityCountService;
+
+    private final SearchOutboxService searchOutboxService;
+
+    private final BulkSaveService bulkSaveService;
+
+    private final OwnerHistoryService ownerHistoryService;
+
+    private final Integer trackTotalHitsUpTo;
+
+    private final int exportFetchSize;
+
+    public VisitsServiceImpl(
+        VisitsRepository visitsRepository,
+        VisitsMapper visitsMapper,
+        VisitsSearchRepository visitsSearchRepository,
+        EntityCountService entityCountService,
+        SearchOutboxService searchOutboxService,
+        BulkSaveService bulkSaveService,
+        OwnerHistoryService ownerHistoryService,
+        ApplicationProperties applicationProperties
+    ) {
         this.visitsRepository = visitsRepository;
         this.visitsMapper = visitsMapper;
         this.visitsSearchRepository = visitsSearchRepository;
+        this.entityCountService = entityCountService;
+        this.searchOutboxService = searchOutboxService;
+        this.bulkSaveService = bulkSaveService;
+        this.ownerHistoryService = ownerHistoryService;
+        this.trackTotalHitsUpTo = applicationProperties.getSearch().getTrackTotalHitsUpTo();
+        this.exportFetchSize = applicationProperties.getExport().getFetchSize();
     }
 
     @Override
     public Mono<VisitsDTO> save(VisitsDTO visitsDTO) {
         log.debug("Request to save Visits : {}", visitsDTO);
-        return visitsRepository.save(visitsMapper.toEntity(visitsDTO)).flatMap(visitsSearchRepository::save).map(visitsMapper::toDto);
+        return visitsRepository
+            .save(visitsMapper.toEntity(visitsDTO))
+            .flatMap(searchOutboxService.index(Visits.class, Visits::getId))
+            .flatMap(savedVisits -> ownerHistoryService.petChanged(savedVisits.getPetId()).thenReturn(savedVisits))
+            .flatMap(savedVisits -> entityCountService.evict(Visits.class).thenReturn(savedVisits))
+            .map(visitsMapper::toDto);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<BulkItemResultDTO<VisitsDTO>> saveAll(Flux<VisitsDTO> visitsDTOs) {
+        log.debug("Request to save a bulk of Visits");
+        return bulkSaveService.saveAll(
+            Visits.class,
+            visitsDTOs,
+            VisitsDTO::getId,
+            visitsMapper,
+            visits -> ownerHistoryService.petsChanged(visits.stream().map(Visits::getPetId).collect(Collectors.toList()))
+        );
     }
 
     @Override
     public Mono<VisitsDTO> update(VisitsDTO visitsDTO) {
         log.debug("Request to update Visits : {}", visitsDTO);
-        return visitsRepository.save(visitsMapper.toEntity(visitsDTO)).flatMap(visitsSearchRepository::save).map(visitsMapper::toDto);
+        // the visits may move to another pets, whose owner history has to be rebuilt as well as the previous one
+        return ownerHistoryService
+            .visitChanged(visitsDTO.getId())
+            .then(visitsRepository.save(visitsMapper.toEntity(visitsDTO)))
+            .flatMap(searchOutboxService.index(Visits.class, Visits::getId))
+            .flatMap(savedVisits -> ownerHistoryService.petChanged(savedVisits.getPetId()).thenReturn(savedVisits))
+            .map(visitsMapper::toDto);
     }
 
     @Override
@@ -55,17 +117,15 @@ public class VisitsServiceImpl implements VisitsService {
 
         return visitsRepository
             .findById(visitsDTO.getId())
+            .flatMap(existingVisits -> ownerHistoryService.petChanged(existingVisits.getPetId()).thenReturn(existingVisits))
             .map(existingVisits -> {
                 visitsMapper.partialUpdate(existingVisits, visitsDTO);
 
                 return existingVisits;
             })
             .flatMap(visitsRepository::save)
-            .flatMap(savedVisits -> {
-                visitsSearchRepository.save(savedVisits);
-
-                return Mono.just(savedVisits);
-            })
+            .flatMap(searchOutboxService.index(Visits.class, Visits::getId))
+            .flatMap(savedVisits -> ownerHistoryService.petChanged(savedVisits.getPetId()).thenReturn(savedVisits))
             .map(visitsMapper::toDto);
     }
 
@@ -76,12 +136,44 @@ public class VisitsServiceImpl implements VisitsService {
         return visitsRepository.findAllBy(pageable).map(visitsMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<VisitsDTO> findAllAfter(Long afterId, int size) {
+        log.debug("Request to get Visits after id {}", afterId);
+        return visitsRepository.findAllAfter(afterId, size).map(visitsMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<VisitsDTO> findByCriteria(VisitsCriteria criteria, Pageable pageable) {
+        log.debug("Request to get all Visits by Criteria: {}", criteria);
+        return visitsRepository.findByCriteria(criteria, pageable).map(visitsMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<VisitsDTO> findByCriteriaAfter(VisitsCriteria criteria, Long afterId, int size) {
+        log.debug("Request to get Visits by Criteria: {} after id {}", criteria, afterId);
+        return visitsRepository.findByCriteriaAfter(criteria, afterId, size).map(visitsMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<VisitsDTO> exportAll() {
+        log.debug("Request to export all Visits");
+        // the rows are requested from the cursor by chunks of the fetch size, as fast as the response is written
+        return visitsRepository.streamAll(exportFetchSize).limitRate(exportFetchSize).map(visitsMapper::toDto);
+    }
+
     public Mono<Long> countAll() {
-        return visitsRepository.count();
+        return entityCountService.count(Visits.class, visitsRepository.count());
     }
 
-    public Mono<Long> searchCount() {
-        return visitsSearchRepository.count();
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(VisitsCriteria criteria) {
+        // the count strategy only applies to the unfiltered count, the filtered counts are exact
+        return criteria.isEmpty() ? countAll() : visitsRepository.countByCriteria(criteria);
     }
 
     @Override
@@ -94,13 +186,19 @@ public class VisitsServiceImpl implements VisitsService {
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Visits : {}", id);
-        return visitsRepository.deleteById(id).then(visitsSearchRepository.deleteById(id));
+        return ownerHistoryService
+            .visitChanged(id)
+            .then(visitsRepository.deleteById(id))
+            .then(searchOutboxService.delete(Visits.class, id))
+            .then(entityCountService.evict(Visits.class));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<VisitsDTO> search(String query, Pageable pageable) {
+    public Mono<SearchPageDTO<VisitsDTO>> search(SearchQuery query, Pageable pageable) {
         log.debug("Request to search for a page of Visits for query {}", query);
-        return visitsSearchRepository.search(query, pageable).map(visitsMapper::toDto);
+        return visitsSearchRepository
+            .search(query, pageable, trackTotalHitsUpTo)
+            .map(searchPage -> SearchPageDTO.of(searchPage, visitsMapper::toDto));
     }
 }
@@ -0,0 +1,76 @@
+package dev.knowhowto.jh.petclinic.reactbdd.web.rest;
+
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.OwnerHistory;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
+import dev.knowhowto.jh.petclinic.reactbdd.service.OwnerHistoryService;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.CountPaginationUtil;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.SearchQueryUtil;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller for searching the owners with their pets and visits, see {@link OwnerHistory}.
+ */
+@RestController
+@RequestMapping("/api")
+public class OwnerHistoryResource {
+
+    private final Logger log = LoggerFactory.getLogger(OwnerHistoryResource.class);
+
+    private final OwnerHistoryService ownerHistoryService;
+
+    public OwnerHistoryResource(OwnerHistoryService ownerHistoryService) {
+        this.ownerHistoryService = ownerHistoryService;
+    }
+
+    /**
+     * {@code SEARCH  /_search/owner-history?query=:query&petName=:petName&visitedFrom=:from&visitedTo=:to} : search for the
+     * owners matching the query and the filters on the owner fields, see {@link SearchQueryUtil}, which have a pet with the
+     * given name visited in the given period.
+     *
+     * @param query the text of the search on the owner fields.
+     * @param parameters the request parameters, holding the filters on the owner fields.
+     * @param petName the name of the pet.
+     * @param visitedFrom the start of the visit period, inclusive.
+     * @param visitedTo the end of the visit period, exclusive.
+     * @param pageable the pagination information.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the result of the search.
+     */
+    @GetMapping("/_search/owner-history")
+    public Mono<ResponseEntity<List<OwnerHistory>>> searchOwnerHistory(
+        @RequestParam(required = false) String query,
+        @RequestParam MultiValueMap<String, String> parameters,
+        @RequestParam(required = false) String petName,
+        @RequestParam(required = false) Instant visitedFrom,
+        @RequestParam(required = false) Instant visitedTo,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to search for a page of OwnerHistory for query {} and pet {}", query, petName);
+        SearchQuery searchQuery = SearchQueryUtil.parse(OwnerHistory.class, parameters, "ownerHistory");
+        return ownerHistoryService
+            .search(searchQuery, petName, visitedFrom, visitedTo, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            page,
+                            page.isTotalExact()
+                        )
+                    )
+                    .body(page.getContent())
+            );
+    }
+}
@@ -2,7 +2,6 @@ package dev.knowhowto.jh.petclinic.reactbdd.web.rest;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -12,24 +11,30 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.criteria.OwnersCriteria;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.OwnersRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
 import dev.knowhowto.jh.petclinic.reactbdd.service.OwnersService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.BulkItemResultDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.OwnersDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.web.rest.errors.BadRequestAlertException;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.CountPaginationUtil;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.KeysetPaginationUtil;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.SearchQueryUtil;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
@@ -82,6 +87,26 @@ public class OwnersResource {
             });
     }
 
+    /**
+     * {@code POST  /owners/_bulk} : Create many new owners.
+     * <p>
+     * The owners are read as a stream, either NDJSON or a JSON array, and saved by batches. The outcome of each owners
+     * is streamed back as soon as its batch is saved.
+     *
+     * @param ownersDTOs the ownersDTOs to create.
+     * @return the {@link Flux} of the outcome of each owners, with its index in the request and with status {@code 201 (Created)}
+     * and the new ownersDTO, or with status {@code 400 (Bad Request)} if the ownersDTO is not valid or has already an ID.
+     */
+    @PostMapping(
+        value = "/owners/_bulk",
+        consumes = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE },
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public Flux<BulkItemResultDTO<OwnersDTO>> createOwnersBulk(@RequestBody Flux<OwnersDTO> ownersDTOs) {
+        log.debug("REST request to save a bulk of Owners");
+        return ownersService.saveAll(ownersDTOs);
+    }
+
     /**
      * {@code PUT  /owners/:id} : Updates an existing owners.
      *
@@ -169,34 +194,90 @@ public class OwnersResource {
     }
 
     /**
-     * {@code GET  /owners} : get all the owners.
+     * {@code GET  /owners} : get all the owners, filtered by the criteria.
      *
+     * @param criteria the criteria which the requested entities should match.
      * @param pageable the pagination information.
-     * @param request a {@link ServerHttpRequest} request.
+     * @param request a {@link ServerHttpRequest} request, send {@code X-Total-Count: unknown} to skip the count.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of owners in body.
      */
     @GetMapping("/owners")
     public Mono<ResponseEntity<List<OwnersDTO>>> getAllOwners(
+        @org.springdoc.api.annotations.ParameterObject OwnersCriteria criteria,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
-        log.debug("REST request to get a page of Owners");
-        return ownersService
-            .countAll()
-            .zipWith(ownersService.findAll(pageable).collectList())
+        log.debug("REST request to get a page of Owners by criteria: {}", criteria);
+        Mono<Optional<Long>> count = CountPaginationUtil.isCountSkipped(request)
+            ? Mono.just(Optional.empty())
+            : ownersService.countByCriteria(criteria).map(Optional::of).defaultIfEmpty(Optional.empty());
+        return count
+            .zipWith(ownersService.findByCriteria(criteria, pageable).collectList())
             .map(countWithEntities ->
                 ResponseEntity
                     .ok()
                     .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
+                        CountPaginationUtil.generatePaginationHttpHeaders(
                             UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                            countWithEntities.getT2(),
+                            pageable,
+                            countWithEntities.getT1()
                         )
                     )
                     .body(countWithEntities.getT2())
             );
     }
 
+    /**
+     * {@code GET  /owners?after=:id} : get the owners following the given id, filtered by the criteria, using keyset pagination.
+     *
+     * @param after the id of the last owners of the previous page.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information, only the page size is used.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of owners in body.
+     */
+    @GetMapping(value = "/owners", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<OwnersDTO>>> getAllOwnersAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) Long after,
+        @org.springdoc.api.annotations.ParameterObject OwnersCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get Owners by criteria: {} after id {}", criteria, after);
+        return ownersService
+            .findByCriteriaAfter(criteria, after, pageable.getPageSize())
+            .collectList()
+            .map(entities ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            entities,
+                            pageable.getPageSize(),
+                            OwnersDTO::getId
+                        )
+                    )
+                    .body(entities)
+            );
+    }
+
+    /**
+     * {@code GET  /owners/_export} : export all the owners.
+     * <p>
+     * The owners are streamed from a database cursor as NDJSON, or as server-sent events with {@code Accept: text/event-stream}.
+     * They are read from the database as fast as the client consumes them, so the export starts at once and its memory
+     * doesn't depend on the number of owners.
+     *
+     * @return the {@link Flux} of all the owners.
+     */
+    @GetMapping(value = "/owners/_export", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE })
+    public Flux<OwnersDTO> exportOwners() {
+        log.debug("REST request to export all Owners");
+        return ownersService.exportAll();
+    }
+
     /**
      * {@code GET  /owners/:id} : get the "id" owners.
      *
@@ -232,25 +313,37 @@ public class OwnersResource {
     }
 
     /**
-     * {@code SEARCH  /_search/owners?query=:query} : search for the owners corresponding
-     * to the query.
+     * {@code SEARCH  /_search/owners?query=:query&<field>.<operator>=:value} : search for the owners matching the text
+     * of the query as you type, and the filters, see {@link SearchQueryUtil}.
      *
-     * @param query the query of the owners search.
+     * @param query the text of the owners search.
+     * @param parameters the request parameters, holding the filters.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @return the result of the search.
      */
     @GetMapping("/_search/owners")
-    public Mono<ResponseEntity<Flux<OwnersDTO>>> searchOwners(
-        @RequestParam String query,
+    public Mono<ResponseEntity<List<OwnersDTO>>> searchOwners(
+        @RequestParam(required = false) String query,
+        @RequestParam MultiValueMap<String, String> parameters,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         log.debug("REST request to search for a page of Owners for query {}", query);
+        SearchQuery searchQuery = SearchQueryUtil.parse(Owners.class, parameters, ENTITY_NAME);
         return ownersService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
-            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(ownersService.search(query, pageable)));
+            .search(searchQuery, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            page,
+                            page.isTotalExact()
+                        )
+                    )
+                    .body(page.getContent())
+            );
     }
 }
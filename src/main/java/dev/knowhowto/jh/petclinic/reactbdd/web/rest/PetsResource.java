@@ -2,7 +2,6 @@ package dev.knowhowto.jh.petclinic.reactbdd.web.rest;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -12,24 +11,30 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.criteria.PetsCriteria;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.PetsRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
 import dev.knowhowto.jh.petclinic.reactbdd.service.PetsService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.BulkItemResultDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.PetsDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.web.rest.errors.BadRequestAlertException;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.CountPaginationUtil;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.KeysetPaginationUtil;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.SearchQueryUtil;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
@@ -82,6 +87,26 @@ public class PetsResource {
             });
     }
 
+    /**
+     * {@code POST  /pets/_bulk} : Create many new pets.
+     * <p>
+     * The pets are read as a stream, either NDJSON or a JSON array, and saved by batches. The outcome of each pets
+     * is streamed back as soon as its batch is saved.
+     *
+     * @param petsDTOs the petsDTOs to create.
+     * @return the {@link Flux} of the outcome of each pets, with its index in the request and with status {@code 201 (Created)}
+     * and the new petsDTO, or with status {@code 400 (Bad Request)} if the petsDTO is not valid or has already an ID.
+     */
+    @PostMapping(
+        value = "/pets/_bulk",
+        consumes = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE },
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public Flux<BulkItemResultDTO<PetsDTO>> createPetsBulk(@RequestBody Flux<PetsDTO> petsDTOs) {
+        log.debug("REST request to save a bulk of Pets");
+        return petsService.saveAll(petsDTOs);
+    }
+
     /**
      * {@code PUT  /pets/:id} : Updates an existing pets.
      *
@@ -169,34 +194,90 @@ public class PetsResource {
     }
 
     /**
-     * {@code GET  /pets} : get all the pets.
+     * {@code GET  /pets} : get all the pets, filtered by the criteria.
      *
+     * @param criteria the criteria which the requested entities should match.
      * @param pageable the pagination information.
-     * @param request a {@link ServerHttpRequest} request.
+     * @param request a {@link ServerHttpRequest} request, send {@code X-Total-Count: unknown} to skip the count.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of pets in body.
      */
     @GetMapping("/pets")
     public Mono<ResponseEntity<List<PetsDTO>>> getAllPets(
+        @org.springdoc.api.annotations.ParameterObject PetsCriteria criteria,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
-        log.debug("REST request to get a page of Pets");
-        return petsService
-            .countAll()
-            .zipWith(petsService.findAll(pageable).collectList())
+        log.debug("REST request to get a page of Pets by criteria: {}", criteria);
+        Mono<Optional<Long>> count = CountPaginationUtil.isCountSkipped(request)
+            ? Mono.just(Optional.empty())
+            : petsService.countByCriteria(criteria).map(Optional::of).defaultIfEmpty(Optional.empty());
+        return count
+            .zipWith(petsService.findByCriteria(criteria, pageable).collectList())
             .map(countWithEntities ->
                 ResponseEntity
                     .ok()
                     .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
+                        CountPaginationUtil.generatePaginationHttpHeaders(
                             UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                            countWithEntities.getT2(),
+                            pageable,
+                            countWithEntities.getT1()
                         )
                     )
                     .body(countWithEntities.getT2())
             );
     }
 
+    /**
+     * {@code GET  /pets?after=:id} : get the pets following the given id, filtered by the criteria, using keyset pagination.
+     *
+     * @param after the id of the last pets of the previous page.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information, only the page size is used.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of pets in body.
+     */
+    @GetMapping(value = "/pets", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<PetsDTO>>> getAllPetsAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) Long after,
+        @org.springdoc.api.annotations.ParameterObject PetsCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get Pets by criteria: {} after id {}", criteria, after);
+        return petsService
+            .findByCriteriaAfter(criteria, after, pageable.getPageSize())
+            .collectList()
+            .map(entities ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            entities,
+                            pageable.getPageSize(),
+                            PetsDTO::getId
+                        )
+                    )
+                    .body(entities)
+            );
+    }
+
+    /**
+     * {@code GET  /pets/_export} : export all the pets.
+     * <p>
+     * The pets are streamed from a database cursor as NDJSON, or as server-sent events with {@code Accept: text/event-stream}.
+     * They are read from the database as fast as the client consumes them, so the export starts at once and its memory
+     * doesn't depend on the number of pets.
+     *
+     * @return the {@link Flux} of all the pets.
+     */
+    @GetMapping(value = "/pets/_export", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE })
+    public Flux<PetsDTO> exportPets() {
+        log.debug("REST request to export all Pets");
+        return petsService.exportAll();
+    }
+
     /**
      * {@code GET  /pets/:id} : get the "id" pets.
      *
@@ -232,25 +313,37 @@ public class PetsResource {
     }
 
     /**
-     * {@code SEARCH  /_search/pets?query=:query} : search for the pets corresponding
-     * to the query.
+     * {@code SEARCH  /_search/pets?query=:query&<field>.<operator>=:value} : search for the pets matching the text
+     * of the query as you type, and the filters, see {@link SearchQueryUtil}.
      *
-     * @param query the query of the pets search.
+     * @param query the text of the pets search.
+     * @param parameters the request parameters, holding the filters.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @return the result of the search.
      */
     @GetMapping("/_search/pets")
-    public Mono<ResponseEntity<Flux<PetsDTO>>> searchPets(
-        @RequestParam String query,
+    public Mono<ResponseEntity<List<PetsDTO>>> searchPets(
+        @RequestParam(required = false) String query,
+        @RequestParam MultiValueMap<String, String> parameters,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         log.debug("REST request to search for a page of Pets for query {}", query);
+        SearchQuery searchQuery = SearchQueryUtil.parse(Pets.class, parameters, ENTITY_NAME);
         return petsService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
-            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(petsService.search(query, pageable)));
+            .search(searchQuery, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            page,
+                            page.isTotalExact()
+                        )
+                    )
+                    .body(page.getContent())
+            );
     }
 }
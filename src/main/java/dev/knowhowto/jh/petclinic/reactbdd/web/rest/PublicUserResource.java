@@ -13,6 +13,7 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.search.UserSearchRepository;
 import dev.knowhowto.jh.petclinic.reactbdd.service.UserService;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.UserDTO;
@@ -77,11 +78,11 @@ public class PublicUserResource {
     /**
      * {@code SEARCH /_search/users/:query} : search for the User corresponding to the query.
      *
-     * @param query the query to search.
+     * @param query the text to search, matched as you type against the user fields.
      * @return the result of the search.
      */
     @GetMapping("/_search/users/{query}")
     public Mono<List<UserDTO>> search(@PathVariable String query) {
-        return userSearchRepository.search(query).map(UserDTO::new).collectList();
+        return userSearchRepository.search(new SearchQuery().text(query)).map(UserDTO::new).collectList();
     }
 }
@@ -0,0 +1,77 @@
+package dev.knowhowto.jh.petclinic.reactbdd.web.rest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import dev.knowhowto.jh.petclinic.reactbdd.security.AuthoritiesConstants;
+import dev.knowhowto.jh.petclinic.reactbdd.service.SearchReindexService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.SearchableEntities;
+import dev.knowhowto.jh.petclinic.reactbdd.service.SearchableEntities.SearchableEntity;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.ReindexStatusDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.web.rest.errors.BadRequestAlertException;
+
+/**
+ * REST controller for rebuilding the Elasticsearch indices from the database.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class SearchReindexResource {
+
+    private static final String ENTITY_NAME = "searchReindex";
+
+    private final Logger log = LoggerFactory.getLogger(SearchReindexResource.class);
+
+    private final SearchReindexService searchReindexService;
+
+    private final SearchableEntities searchableEntities;
+
+    public SearchReindexResource(SearchReindexService searchReindexService, SearchableEntities searchableEntities) {
+        this.searchReindexService = searchReindexService;
+        this.searchableEntities = searchableEntities;
+    }
+
+    /**
+     * {@code POST  /admin/search/reindex} : Start reindexing the given indices in the background.
+     *
+     * @param indices the names of the indices to reindex, all of them if none.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and with body the status of the reindex of each index.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if an index is unknown.
+     */
+    @PostMapping("/search/reindex")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<List<ReindexStatusDTO>> reindex(@RequestParam(required = false) List<String> indices) {
+        log.debug("REST request to reindex : {}", indices);
+        Collection<SearchableEntity<?>> entities;
+        if (indices == null || indices.isEmpty()) {
+            entities = searchableEntities.getAll();
+        } else {
+            entities = new ArrayList<>();
+            for (String index : indices) {
+                entities.add(
+                    searchableEntities
+                        .getByIndexName(index)
+                        .orElseThrow(() -> new BadRequestAlertException("Unknown index " + index, ENTITY_NAME, "indexnotfound"))
+                );
+            }
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(searchReindexService.reindex(entities));
+    }
+
+    /**
+     * {@code GET  /admin/search/reindex} : Get the status of the latest reindex of each index.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the status of the reindex of each index.
+     */
+    @GetMapping("/search/reindex")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<List<ReindexStatusDTO>> getReindexStatuses() {
+        log.debug("REST request to get the reindex statuses");
+        return ResponseEntity.ok(searchReindexService.getStatuses());
+    }
+}
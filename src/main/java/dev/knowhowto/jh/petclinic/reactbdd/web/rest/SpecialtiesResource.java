@@ -13,12 +13,16 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Specialties;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.SpecialtiesRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
 import dev.knowhowto.jh.petclinic.reactbdd.service.SpecialtiesService;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.SpecialtiesDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.web.rest.errors.BadRequestAlertException;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.SearchQueryUtil;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -218,15 +222,20 @@ public class SpecialtiesResource {
     }
 
     /**
-     * {@code SEARCH  /_search/specialties?query=:query} : search for the specialties corresponding
-     * to the query.
+     * {@code SEARCH  /_search/specialties?query=:query&<field>.<operator>=:value} : search for the specialties matching the
+     * text of the query as you type, and the filters, see {@link SearchQueryUtil}.
      *
-     * @param query the query of the specialties search.
+     * @param query the text of the specialties search.
+     * @param parameters the request parameters, holding the filters.
      * @return the result of the search.
      */
     @GetMapping("/_search/specialties")
-    public Mono<List<SpecialtiesDTO>> searchSpecialties(@RequestParam String query) {
+    public Mono<List<SpecialtiesDTO>> searchSpecialties(
+        @RequestParam(required = false) String query,
+        @RequestParam MultiValueMap<String, String> parameters
+    ) {
         log.debug("REST request to search Specialties for query {}", query);
-        return specialtiesService.search(query).collectList();
+        SearchQuery searchQuery = SearchQueryUtil.parse(Specialties.class, parameters, ENTITY_NAME);
+        return specialtiesService.search(searchQuery).collectList();
     }
 }
@@ -2,7 +2,6 @@ package dev.knowhowto.jh.petclinic.reactbdd.web.rest;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -12,24 +11,27 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Types;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.TypesRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
 import dev.knowhowto.jh.petclinic.reactbdd.service.TypesService;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.TypesDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.web.rest.errors.BadRequestAlertException;
-import reactor.core.publisher.Flux;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.CountPaginationUtil;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.KeysetPaginationUtil;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.SearchQueryUtil;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
@@ -169,10 +171,11 @@ public class TypesResource {
     }
 
     /**
-     * {@code GET  /types} : get all the types.
+     * {@code GET  /types} : get all the types, from memory. The response has the entity tag of all the types, and a
+     * request with a matching {@code If-None-Match} header gets a {@code 304 (Not Modified)}.
      *
      * @param pageable the pagination information.
-     * @param request a {@link ServerHttpRequest} request.
+     * @param request a {@link ServerHttpRequest} request, send {@code X-Total-Count: unknown} to skip the count.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of types in body.
      */
     @GetMapping("/types")
@@ -181,19 +184,68 @@ public class TypesResource {
         ServerHttpRequest request
     ) {
         log.debug("REST request to get a page of Types");
+        Mono<Optional<Long>> count = CountPaginationUtil.isCountSkipped(request)
+            ? Mono.just(Optional.empty())
+            : typesService.countAll().map(Optional::of).defaultIfEmpty(Optional.empty());
+        // the entity tag is read first, so a concurrent change can only make it older than the types, never newer
         return typesService
-            .countAll()
-            .zipWith(typesService.findAll(pageable).collectList())
-            .map(countWithEntities ->
-                ResponseEntity
-                    .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
+            .getETag()
+            .flatMap(eTag ->
+                count
+                    .zipWith(typesService.findAll(pageable).collectList())
+                    .map(countWithEntities ->
+                        ResponseEntity
+                            .ok()
+                            .eTag(eTag)
+                            .headers(
+                                CountPaginationUtil.generatePaginationHttpHeaders(
+                                    UriComponentsBuilder.fromHttpRequest(request),
+                                    countWithEntities.getT2(),
+                                    pageable,
+                                    countWithEntities.getT1()
+                                )
+                            )
+                            .body(countWithEntities.getT2())
+                    )
+            );
+    }
+
+    /**
+     * {@code GET  /types?after=:id} : get the types following the given id, using keyset pagination, from memory and with
+     * the entity tag of all the types.
+     *
+     * @param after the id of the last types of the previous page.
+     * @param pageable the pagination information, only the page size is used.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of types in body.
+     */
+    @GetMapping(value = "/types", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<TypesDTO>>> getAllTypesAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) Long after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get Types after id {}", after);
+        return typesService
+            .getETag()
+            .flatMap(eTag ->
+                typesService
+                    .findAllAfter(after, pageable.getPageSize())
+                    .collectList()
+                    .map(entities ->
+                        ResponseEntity
+                            .ok()
+                            .eTag(eTag)
+                            .headers(
+                                KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                                    UriComponentsBuilder.fromHttpRequest(request),
+                                    entities,
+                                    pageable.getPageSize(),
+                                    TypesDTO::getId
+                                )
+                            )
+                            .body(entities)
                     )
-                    .body(countWithEntities.getT2())
             );
     }
 
@@ -232,25 +284,37 @@ public class TypesResource {
     }
 
     /**
-     * {@code SEARCH  /_search/types?query=:query} : search for the types corresponding
-     * to the query.
+     * {@code SEARCH  /_search/types?query=:query&<field>.<operator>=:value} : search for the types matching the text
+     * of the query as you type, and the filters, see {@link SearchQueryUtil}.
      *
-     * @param query the query of the types search.
+     * @param query the text of the types search.
+     * @param parameters the request parameters, holding the filters.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @return the result of the search.
      */
     @GetMapping("/_search/types")
-    public Mono<ResponseEntity<Flux<TypesDTO>>> searchTypes(
-        @RequestParam String query,
+    public Mono<ResponseEntity<List<TypesDTO>>> searchTypes(
+        @RequestParam(required = false) String query,
+        @RequestParam MultiValueMap<String, String> parameters,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         log.debug("REST request to search for a page of Types for query {}", query);
+        SearchQuery searchQuery = SearchQueryUtil.parse(Types.class, parameters, ENTITY_NAME);
         return typesService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
-            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(typesService.search(query, pageable)));
+            .search(searchQuery, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            page,
+                            page.isTotalExact()
+                        )
+                    )
+                    .body(page.getContent())
+            );
     }
 }
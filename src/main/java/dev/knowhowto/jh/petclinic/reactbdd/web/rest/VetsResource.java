@@ -2,7 +2,6 @@ package dev.knowhowto.jh.petclinic.reactbdd.web.rest;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -12,24 +11,27 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Vets;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.VetsRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
 import dev.knowhowto.jh.petclinic.reactbdd.service.VetsService;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.VetsDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.web.rest.errors.BadRequestAlertException;
-import reactor.core.publisher.Flux;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.CountPaginationUtil;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.KeysetPaginationUtil;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.SearchQueryUtil;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
@@ -172,7 +174,7 @@ public class VetsResource {
      * {@code GET  /vets} : get all the vets.
      *
      * @param pageable the pagination information.
-     * @param request a {@link ServerHttpRequest} request.
+     * @param request a {@link ServerHttpRequest} request, send {@code X-Total-Count: unknown} to skip the count.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of vets in body.
      */
     @GetMapping("/vets")
@@ -181,22 +183,59 @@ public class VetsResource {
         ServerHttpRequest request
     ) {
         log.debug("REST request to get a page of Vets");
-        return vetsService
-            .countAll()
+        Mono<Optional<Long>> count = CountPaginationUtil.isCountSkipped(request)
+            ? Mono.just(Optional.empty())
+            : vetsService.countAll().map(Optional::of).defaultIfEmpty(Optional.empty());
+        return count
             .zipWith(vetsService.findAll(pageable).collectList())
             .map(countWithEntities ->
                 ResponseEntity
                     .ok()
                     .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
+                        CountPaginationUtil.generatePaginationHttpHeaders(
                             UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                            countWithEntities.getT2(),
+                            pageable,
+                            countWithEntities.getT1()
                         )
                     )
                     .body(countWithEntities.getT2())
             );
     }
 
+    /**
+     * {@code GET  /vets?after=:id} : get the vets following the given id, using keyset pagination.
+     *
+     * @param after the id of the last vets of the previous page.
+     * @param pageable the pagination information, only the page size is used.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of vets in body.
+     */
+    @GetMapping(value = "/vets", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<VetsDTO>>> getAllVetsAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) Long after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get Vets after id {}", after);
+        return vetsService
+            .findAllAfter(after, pageable.getPageSize())
+            .collectList()
+            .map(entities ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            entities,
+                            pageable.getPageSize(),
+                            VetsDTO::getId
+                        )
+                    )
+                    .body(entities)
+            );
+    }
+
     /**
      * {@code GET  /vets/:id} : get the "id" vets.
      *
@@ -232,25 +271,37 @@ public class VetsResource {
     }
 
     /**
-     * {@code SEARCH  /_search/vets?query=:query} : search for the vets corresponding
-     * to the query.
+     * {@code SEARCH  /_search/vets?query=:query&<field>.<operator>=:value} : search for the vets matching the text
+     * of the query as you type, and the filters, see {@link SearchQueryUtil}.
      *
-     * @param query the query of the vets search.
+     * @param query the text of the vets search.
+     * @param parameters the request parameters, holding the filters.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @return the result of the search.
      */
     @GetMapping("/_search/vets")
-    public Mono<ResponseEntity<Flux<VetsDTO>>> searchVets(
-        @RequestParam String query,
+    public Mono<ResponseEntity<List<VetsDTO>>> searchVets(
+        @RequestParam(required = false) String query,
+        @RequestParam MultiValueMap<String, String> parameters,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         log.debug("REST request to search for a page of Vets for query {}", query);
+        SearchQuery searchQuery = SearchQueryUtil.parse(Vets.class, parameters, ENTITY_NAME);
         return vetsService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
-            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(vetsService.search(query, pageable)));
+            .search(searchQuery, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            page,
+                            page.isTotalExact()
+                        )
+                    )
+                    .body(page.getContent())
+            );
     }
 }
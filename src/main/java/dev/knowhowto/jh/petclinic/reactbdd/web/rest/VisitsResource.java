@@ -2,7 +2,6 @@ package dev.knowhowto.jh.petclinic.reactbdd.web.rest;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -12,24 +11,30 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Visits;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.criteria.VisitsCriteria;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.VisitsRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
 import dev.knowhowto.jh.petclinic.reactbdd.service.VisitsService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.BulkItemResultDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.VisitsDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.web.rest.errors.BadRequestAlertException;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.CountPaginationUtil;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.KeysetPaginationUtil;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.SearchQueryUtil;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
@@ -82,6 +87,26 @@ public class VisitsResource {
             });
     }
 
+    /**
+     * {@code POST  /visits/_bulk} : Create many new visits.
+     * <p>
+     * The visits are read as a stream, either NDJSON or a JSON array, and saved by batches. The outcome of each visits
+     * is streamed back as soon as its batch is saved.
+     *
+     * @param visitsDTOs the visitsDTOs to create.
+     * @return the {@link Flux} of the outcome of each visits, with its index in the request and with status {@code 201 (Created)}
+     * and the new visitsDTO, or with status {@code 400 (Bad Request)} if the visitsDTO is not valid or has already an ID.
+     */
+    @PostMapping(
+        value = "/visits/_bulk",
+        consumes = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE },
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public Flux<BulkItemResultDTO<VisitsDTO>> createVisitsBulk(@RequestBody Flux<VisitsDTO> visitsDTOs) {
+        log.debug("REST request to save a bulk of Visits");
+        return visitsService.saveAll(visitsDTOs);
+    }
+
     /**
      * {@code PUT  /visits/:id} : Updates an existing visits.
      *
@@ -169,34 +194,90 @@ public class VisitsResource {
     }
 
     /**
-     * {@code GET  /visits} : get all the visits.
+     * {@code GET  /visits} : get all the visits, filtered by the criteria.
      *
+     * @param criteria the criteria which the requested entities should match.
      * @param pageable the pagination information.
-     * @param request a {@link ServerHttpRequest} request.
+     * @param request a {@link ServerHttpRequest} request, send {@code X-Total-Count: unknown} to skip the count.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of visits in body.
      */
     @GetMapping("/visits")
     public Mono<ResponseEntity<List<VisitsDTO>>> getAllVisits(
+        @org.springdoc.api.annotations.ParameterObject VisitsCriteria criteria,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
-        log.debug("REST request to get a page of Visits");
-        return visitsService
-            .countAll()
-            .zipWith(visitsService.findAll(pageable).collectList())
+        log.debug("REST request to get a page of Visits by criteria: {}", criteria);
+        Mono<Optional<Long>> count = CountPaginationUtil.isCountSkipped(request)
+            ? Mono.just(Optional.empty())
+            : visitsService.countByCriteria(criteria).map(Optional::of).defaultIfEmpty(Optional.empty());
+        return count
+            .zipWith(visitsService.findByCriteria(criteria, pageable).collectList())
             .map(countWithEntities ->
                 ResponseEntity
                     .ok()
                     .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
+                        CountPaginationUtil.generatePaginationHttpHeaders(
                             UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                            countWithEntities.getT2(),
+                            pageable,
+                            countWithEntities.getT1()
                         )
                     )
                     .body(countWithEntities.getT2())
             );
     }
 
+    /**
+     * {@code GET  /visits?after=:id} : get the visits following the given id, filtered by the criteria, using keyset pagination.
+     *
+     * @param after the id of the last visits of the previous page.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information, only the page size is used.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of visits in body.
+     */
+    @GetMapping(value = "/visits", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<VisitsDTO>>> getAllVisitsAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) Long after,
+        @org.springdoc.api.annotations.ParameterObject VisitsCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get Visits by criteria: {} after id {}", criteria, after);
+        return visitsService
+            .findByCriteriaAfter(criteria, after, pageable.getPageSize())
+            .collectList()
+            .map(entities ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            entities,
+                            pageable.getPageSize(),
+                            VisitsDTO::getId
+                        )
+                    )
+                    .body(entities)
+            );
+    }
+
+    /**
+     * {@code GET  /visits/_export} : export all the visits.
+     * <p>
+     * The visits are streamed from a database cursor as NDJSON, or as server-sent events with {@code Accept: text/event-stream}.
+     * They are read from the database as fast as the client consumes them, so the export starts at once and its memory
+     * doesn't depend on the number of visits.
+     *
+     * @return the {@link Flux} of all the visits.
+     */
+    @GetMapping(value = "/visits/_export", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE })
+    public Flux<VisitsDTO> exportVisits() {
+        log.debug("REST request to export all Visits");
+        return visitsService.exportAll();
+    }
+
     /**
      * {@code GET  /visits/:id} : get the "id" visits.
      *
@@ -232,25 +313,37 @@ public class VisitsResource {
     }
 
     /**
-     * {@code SEARCH  /_search/visits?query=:query} : search for the visits corresponding
-     * to the query.
+     * {@code SEARCH  /_search/visits?query=:query&<field>.<operator>=:value} : search for the visits matching the text
+     * of the query as you type, and the filters, see {@link SearchQueryUtil}.
      *
-     * @param query the query of the visits search.
+     * @param query the text of the visits search.
+     * @param parameters the request parameters, holding the filters.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @return the result of the search.
      */
     @GetMapping("/_search/visits")
-    public Mono<ResponseEntity<Flux<VisitsDTO>>> searchVisits(
-        @RequestParam String query,
+    public Mono<ResponseEntity<List<VisitsDTO>>> searchVisits(
+        @RequestParam(required = false) String query,
+        @RequestParam MultiValueMap<String, String> parameters,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         log.debug("REST request to search for a page of Visits for query {}", query);
+        SearchQuery searchQuery = SearchQueryUtil.parse(Visits.class, parameters, ENTITY_NAME);
         return visitsService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
-            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(visitsService.search(query, pageable)));
+            .search(searchQuery, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        CountPaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            page,
+                            page.isTotalExact()
+                        )
+                    )
+                    .body(page.getContent())
+            );
     }
 }
@@ -0,0 +1,109 @@
+package dev.knowhowto.jh.petclinic.reactbdd.web.util;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.util.UriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * Utility class for handling offset pagination when the total number of entities may be unknown.
+ * <p>
+ * Clients which do not need the total can send {@code X-Total-Count: unknown} to skip the count query. The total is then
+ * reported as {@code unknown}, and the {@code Link} header only contains the pages which can be derived without it.
+ */
+public final class CountPaginationUtil {
+
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    public static final String UNKNOWN_TOTAL_COUNT = "unknown";
+
+    public static final String TOTAL_COUNT_RELATION_HEADER = "X-Total-Count-Relation";
+
+    public static final String GREATER_THAN_OR_EQUAL_TO_RELATION = "gte";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private CountPaginationUtil() {}
+
+    /**
+     * Tells whether the client asked to skip the total count.
+     *
+     * @param request a {@link ServerHttpRequest} request.
+     * @return true if the request carries {@code X-Total-Count: unknown}.
+     */
+    public static boolean isCountSkipped(ServerHttpRequest request) {
+        return UNKNOWN_TOTAL_COUNT.equalsIgnoreCase(request.getHeaders().getFirst(TOTAL_COUNT_HEADER));
+    }
+
+    /**
+     * Generate pagination headers, with the total count if it is known.
+     *
+     * @param uriBuilder The URI builder.
+     * @param content the entities of the current page.
+     * @param pageable the pagination information.
+     * @param total the total number of entities, if it was counted.
+     * @param <T> The type of the entities.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generatePaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        List<T> content,
+        Pageable pageable,
+        Optional<Long> total
+    ) {
+        if (total.isPresent()) {
+            return PaginationUtil.generatePaginationHttpHeaders(uriBuilder, new PageImpl<>(content, pageable, total.get()));
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(TOTAL_COUNT_HEADER, UNKNOWN_TOTAL_COUNT);
+        int pageNumber = pageable.getPageNumber();
+        int pageSize = pageable.getPageSize();
+        StringBuilder link = new StringBuilder();
+        if (content.size() >= pageSize) {
+            link.append(prepareLink(uriBuilder, pageNumber + 1, pageSize, "next")).append(",");
+        }
+        if (pageNumber > 0) {
+            link.append(prepareLink(uriBuilder, pageNumber - 1, pageSize, "prev")).append(",");
+        }
+        link.append(prepareLink(uriBuilder, 0, pageSize, "first"));
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    /**
+     * Generate pagination headers for a page whose total may only be a lower bound, in which case
+     * {@code X-Total-Count-Relation: gte} is added.
+     *
+     * @param uriBuilder The URI builder.
+     * @param page the page.
+     * @param totalExact whether the total of the page is exact.
+     * @param <T> The type of the entities.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generatePaginationHttpHeaders(UriComponentsBuilder uriBuilder, Page<T> page, boolean totalExact) {
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
+        if (!totalExact) {
+            headers.add(TOTAL_COUNT_RELATION_HEADER, GREATER_THAN_OR_EQUAL_TO_RELATION);
+        }
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        return MessageFormat.format(HEADER_LINK_FORMAT, preparePageUri(uriBuilder, pageNumber, pageSize), relType);
+    }
+
+    private static String preparePageUri(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize) {
+        return uriBuilder
+            .replaceQueryParam("page", Integer.toString(pageNumber))
+            .replaceQueryParam("size", Integer.toString(pageSize))
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+    }
+}
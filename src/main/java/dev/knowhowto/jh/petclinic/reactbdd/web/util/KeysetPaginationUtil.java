@@ -0,0 +1,51 @@
+package dev.knowhowto.jh.petclinic.reactbdd.web.util;
+
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (seek) pagination.
+ * <p>
+ * Instead of a page number, the client sends the id of the last entity it received with {@code after}. The next page
+ * is advertised through a {@code Link} header with {@code rel="next"}, which is omitted once the last page is reached.
+ * No total count is computed, so the cost of a page does not depend on its depth.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String AFTER_PARAMETER = "after";
+
+    private static final String HEADER_LINK_FORMAT = "<%s>; rel=\"%s\"";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Generate keyset pagination headers.
+     *
+     * @param uriBuilder The URI builder.
+     * @param content the entities of the current page.
+     * @param size the requested page size.
+     * @param idExtractor the function which gives the id of an entity.
+     * @param <T> The type of the entities.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        List<T> content,
+        int size,
+        Function<T, Long> idExtractor
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!content.isEmpty() && content.size() >= size) {
+            Long lastId = idExtractor.apply(content.get(content.size() - 1));
+            String next = uriBuilder
+                .replaceQueryParam("page")
+                .replaceQueryParam(AFTER_PARAMETER, lastId)
+                .replaceQueryParam("size", size)
+                .toUriString();
+            headers.add(HttpHeaders.LINK, String.format(HEADER_LINK_FORMAT, next, "next"));
+        }
+        return headers;
+    }
+}
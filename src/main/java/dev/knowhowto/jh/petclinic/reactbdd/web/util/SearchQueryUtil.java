@@ -0,0 +1,71 @@
+package dev.knowhowto.jh.petclinic.reactbdd.web.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQuery;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SearchQueryBuilder;
+import dev.knowhowto.jh.petclinic.reactbdd.web.rest.errors.BadRequestAlertException;
+
+/**
+ * Utility class for reading a {@link SearchQuery} from the request parameters of a search endpoint.
+ * <p>
+ * {@code query} is the free text, {@code fields} the comma separated fields it is matched against, and each
+ * {@code <field>.<operator>=<value>} parameter is a filter, e.g. {@code name.prefix=Le} or
+ * {@code birthdate.greaterThanOrEqual=2020-01-01}. The other parameters, such as the pagination ones, are ignored.
+ */
+public final class SearchQueryUtil {
+
+    public static final String QUERY_PARAMETER = "query";
+
+    public static final String FIELDS_PARAMETER = "fields";
+
+    private SearchQueryUtil() {}
+
+    /**
+     * Read a search from request parameters.
+     *
+     * @param documentType the class of the searched documents.
+     * @param parameters the request parameters.
+     * @param entityName the name of the entity, for the error.
+     * @return the search.
+     * @throws BadRequestAlertException if a filter is unknown, or not valid for the fields of the documents.
+     */
+    public static SearchQuery parse(Class<?> documentType, MultiValueMap<String, String> parameters, String entityName) {
+        SearchQuery query = new SearchQuery().text(parameters.getFirst(QUERY_PARAMETER));
+        List<String> fields = parameters.getOrDefault(FIELDS_PARAMETER, List.of());
+        query.fields(
+            fields
+                .stream()
+                .flatMap(value -> Arrays.stream(StringUtils.commaDelimitedListToStringArray(value)))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toList())
+        );
+        for (Map.Entry<String, List<String>> parameter : parameters.entrySet()) {
+            int separator = parameter.getKey().lastIndexOf('.');
+            if (separator < 0) {
+                continue;
+            }
+            String field = parameter.getKey().substring(0, separator);
+            String operatorName = parameter.getKey().substring(separator + 1);
+            SearchQuery.Operator operator = SearchQuery.Operator
+                .fromParameterName(operatorName)
+                .orElseThrow(() -> invalid("Unknown filter operator " + operatorName, entityName));
+            parameter.getValue().forEach(value -> query.filter(field, operator, value));
+        }
+        try {
+            SearchQueryBuilder.build(documentType, query);
+        } catch (IllegalArgumentException e) {
+            throw invalid(e.getMessage(), entityName);
+        }
+        return query;
+    }
+
+    private static BadRequestAlertException invalid(String message, String entityName) {
+        return new BadRequestAlertException("Invalid search: " + message, entityName, "invalidsearch");
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Utility classes used by Spring MVC REST controllers.
+ */
+package dev.knowhowto.jh.petclinic.reactbdd.web.util;
@@ -0,0 +1,193 @@
+import _root_.io.gatling.core.scenario.Simulation
+import ch.qos.logback.classic.{Level, LoggerContext}
+import io.gatling.core.Predef._
+import io.gatling.http.Predef._
+import org.slf4j.LoggerFactory
+
+import scala.concurrent.duration._
+import scala.util.Random
+
+/**
+ * Performance test of a mixed workload, against the volumes seeded by the data generator
+ * (application.data-generator.enabled=true): deep pagination, search, bulk writes and login storms run together, and
+ * the latency percentiles of each of them are asserted.
+ *
+ * The volumes, the rates and the thresholds (in ms) are configured with system properties, for instance
+ * -Downers=1000000 -Dpets=3000000 -Dvisits=20000000 -DsearchUsers=100 -DsearchP99=800
+ */
+class MixedWorkloadGatlingTest extends Simulation {
+
+    val context: LoggerContext = LoggerFactory.getILoggerFactory.asInstanceOf[LoggerContext]
+    // Log all HTTP requests
+    //context.getLogger("io.gatling.http").setLevel(Level.valueOf("TRACE"))
+    // Log failed HTTP requests
+    //context.getLogger("io.gatling.http").setLevel(Level.valueOf("DEBUG"))
+
+    val baseURL = Option(System.getProperty("baseURL")) getOrElse """http://localhost:8080"""
+
+    // the volumes of the data generator
+    val owners = java.lang.Long.getLong("owners", 1000000L)
+    val pets = java.lang.Long.getLong("pets", 3000000L)
+    val visits = java.lang.Long.getLong("visits", 20000000L)
+    val generatedUsers = Integer.getInteger("generatedUsers", 1000)
+    val generatedUserPassword = Option(System.getProperty("generatedUserPassword")) getOrElse "loadtest"
+
+    val pageSize = Integer.getInteger("pageSize", 20)
+    val bulkSize = Integer.getInteger("bulkSize", 100)
+    val duration = Integer.getInteger("duration", 5).toInt minutes
+
+    val httpConf = http
+        .baseUrl(baseURL)
+        .inferHtmlResources()
+        .acceptHeader("*/*")
+        .acceptEncodingHeader("gzip, deflate")
+        .acceptLanguageHeader("fr,fr-fr;q=0.8,en-us;q=0.5,en;q=0.3")
+        .connectionHeader("keep-alive")
+        .userAgentHeader("Mozilla/5.0 (Macintosh; Intel Mac OS X 10.10; rv:33.0) Gecko/20100101 Firefox/33.0")
+        .silentResources // Silence all resources like css or css so they don't clutter the results
+
+    val headers_http_authentication = Map(
+        "Content-Type" -> """application/json""",
+        "Accept" -> """application/json"""
+    )
+
+    val headers_http_authenticated = Map(
+        "Accept" -> """application/json""",
+        "Authorization" -> "${access_token}"
+    )
+
+    val headers_http_authenticated_uncounted = headers_http_authenticated + ("X-Total-Count" -> "unknown")
+
+    val headers_http_authenticated_ndjson = Map(
+        "Content-Type" -> """application/x-ndjson""",
+        "Accept" -> """application/x-ndjson""",
+        "Authorization" -> "${access_token}"
+    )
+
+    val lastNames = Array("Franklin", "Davis", "Rodriquez", "McTavish", "Coleman", "Black", "Escobito", "Schroeder")
+    val petNames = Array("Leo", "Basil", "Rosy", "Jewel", "Iggy", "George", "Samantha", "Max")
+    val descriptions = Array("rabies shot", "neutered", "spayed", "checkup", "dental cleaning", "vaccination")
+
+    def randomId(count: Long): Long = 1 + (Random.nextDouble() * count).toLong
+
+    val paginationFeeder = Iterator.continually(Map(
+        "ownersPage" -> Random.nextInt(math.max(1L, owners / pageSize.toLong).toInt),
+        "afterVisitId" -> randomId(visits)
+    ))
+
+    val searchFeeder = Iterator.continually(Map(
+        "lastName" -> lastNames(Random.nextInt(lastNames.length)),
+        "petName" -> petNames(Random.nextInt(petNames.length)),
+        "birthYear" -> (2003 + Random.nextInt(20))
+    ))
+
+    val bulkFeeder = Iterator.continually(Map(
+        "visits" -> (1 to bulkSize.toInt).map(_ =>
+            s"""{"visitdate":"2023-01-${"%02d".format(1 + Random.nextInt(28))}T10:00:00Z","description":"${descriptions(Random.nextInt(descriptions.length))}","pet":{"id":${randomId(pets)}}}"""
+        ).mkString("\n")
+    ))
+
+    val loginFeeder = Iterator.continually(Map(
+        "login" -> "loadtest-%07d".format(Random.nextInt(generatedUsers.toInt))
+    ))
+
+    val authenticate = exec(http("Authentication")
+        .post("/api/authenticate")
+        .headers(headers_http_authentication)
+        .body(StringBody("""{"username":"admin", "password":"admin"}""")).asJson
+        .check(header("Authorization").saveAs("access_token"))).exitHereIfFailed
+
+    val deepPagination = scenario("Deep pagination")
+        .exec(authenticate)
+        .during(duration) {
+            feed(paginationFeeder)
+            .exec(http("Get a deep page of owners")
+            .get("/api/owners?page=${ownersPage}&size=" + pageSize + "&sort=id,asc")
+            .headers(headers_http_authenticated_uncounted)
+            .check(status.is(200)))
+            .pause(1 second, 3 seconds)
+            .exec(http("Get the visits after an id")
+            .get("/api/visits?after=${afterVisitId}&size=" + pageSize)
+            .headers(headers_http_authenticated)
+            .check(status.is(200))
+            .check(headerRegex("Link", """<([^>]*)>; rel="next"""").optional.saveAs("next_visits_url")))
+            .repeat(5) {
+                doIf("${next_visits_url.exists()}") {
+                    exec(http("Get the next visits")
+                    .get("${next_visits_url}")
+                    .headers(headers_http_authenticated)
+                    .check(status.is(200))
+                    .check(headerRegex("Link", """<([^>]*)>; rel="next"""").optional.saveAs("next_visits_url")))
+                }
+            }
+            .exec(session => session.remove("next_visits_url"))
+            .pause(1 second, 3 seconds)
+        }
+
+    val search = scenario("Search")
+        .exec(authenticate)
+        .during(duration) {
+            feed(searchFeeder)
+            .exec(http("Search owners")
+            .get("/api/_search/owners?query=${lastName}&size=" + pageSize)
+            .headers(headers_http_authenticated)
+            .check(status.is(200)))
+            .pause(1 second, 2 seconds)
+            .exec(http("Search pets with filters")
+            .get("/api/_search/pets?query=${petName}&birthdate.greaterThanOrEqual=${birthYear}-01-01&size=" + pageSize)
+            .headers(headers_http_authenticated)
+            .check(status.is(200)))
+            .pause(1 second, 2 seconds)
+            .exec(http("Search owner history")
+            .get("/api/_search/owner-history?query=${lastName}&petName=${petName}&visitedFrom=2022-01-01T00:00:00Z&size=" + pageSize)
+            .headers(headers_http_authenticated)
+            .check(status.is(200)))
+            .pause(1 second, 2 seconds)
+        }
+
+    val bulkWrites = scenario("Bulk writes")
+        .exec(authenticate)
+        .during(duration) {
+            feed(bulkFeeder)
+            .exec(http("Create visits in bulk")
+            .post("/api/visits/_bulk")
+            .headers(headers_http_authenticated_ndjson)
+            .body(StringBody("${visits}"))
+            .check(status.is(200))
+            .check(regex(""""status":(400|500)""").notExists))
+            .pause(2 seconds, 5 seconds)
+        }
+
+    val loginStorm = scenario("Login storm")
+        .feed(loginFeeder)
+        .exec(http("Authentication of a generated user")
+        .post("/api/authenticate")
+        .headers(headers_http_authentication)
+        .body(StringBody("""{"username":"${login}", "password":"""" + generatedUserPassword + """"}""")).asJson
+        .check(status.is(200)))
+
+    setUp(
+        deepPagination.inject(rampUsers(Integer.getInteger("paginationUsers", 50)) during (1 minute)),
+        search.inject(rampUsers(Integer.getInteger("searchUsers", 50)) during (1 minute)),
+        bulkWrites.inject(rampUsers(Integer.getInteger("bulkUsers", 10)) during (1 minute)),
+        // bursts of logins, on top of the steady workload
+        loginStorm.inject(
+            nothingFor(1 minute),
+            atOnceUsers(Integer.getInteger("loginStormUsers", 200)),
+            nothingFor(1 minute),
+            constantUsersPerSec(Integer.getInteger("loginRate", 20).toDouble) during (1 minute)
+        )
+    ).protocols(httpConf)
+    .assertions(
+        global.failedRequests.percent.lt(Integer.getInteger("maxFailedPercent", 1).toDouble),
+        details("Get a deep page of owners").responseTime.percentile3.lt(Integer.getInteger("paginationP95", 500)),
+        details("Get a deep page of owners").responseTime.percentile4.lt(Integer.getInteger("paginationP99", 1000)),
+        details("Get the next visits").responseTime.percentile4.lt(Integer.getInteger("keysetP99", 200)),
+        details("Search owners").responseTime.percentile4.lt(Integer.getInteger("searchP99", 800)),
+        details("Search pets with filters").responseTime.percentile4.lt(Integer.getInteger("searchP99", 800)),
+        details("Search owner history").responseTime.percentile4.lt(Integer.getInteger("searchP99", 800)),
+        details("Create visits in bulk").responseTime.percentile4.lt(Integer.getInteger("bulkP99", 3000)),
+        details("Authentication of a generated user").responseTime.percentile3.lt(Integer.getInteger("loginP95", 1000)),
+        details("Authentication of a generated user").responseTime.percentile4.lt(Integer.getInteger("loginP99", 2000))
+    )
+}
@@ -0,0 +1,74 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import dev.knowhowto.jh.petclinic.reactbdd.IntegrationTest;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
+
+/**
+ * Integration tests for {@link EntityManager}.
+ */
+@IntegrationTest
+class EntityManagerIT {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private OwnersRepository ownersRepository;
+
+    @Autowired
+    private R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    @AfterEach
+    public void cleanup() {
+        entityManager.deleteAll(Owners.class).block();
+    }
+
+    @Test
+    void insertAllSetsTheGeneratedIdsInOrder() {
+        List<Owners> owners = IntStream.range(0, 3).mapToObj(EntityManagerIT::createOwners).collect(Collectors.toList());
+
+        List<Owners> inserted = entityManager.insertAll(Owners.class, owners).collectList().block();
+
+        assertThat(inserted).containsExactlyElementsOf(owners);
+        assertThat(inserted).extracting(Owners::getId).doesNotContainNull().doesNotHaveDuplicates().isSorted();
+        for (Owners insertedOwners : inserted) {
+            assertThat(ownersRepository.findById(insertedOwners.getId()).block())
+                .extracting(Owners::getLastname)
+                .isEqualTo(insertedOwners.getLastname());
+        }
+    }
+
+    @Test
+    void insertAllOfNoEntityDoesNothing() {
+        assertThat(entityManager.insertAll(Owners.class, List.of()).collectList().block()).isEmpty();
+    }
+
+    @Test
+    void insertAllFailsIfSomeIdsAreMissing() {
+        RelationalPersistentEntity<?> entity = r2dbcEntityTemplate
+            .getConverter()
+            .getMappingContext()
+            .getRequiredPersistentEntity(Owners.class);
+        List<Owners> owners = List.of(createOwners(0), createOwners(1));
+
+        assertThatThrownBy(() -> EntityManager.setGeneratedIds(entity, owners, List.of(1L)))
+            .isInstanceOf(IncorrectResultSizeDataAccessException.class);
+        assertThat(owners).extracting(Owners::getId).containsOnlyNulls();
+    }
+
+    private static Owners createOwners(int i) {
+        return new Owners().firstname("First" + i).lastname("Last" + i).address("Address").city("City").telephone("0123456789");
+    }
+}
@@ -0,0 +1,122 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import dev.knowhowto.jh.petclinic.reactbdd.IntegrationTest;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Visits;
+
+/**
+ * Integration tests of the indexes of the queries of the repositories, created by the {@code added_indexes} changelog.
+ * <p>
+ * The SQL is the one the repositories run: the value of their {@link Query} annotations, and the selects of their
+ * {@link EntityManager.SelectTemplate}. The plans are read with EXPLAIN, which H2 returns as a single SQL statement
+ * annotated with the chosen indexes, and MariaDB as a table with the possible and the chosen keys. Where the database may
+ * also have created an index for a foreign key, the plan is only checked not to scan the table.
+ */
+@IntegrationTest
+class IndexesIT {
+
+    private static final PageRequest PAGE = PageRequest.of(2, 20);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DatabaseClient db;
+
+    @Test
+    void findPetsByOwnerUsesAnIndex() throws Exception {
+        assertNoTableScan(explain(queryOf(PetsRepository.class, "findByOwner", Long.class), Map.of("id", 1L)));
+    }
+
+    @Test
+    void findPetsByOwnerInUsesAnIndex() throws Exception {
+        assertNoTableScan(explain(queryOf(PetsRepository.class, "findByOwnerIn", Collection.class), Map.of("ids", List.of(1L, 2L))));
+    }
+
+    @Test
+    void findPetsByTypeUsesAnIndex() throws Exception {
+        assertNoTableScan(explain(queryOf(PetsRepository.class, "findByType", Long.class), Map.of("id", 1L)));
+    }
+
+    @Test
+    void findVisitsByPetUsesAnIndex() throws Exception {
+        assertNoTableScan(explain(queryOf(VisitsRepository.class, "findByPet", Long.class), Map.of("id", 1L)));
+    }
+
+    @Test
+    void findLatestVisitsByPetInUsesAnIndex() throws Exception {
+        String query = queryOf(VisitsRepository.class, "findLatestByPetIn", Collection.class, int.class);
+
+        assertNoTableScan(explain(query, Map.of("ids", List.of(1L, 2L), "limit", 3)));
+    }
+
+    @Test
+    void findSpecialtiesByVetUsesAnIndex() throws Exception {
+        assertNoTableScan(explain(queryOf(SpecialtiesRepository.class, "findByVet", Long.class), Map.of("id", 1L)));
+    }
+
+    @Test
+    void visitsSortedByDateUseTheVisitdateIndex() {
+        // H2 only reads its indexes forward, so the sort is ascending
+        String select = entityManager
+            .createSelectTemplate(VisitsRepositoryInternalImpl::createSelectFrom, Visits.class)
+            .getSql(PAGE.withSort(Sort.by("visitdate")));
+
+        assertThat(explainPage(select)).containsIgnoringCase("idx_visits__visitdate");
+    }
+
+    @Test
+    void ownersSortedByLastnameUseTheLastnameIndex() {
+        String select = entityManager
+            .createSelectTemplate(OwnersRepositoryInternalImpl::createSelectFrom, Owners.class)
+            .getSql(PAGE.withSort(Sort.by("lastname")));
+
+        assertThat(explainPage(select)).containsIgnoringCase("idx_owners__lastname");
+    }
+
+    private static String queryOf(Class<?> repository, String method, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return repository.getMethod(method, parameterTypes).getAnnotation(Query.class).value();
+    }
+
+    private String explainPage(String select) {
+        return explain(select, Map.of("limit", PAGE.getPageSize(), "offset", PAGE.getOffset()));
+    }
+
+    private String explain(String sql, Map<String, Object> parameters) {
+        GenericExecuteSpec explain = db.sql("EXPLAIN " + sql);
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            explain = explain.bind(parameter.getKey(), parameter.getValue());
+        }
+        return explain
+            .map((row, metadata) ->
+                metadata
+                    .getColumnMetadatas()
+                    .stream()
+                    .map(column -> column.getName() + "=" + row.get(column.getName()))
+                    .collect(Collectors.joining(", "))
+            )
+            .all()
+            .collect(Collectors.joining("\n"))
+            .block();
+    }
+
+    private static void assertNoTableScan(String plan) {
+        // H2 annotates a scan with tableScan, MariaDB reports it as an access of type ALL, which is expected for the
+        // derived tables, read from the results of their subqueries
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+        assertThat(plan.lines().filter(row -> !row.contains("table=<derived"))).noneMatch(row -> row.contains("type=ALL"));
+    }
+}
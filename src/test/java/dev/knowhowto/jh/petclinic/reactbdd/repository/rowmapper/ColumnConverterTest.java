@@ -0,0 +1,63 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Row;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import dev.knowhowto.jh.petclinic.reactbdd.config.DatabaseConfiguration;
+
+class ColumnConverterTest {
+
+    private SimpleMeterRegistry registry;
+
+    private ColumnConverter converter;
+
+    @BeforeEach
+    public void setup() {
+        R2dbcCustomConversions conversions = new DatabaseConfiguration(null).r2dbcCustomConversions(H2Dialect.INSTANCE);
+        registry = new SimpleMeterRegistry();
+        converter = new ColumnConverter(conversions, new MappingR2dbcConverter(new R2dbcMappingContext(), conversions), registry);
+    }
+
+    @Test
+    void testValueOfTheTargetTypeIsNotConverted() {
+        Row row = mock(Row.class);
+        when(row.get("e_id")).thenReturn(42L);
+
+        assertThat(converter.fromRow(row, "e_id", Long.class)).isEqualTo(42L);
+
+        verify(row, never()).get("e_id", Long.class);
+        assertThat(registry.find(ColumnConverter.FALLBACK_METER_NAME).counter()).isNull();
+    }
+
+    @Test
+    void testValueOfAnotherTypeIsConvertedAndCounted() {
+        Row row = mock(Row.class);
+        when(row.get("e_visitdate")).thenReturn(LocalDateTime.of(2023, 2, 1, 10, 30));
+
+        assertThat(converter.fromRow(row, "e_visitdate", Instant.class)).isEqualTo(Instant.parse("2023-02-01T10:30:00Z"));
+        assertThat(converter.fromRow(row, "e_visitdate", Instant.class)).isEqualTo(Instant.parse("2023-02-01T10:30:00Z"));
+
+        verify(row, never()).get("e_visitdate", Instant.class);
+        assertThat(registry.get(ColumnConverter.FALLBACK_METER_NAME).tag("column", "e_visitdate").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testNullIsNotConverted() {
+        Row row = mock(Row.class);
+
+        assertThat(converter.fromRow(row, "e_visitdate", Instant.class)).isNull();
+    }
+}
@@ -0,0 +1,59 @@
+package dev.knowhowto.jh.petclinic.reactbdd.repository.rowmapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.RowMetadata;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Test;
+
+class ColumnIndicesTest {
+
+    @Test
+    void testIndicesAreResolvedIgnoringTheCase() {
+        RowMetadata metadata = metadata("E_ID", "E_NAME", "TYPE_ID", "TYPE_NAME");
+
+        int[] indices = ColumnIndices.withPrefix("type", "name", "id").resolve(metadata);
+
+        assertThat(indices).containsExactly(3, 2);
+    }
+
+    @Test
+    void testIndicesAreResolvedOncePerResultSet() {
+        RowMetadata metadata = metadata("e_id", "e_name");
+        ColumnIndices columns = ColumnIndices.of("e_name");
+
+        assertThat(columns.resolve(metadata)).containsExactly(1);
+        assertThat(columns.resolve(metadata)).containsExactly(1);
+        assertThat(columns.resolve(metadata("e_name"))).containsExactly(0);
+
+        verify(metadata, times(1)).getColumnMetadatas();
+    }
+
+    @Test
+    void testUnknownColumnIsRejected() {
+        ColumnIndices columns = ColumnIndices.of("e_unknown");
+        RowMetadata metadata = metadata("e_id");
+
+        assertThatThrownBy(() -> columns.resolve(metadata)).isInstanceOf(NoSuchElementException.class);
+    }
+
+    private static RowMetadata metadata(String... names) {
+        List<ColumnMetadata> columns = new ArrayList<>();
+        for (String name : names) {
+            ColumnMetadata column = mock(ColumnMetadata.class);
+            when(column.getName()).thenReturn(name);
+            columns.add(column);
+        }
+        RowMetadata metadata = mock(RowMetadata.class);
+        when(metadata.getColumnMetadatas()).thenAnswer(invocation -> columns);
+        return metadata;
+    }
+}
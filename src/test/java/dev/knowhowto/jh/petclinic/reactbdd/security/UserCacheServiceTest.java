@@ -0,0 +1,117 @@
+package dev.knowhowto.jh.petclinic.reactbdd.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.User;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.UserRepository;
+import reactor.core.publisher.Mono;
+
+class UserCacheServiceTest {
+
+    private static final String LOGIN = "john";
+
+    private static final String EMAIL = "john.doe@localhost";
+
+    private UserRepository userRepository;
+
+    private UserCacheService userCacheService;
+
+    private User user;
+
+    @BeforeEach
+    public void setup() {
+        user = new User();
+        user.setLogin(LOGIN);
+        user.setEmail(EMAIL);
+
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findOneWithAuthoritiesByLogin(LOGIN)).thenReturn(Mono.just(user));
+        when(userRepository.findOneWithAuthoritiesByEmailIgnoreCase("John.Doe@localhost")).thenReturn(Mono.just(user));
+        when(userRepository.findOneWithAuthoritiesByLogin("unknown")).thenReturn(Mono.empty());
+
+        userCacheService = new UserCacheService(userRepository, new ApplicationProperties());
+    }
+
+    @Test
+    void testRepeatedLookupsAreCached() {
+        assertThat(userCacheService.findOneWithAuthoritiesByLogin(LOGIN).block()).isSameAs(user);
+        assertThat(userCacheService.findOneWithAuthoritiesByLogin(LOGIN).block()).isSameAs(user);
+        assertThat(userCacheService.findOneWithAuthoritiesByEmailIgnoreCase(EMAIL).block()).isSameAs(user);
+
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin(LOGIN);
+        verify(userRepository, times(0)).findOneWithAuthoritiesByEmailIgnoreCase(EMAIL);
+    }
+
+    @Test
+    void testEvictedUserIsReadAgain() {
+        userCacheService.findOneWithAuthoritiesByEmailIgnoreCase("John.Doe@localhost").block();
+        userCacheService.evict(user).block();
+
+        assertThat(userCacheService.findOneWithAuthoritiesByLogin(LOGIN).block()).isSameAs(user);
+
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin(LOGIN);
+    }
+
+    @Test
+    void testUserIsEvictedAgainOnceTheTransactionCompletes() {
+        TransactionalOperator transactionalOperator = TransactionalOperator.create(new NoOpTransactionManager());
+        userCacheService.findOneWithAuthoritiesByLogin(LOGIN).block();
+
+        transactionalOperator
+            .transactional(
+                // the user is read again before the commit, for instance by a concurrent request
+                userCacheService.evict(user).then(userCacheService.findOneWithAuthoritiesByLogin(LOGIN))
+            )
+            .block();
+        userCacheService.findOneWithAuthoritiesByLogin(LOGIN).block();
+
+        verify(userRepository, times(3)).findOneWithAuthoritiesByLogin(LOGIN);
+    }
+
+    @Test
+    void testUnknownUserIsNotCached() {
+        assertThat(userCacheService.findOneWithAuthoritiesByLogin("unknown").blockOptional()).isEmpty();
+        assertThat(userCacheService.findOneWithAuthoritiesByLogin("unknown").blockOptional()).isEmpty();
+
+        verify(userRepository, times(2)).findOneWithAuthoritiesByLogin("unknown");
+    }
+
+    private static class NoOpTransactionManager extends AbstractReactiveTransactionManager {
+
+        @Override
+        protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+            return new Object();
+        }
+
+        @Override
+        protected Mono<Void> doBegin(
+            TransactionSynchronizationManager synchronizationManager,
+            Object transaction,
+            TransactionDefinition definition
+        ) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager, GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager, GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import dev.knowhowto.jh.petclinic.reactbdd.IntegrationTest;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Types;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Visits;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.EntityManager;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.OwnersRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.PetsRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.TypesRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.UserRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.VisitsRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.OwnerHistorySearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.web.rest.OwnersResourceIT;
+import dev.knowhowto.jh.petclinic.reactbdd.web.rest.PetsResourceIT;
+import dev.knowhowto.jh.petclinic.reactbdd.web.rest.VisitsResourceIT;
+
+/**
+ * Integration tests for {@link DataGeneratorService}.
+ */
+@IntegrationTest
+class DataGeneratorServiceIT {
+
+    // volumes which don't divide evenly, and several batches of owners
+    private static final long OWNERS = 10;
+
+    private static final long PETS = 23;
+
+    private static final long VISITS = 61;
+
+    private static final int USERS = 5;
+
+    private static final int BATCH_SIZE = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Autowired
+    private OwnersRepository ownersRepository;
+
+    @Autowired
+    private PetsRepository petsRepository;
+
+    @Autowired
+    private VisitsRepository visitsRepository;
+
+    @Autowired
+    private TypesRepository typesRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private OwnerHistoryService ownerHistoryService;
+
+    @Autowired
+    private SearchableEntities searchableEntities;
+
+    @Autowired
+    private EntityCountService entityCountService;
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @Autowired
+    private OwnerHistorySearchRepository ownerHistorySearchRepository;
+
+    @BeforeEach
+    public void initTest() {
+        cleanup();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        VisitsResourceIT.deleteEntities(entityManager);
+        PetsResourceIT.deleteEntities(entityManager);
+        OwnersResourceIT.deleteEntities(entityManager);
+        userRepository
+            .findAll()
+            .filter(user -> user.getLogin().startsWith(DataGeneratorService.LOGIN_PREFIX))
+            .concatMap(userRepository::delete)
+            .blockLast();
+        ownerHistorySearchRepository.deleteAll().block();
+    }
+
+    @Test
+    void generatesTheConfiguredVolumes() {
+        createDataGenerator(OWNERS, PETS, VISITS, USERS, 4).generate().block();
+
+        assertThat(ownersRepository.count().block()).isEqualTo(OWNERS);
+        assertThat(petsRepository.count().block()).isEqualTo(PETS);
+        assertThat(visitsRepository.count().block()).isEqualTo(VISITS);
+        assertThat(userRepository.countByLoginStartingWith(DataGeneratorService.LOGIN_PREFIX).block()).isEqualTo(USERS);
+
+        // the pets are spread evenly over the owners, and the visits over the pets
+        Map<Long, Long> petsByOwner = petsRepository
+            .findAll()
+            .collect(Collectors.groupingBy(Pets::getOwnerId, Collectors.counting()))
+            .block();
+        assertThat(petsByOwner).hasSize((int) OWNERS);
+        assertThat(petsByOwner.values()).allSatisfy(count -> assertThat(count).isBetween(PETS / OWNERS, PETS / OWNERS + 1));
+        Map<Long, Long> visitsByPet = visitsRepository
+            .findAll()
+            .collect(Collectors.groupingBy(Visits::getPetId, Collectors.counting()))
+            .block();
+        assertThat(visitsByPet).hasSize((int) PETS);
+        assertThat(visitsByPet.values()).allSatisfy(count -> assertThat(count).isBetween(VISITS / PETS, VISITS / PETS + 1));
+    }
+
+    @Test
+    void generatesTheSameDataWhateverTheConcurrency() {
+        createDataGenerator(OWNERS, PETS, VISITS, 0, 1).generate().block();
+        List<String> sequentialData = describeData();
+        cleanup();
+
+        createDataGenerator(OWNERS, PETS, VISITS, 0, 4).generate().block();
+
+        assertThat(describeData()).hasSize((int) OWNERS).isEqualTo(sequentialData);
+    }
+
+    @Test
+    void resumesAnInterruptedGeneration() {
+        // the batches of a previous run which were committed before it was interrupted
+        createDataGenerator(4, 9, 20, 2, 2).generate().block();
+
+        createDataGenerator(OWNERS, PETS, VISITS, USERS, 2).generate().block();
+
+        assertThat(ownersRepository.count().block()).isEqualTo(OWNERS);
+        assertThat(petsRepository.count().block()).isEqualTo(PETS);
+        assertThat(visitsRepository.count().block()).isEqualTo(VISITS);
+        assertThat(userRepository.countByLoginStartingWith(DataGeneratorService.LOGIN_PREFIX).block()).isEqualTo(USERS);
+    }
+
+    @Test
+    void skipsTheGenerationIfThereAreEnoughOwners() {
+        createDataGenerator(OWNERS, PETS, VISITS, 0, 2).generate().block();
+
+        createDataGenerator(OWNERS, 2 * PETS, 2 * VISITS, 0, 2).generate().block();
+
+        assertThat(ownersRepository.count().block()).isEqualTo(OWNERS);
+        assertThat(petsRepository.count().block()).isEqualTo(PETS);
+        assertThat(visitsRepository.count().block()).isEqualTo(VISITS);
+    }
+
+    private DataGeneratorService createDataGenerator(long owners, long pets, long visits, int users, int concurrency) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ApplicationProperties.DataGenerator properties = applicationProperties.getDataGenerator();
+        properties.setOwners(owners);
+        properties.setPets(pets);
+        properties.setVisits(visits);
+        properties.setUsers(users);
+        properties.setBatchSize(BATCH_SIZE);
+        properties.setConcurrency(concurrency);
+        return new DataGeneratorService(
+            applicationProperties,
+            entityManager,
+            transactionalOperator,
+            ownersRepository,
+            petsRepository,
+            visitsRepository,
+            typesRepository,
+            userRepository,
+            passwordHashingService,
+            ownerHistoryService,
+            mock(SearchReindexService.class),
+            searchableEntities,
+            entityCountService,
+            referenceDataService
+        );
+    }
+
+    /**
+     * @return a description of each owner with its pets and their visits, without their ids, in a stable order.
+     */
+    private List<String> describeData() {
+        Map<Long, String> typeNames = typesRepository.findAll().collectMap(Types::getId, Types::getName).block();
+        Map<Long, List<Visits>> visitsByPet = visitsRepository.findAll().collect(Collectors.groupingBy(Visits::getPetId)).block();
+        Map<Long, List<Pets>> petsByOwner = petsRepository.findAll().collect(Collectors.groupingBy(Pets::getOwnerId)).block();
+        List<Owners> owners = ownersRepository.findAll().collectList().block();
+        return owners
+            .stream()
+            .map(owner ->
+                String.join(",", owner.getFirstname(), owner.getLastname(), owner.getAddress(), owner.getCity(), owner.getTelephone()) +
+                petsByOwner
+                    .getOrDefault(owner.getId(), List.of())
+                    .stream()
+                    .map(pet ->
+                        " [" +
+                        String.join(",", pet.getName(), pet.getBirthdate().toString(), typeNames.get(pet.getTypeId())) +
+                        visitsByPet
+                            .getOrDefault(pet.getId(), List.of())
+                            .stream()
+                            .map(visit -> " (" + visit.getVisitdate() + "," + visit.getDescription() + ")")
+                            .sorted()
+                            .collect(Collectors.joining()) +
+                        "]"
+                    )
+                    .sorted()
+                    .collect(Collectors.joining())
+            )
+            .sorted()
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,214 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties.CountStrategy;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.SearchOutbox;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.EntityManager;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.OwnersRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.SearchOutboxRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.OwnersSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.OwnersDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.service.impl.OwnersServiceImpl;
+import dev.knowhowto.jh.petclinic.reactbdd.service.mapper.OwnersMapper;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class EntityCountServiceTest {
+
+    private static final long EXACT_COUNT = 42L;
+
+    private static final long ESTIMATED_COUNT = 40L;
+
+    private final AtomicInteger exactCounts = new AtomicInteger();
+
+    private ApplicationProperties applicationProperties;
+
+    private EntityManager entityManager;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        entityManager = mock(EntityManager.class);
+        when(entityManager.estimateCount(any())).thenReturn(Mono.just(ESTIMATED_COUNT));
+    }
+
+    @Test
+    void testExactIsTheDefaultStrategy() {
+        EntityCountService entityCountService = new EntityCountService(applicationProperties, entityManager);
+
+        StepVerifier.create(entityCountService.count(Owners.class, exactCount())).expectNext(EXACT_COUNT).verifyComplete();
+        StepVerifier.create(entityCountService.count(Owners.class, exactCount())).expectNext(EXACT_COUNT).verifyComplete();
+
+        assertThat(exactCounts).hasValue(2);
+        verify(entityManager, never()).estimateCount(any());
+    }
+
+    @Test
+    void testApproximateStrategyEstimatesTheCount() {
+        applicationProperties.getPagination().getCount().setDefaultStrategy(CountStrategy.APPROXIMATE);
+        EntityCountService entityCountService = new EntityCountService(applicationProperties, entityManager);
+
+        StepVerifier.create(entityCountService.count(Owners.class, exactCount())).expectNext(ESTIMATED_COUNT).verifyComplete();
+
+        assertThat(exactCounts).hasValue(0);
+        verify(entityManager).estimateCount(Owners.class);
+    }
+
+    @Test
+    void testCachedStrategyCountsOnce() {
+        applicationProperties.getPagination().getCount().setDefaultStrategy(CountStrategy.CACHED);
+        EntityCountService entityCountService = new EntityCountService(applicationProperties, entityManager);
+
+        StepVerifier.create(entityCountService.count(Owners.class, exactCount())).expectNext(EXACT_COUNT).verifyComplete();
+        StepVerifier.create(entityCountService.count(Owners.class, exactCount())).expectNext(EXACT_COUNT).verifyComplete();
+        StepVerifier.create(entityCountService.count(Pets.class, exactCount())).expectNext(EXACT_COUNT).verifyComplete();
+
+        // once for the owners and once for the pets
+        assertThat(exactCounts).hasValue(2);
+    }
+
+    @Test
+    void testCachedCountIsEvicted() {
+        applicationProperties.getPagination().getCount().setDefaultStrategy(CountStrategy.CACHED);
+        EntityCountService entityCountService = new EntityCountService(applicationProperties, entityManager);
+
+        entityCountService.count(Owners.class, exactCount()).block();
+        entityCountService.count(Pets.class, exactCount()).block();
+        entityCountService.evict(Owners.class).block();
+        entityCountService.count(Owners.class, exactCount()).block();
+        entityCountService.count(Pets.class, exactCount()).block();
+
+        // the owners are counted again, the pets are still cached
+        assertThat(exactCounts).hasValue(3);
+    }
+
+    @Test
+    void testCachedCountIsEvictedAgainOnceTheTransactionCompletes() {
+        applicationProperties.getPagination().getCount().setDefaultStrategy(CountStrategy.CACHED);
+        EntityCountService entityCountService = new EntityCountService(applicationProperties, entityManager);
+        TransactionalOperator transactionalOperator = TransactionalOperator.create(new NoOpTransactionManager());
+        entityCountService.count(Owners.class, exactCount()).block();
+
+        transactionalOperator
+            .transactional(
+                // the count is cached again before the commit, for instance by a concurrent request
+                entityCountService.evict(Owners.class).then(entityCountService.count(Owners.class, exactCount()))
+            )
+            .block();
+        entityCountService.count(Owners.class, exactCount()).block();
+
+        assertThat(exactCounts).hasValue(3);
+    }
+
+    @Test
+    void testNoneStrategyDoesNotCount() {
+        applicationProperties.getPagination().getCount().setDefaultStrategy(CountStrategy.NONE);
+        EntityCountService entityCountService = new EntityCountService(applicationProperties, entityManager);
+
+        StepVerifier.create(entityCountService.count(Owners.class, exactCount())).verifyComplete();
+
+        assertThat(exactCounts).hasValue(0);
+        verify(entityManager, never()).estimateCount(any());
+    }
+
+    @Test
+    void testStrategyIsConfiguredPerEntity() {
+        applicationProperties.getPagination().getCount().getStrategies().put("pets", CountStrategy.NONE);
+        EntityCountService entityCountService = new EntityCountService(applicationProperties, entityManager);
+
+        StepVerifier.create(entityCountService.count(Pets.class, exactCount())).verifyComplete();
+        StepVerifier.create(entityCountService.count(Owners.class, exactCount())).expectNext(EXACT_COUNT).verifyComplete();
+
+        assertThat(exactCounts).hasValue(1);
+    }
+
+    @Test
+    void testCachedCountIsEvictedOnSaveAndDelete() {
+        applicationProperties.getPagination().getCount().setDefaultStrategy(CountStrategy.CACHED);
+        EntityCountService entityCountService = new EntityCountService(applicationProperties, entityManager);
+        OwnersServiceImpl ownersService = createOwnersService(entityCountService);
+
+        entityCountService.count(Owners.class, exactCount()).block();
+        entityCountService.count(Owners.class, exactCount()).block();
+        assertThat(exactCounts).hasValue(1);
+
+        ownersService.save(new OwnersDTO()).block();
+        entityCountService.count(Owners.class, exactCount()).block();
+        assertThat(exactCounts).hasValue(2);
+
+        ownersService.delete(1L).block();
+        entityCountService.count(Owners.class, exactCount()).block();
+        assertThat(exactCounts).hasValue(3);
+    }
+
+    private Mono<Long> exactCount() {
+        return Mono.fromSupplier(() -> {
+            exactCounts.incrementAndGet();
+            return EXACT_COUNT;
+        });
+    }
+
+    private OwnersServiceImpl createOwnersService(EntityCountService entityCountService) {
+        OwnersRepository ownersRepository = mock(OwnersRepository.class);
+        when(ownersRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.<Owners>getArgument(0).id(1L)));
+        when(ownersRepository.deleteById(any(Long.class))).thenReturn(Mono.empty());
+        OwnersMapper ownersMapper = mock(OwnersMapper.class);
+        when(ownersMapper.toEntity(any(OwnersDTO.class))).thenReturn(new Owners());
+        when(ownersMapper.toDto(any(Owners.class))).thenReturn(new OwnersDTO());
+        SearchOutboxRepository searchOutboxRepository = mock(SearchOutboxRepository.class);
+        when(searchOutboxRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.<SearchOutbox>getArgument(0)));
+        return new OwnersServiceImpl(
+            ownersRepository,
+            ownersMapper,
+            mock(OwnersSearchRepository.class),
+            entityCountService,
+            new SearchOutboxService(searchOutboxRepository, entityManager),
+            mock(BulkSaveService.class),
+            applicationProperties
+        );
+    }
+
+    private static class NoOpTransactionManager extends AbstractReactiveTransactionManager {
+
+        @Override
+        protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+            return new Object();
+        }
+
+        @Override
+        protected Mono<Void> doBegin(
+            TransactionSynchronizationManager synchronizationManager,
+            Object transaction,
+            TransactionDefinition definition
+        ) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager, GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager, GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+    }
+}
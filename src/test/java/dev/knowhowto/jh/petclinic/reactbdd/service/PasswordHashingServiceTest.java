@@ -0,0 +1,90 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
+import dev.knowhowto.jh.petclinic.reactbdd.config.PasswordHashingConfiguration;
+import reactor.core.scheduler.Scheduler;
+import reactor.test.StepVerifier;
+
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private SimpleMeterRegistry registry;
+
+    private Scheduler scheduler;
+
+    private PasswordHashingService passwordHashingService;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPasswordHashing().setThreads(1);
+        applicationProperties.getPasswordHashing().setQueueCapacity(1);
+        registry = new SimpleMeterRegistry();
+        scheduler = new PasswordHashingConfiguration().passwordHashingScheduler(applicationProperties, registry);
+        passwordHashingService = new PasswordHashingService(new BlockingPasswordEncoder(), scheduler);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        scheduler.dispose();
+    }
+
+    @Test
+    void testHashingRunsOnTheHashingScheduler() {
+        release.countDown();
+
+        StepVerifier
+            .create(passwordHashingService.encode("password"))
+            .assertNext(encoded -> assertThat(encoded).startsWith("password-hashing-"))
+            .verifyComplete();
+    }
+
+    @Test
+    void testHashingBeyondTheQueueIsRejected() {
+        // one hashing running and one queued
+        passwordHashingService.encode("first").subscribe();
+        passwordHashingService.encode("second").subscribe();
+
+        StepVerifier
+            .create(passwordHashingService.matches("third", "encoded"))
+            .expectErrorSatisfies(e ->
+                assertThat(e).isInstanceOf(ResponseStatusException.class).extracting("status").isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+            )
+            .verify();
+        assertThat(registry.get("security.password.hashing.rejected").counter().count()).isEqualTo(1);
+    }
+
+    /**
+     * Encodes a password as the name of the thread, once released.
+     */
+    private class BlockingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package dev.knowhowto.jh.petclinic.reactbdd.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.config.ApplicationProperties;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.SearchOutbox;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.enumeration.SearchOperation;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.SearchOutboxRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.OwnersSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.service.SearchableEntities.SearchableEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class SearchIndexerTest {
+
+    private static final long REJECTED_ID = 2L;
+
+    private final List<SearchOutbox> outbox = new ArrayList<>();
+
+    private final List<Long> indexedIds = new ArrayList<>();
+
+    private boolean elasticsearchAvailable = true;
+
+    private SearchIndexer searchIndexer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSearch().getIndexer().setMaxRetries(1);
+        applicationProperties.getSearch().getIndexer().setRetryBackoff(Duration.ofMillis(1));
+        applicationProperties.getSearch().getIndexer().setMaxAttempts(2);
+
+        SearchOutboxRepository searchOutboxRepository = mock(SearchOutboxRepository.class);
+        when(searchOutboxRepository.findOldest(anyInt()))
+            .thenAnswer(invocation -> {
+                int limit = invocation.getArgument(0);
+                return Flux.fromIterable(
+                    outbox.stream().filter(change -> change.getFailedDate() == null).limit(limit).collect(Collectors.toList())
+                );
+            });
+        when(searchOutboxRepository.deleteAllById(anyIterable()))
+            .thenAnswer(invocation -> {
+                List<Long> ids = toList(invocation.getArgument(0));
+                return Mono.fromRunnable(() -> outbox.removeIf(change -> ids.contains(change.getId())));
+            });
+        when(searchOutboxRepository.saveAll(anyIterable())).thenAnswer(invocation -> Flux.fromIterable(invocation.getArgument(0)));
+
+        // the owners are read back as they are in the outbox
+        ReactiveCrudRepository<Owners, Long> ownersRepository = mock(ReactiveCrudRepository.class);
+        when(ownersRepository.findAllById(anyIterable()))
+            .thenAnswer(invocation -> {
+                List<Long> ids = toList(invocation.getArgument(0));
+                return Flux.fromIterable(ids).map(id -> new Owners().id(id));
+            });
+        // Elasticsearch rejects the bulk requests with the owners of REJECTED_ID, and all of them when unavailable
+        OwnersSearchRepository ownersSearchRepository = mock(OwnersSearchRepository.class);
+        when(ownersSearchRepository.saveAll(anyIterable()))
+            .thenAnswer(invocation -> {
+                List<Owners> owners = toList(invocation.getArgument(0));
+                List<Long> ids = owners.stream().map(Owners::getId).collect(Collectors.toList());
+                if (!elasticsearchAvailable || ids.contains(REJECTED_ID)) {
+                    return Flux.error(new IllegalStateException("Rejected by Elasticsearch"));
+                }
+                return Flux.fromIterable(owners).doOnComplete(() -> indexedIds.addAll(ids));
+            });
+
+        SearchableEntities searchableEntities = mock(SearchableEntities.class);
+        doReturn(Optional.of(new SearchableEntity<>(Owners.class, ownersRepository, ownersSearchRepository)))
+            .when(searchableEntities)
+            .get(Owners.class.getSimpleName());
+
+        searchIndexer =
+            new SearchIndexer(applicationProperties, searchOutboxRepository, searchableEntities, mock(OwnerHistoryService.class));
+    }
+
+    @Test
+    void testAChangeWhichAlwaysFailsDoesNotHoldBackTheOthers() {
+        record(1L, 1L);
+        record(2L, REJECTED_ID);
+        record(3L, 3L);
+
+        searchIndexer.drain().block();
+
+        assertThat(indexedIds).containsExactly(1L, 3L);
+        assertThat(outbox).singleElement().satisfies(change -> {
+            assertThat(change.getEntityId()).isEqualTo(REJECTED_ID);
+            assertThat(change.getAttempts()).isEqualTo(1);
+            assertThat(change.getFailedDate()).isNull();
+        });
+
+        record(4L, 4L);
+        searchIndexer.drain().block();
+
+        assertThat(indexedIds).containsExactly(1L, 3L, 4L);
+        assertThat(outbox).singleElement().satisfies(change -> {
+            assertThat(change.getEntityId()).isEqualTo(REJECTED_ID);
+            assertThat(change.getAttempts()).isEqualTo(2);
+            assertThat(change.getFailedDate()).isNotNull();
+        });
+
+        // the dead letter is no longer drained
+        record(5L, 5L);
+        searchIndexer.drain().block();
+
+        assertThat(indexedIds).containsExactly(1L, 3L, 4L, 5L);
+        assertThat(outbox).extracting(SearchOutbox::getEntityId).containsExactly(REJECTED_ID);
+    }
+
+    @Test
+    void testChangesAreKeptWhileElasticsearchIsUnavailable() {
+        record(1L, 1L);
+        record(2L, 3L);
+        elasticsearchAvailable = false;
+
+        searchIndexer.drain().block();
+
+        assertThat(indexedIds).isEmpty();
+        assertThat(outbox).hasSize(2).allSatisfy(change -> {
+            assertThat(change.getAttempts()).isZero();
+            assertThat(change.getFailedDate()).isNull();
+        });
+
+        elasticsearchAvailable = true;
+        searchIndexer.drain().block();
+
+        assertThat(indexedIds).containsExactly(1L, 3L);
+        assertThat(outbox).isEmpty();
+    }
+
+    private void record(Long id, Long ownersId) {
+        outbox.add(new SearchOutbox().id(id).entityType(Owners.class.getSimpleName()).entityId(ownersId).operation(SearchOperation.INDEX));
+    }
+
+    private static <T> List<T> toList(Iterable<T> iterable) {
+        return StreamSupport.stream(iterable.spliterator(), false).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,150 @@
+package dev.knowhowto.jh.petclinic.reactbdd.web.rest;
+
+import java.util.Collections;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import dev.knowhowto.jh.petclinic.reactbdd.IntegrationTest;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.User;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.EntityManager;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.UserRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.UserSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.security.AuthoritiesConstants;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.PasswordChangeDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.web.rest.vm.LoginVM;
+import dev.knowhowto.jh.petclinic.reactbdd.web.rest.vm.ManagedUserVM;
+
+/**
+ * Integration tests of the users changed through the REST API while they are cached.
+ * <p>
+ * The other tests disable the user cache, since they modify the users through the repository.
+ */
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_TIMEOUT)
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@IntegrationTest
+@TestPropertySource(properties = "application.user-cache.time-to-live=5m")
+class CachedUserResourceIT {
+
+    private static final String UPDATED_FIRSTNAME = "jhipsterFirstName";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSearchRepository userSearchRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @AfterEach
+    public void cleanup() {
+        UserResourceIT.deleteEntities(em);
+        userSearchRepository.deleteAll().block();
+    }
+
+    @Test
+    void updateCachedUser() throws Exception {
+        User user = userRepository.save(UserResourceIT.createEntity(em)).block();
+        getUser(user.getLogin()).expectStatus().isOk().expectBody().jsonPath("$.firstName").isEqualTo(user.getFirstName());
+
+        ManagedUserVM managedUserVM = new ManagedUserVM();
+        managedUserVM.setId(user.getId());
+        managedUserVM.setLogin(user.getLogin());
+        managedUserVM.setFirstName(UPDATED_FIRSTNAME);
+        managedUserVM.setLastName(user.getLastName());
+        managedUserVM.setEmail(user.getEmail());
+        managedUserVM.setActivated(true);
+        managedUserVM.setLangKey(user.getLangKey());
+        managedUserVM.setAuthorities(Collections.singleton(AuthoritiesConstants.USER));
+        webTestClient
+            .put()
+            .uri("/api/admin/users")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(managedUserVM))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        getUser(user.getLogin())
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.firstName")
+            .isEqualTo(UPDATED_FIRSTNAME)
+            .jsonPath("$.authorities")
+            .isEqualTo(AuthoritiesConstants.USER);
+    }
+
+    @Test
+    @WithMockUser("cached-change-password")
+    void changeCachedPassword() throws Exception {
+        User user = UserResourceIT.createEntity(em);
+        user.setLogin("cached-change-password");
+        user.setPassword(passwordEncoder.encode("current password"));
+        userRepository.save(user).block();
+        authenticate(user.getLogin(), "current password").expectStatus().isOk();
+
+        webTestClient
+            .post()
+            .uri("/api/account/change-password")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(new PasswordChangeDTO("current password", "new password")))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        authenticate(user.getLogin(), "new password").expectStatus().isOk();
+        authenticate(user.getLogin(), "current password").expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void activateCachedUser() {
+        User user = UserResourceIT.createEntity(em);
+        user.setActivated(false);
+        user.setActivationKey("cached activation key");
+        user = userRepository.save(user).block();
+        getUser(user.getLogin()).expectStatus().isOk().expectBody().jsonPath("$.activated").isEqualTo(false);
+
+        webTestClient.get().uri("/api/activate?key={activationKey}", "cached activation key").exchange().expectStatus().isOk();
+
+        getUser(user.getLogin()).expectStatus().isOk().expectBody().jsonPath("$.activated").isEqualTo(true);
+    }
+
+    @Test
+    void deleteCachedUser() {
+        User user = userRepository.save(UserResourceIT.createEntity(em)).block();
+        getUser(user.getLogin()).expectStatus().isOk();
+
+        webTestClient.delete().uri("/api/admin/users/{login}", user.getLogin()).exchange().expectStatus().isNoContent();
+
+        getUser(user.getLogin()).expectStatus().isNotFound();
+    }
+
+    private WebTestClient.ResponseSpec getUser(String login) {
+        return webTestClient.get().uri("/api/admin/users/{login}", login).accept(MediaType.APPLICATION_JSON).exchange();
+    }
+
+    private WebTestClient.ResponseSpec authenticate(String username, String password) throws Exception {
+        LoginVM login = new LoginVM();
+        login.setUsername(username);
+        login.setPassword(password);
+        return webTestClient
+            .post()
+            .uri("/api/authenticate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(login))
+            .exchange();
+    }
+}
@@ -0,0 +1,163 @@
+package dev.knowhowto.jh.petclinic.reactbdd.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.hasItem;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import dev.knowhowto.jh.petclinic.reactbdd.IntegrationTest;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.OwnerHistory;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.EntityManager;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.OwnerHistorySearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.service.OwnersService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.PetsService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.TypesService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.VisitsService;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.OwnersDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.PetsDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.TypesDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.service.dto.VisitsDTO;
+import dev.knowhowto.jh.petclinic.reactbdd.service.mapper.OwnersMapper;
+import dev.knowhowto.jh.petclinic.reactbdd.service.mapper.PetsMapper;
+import dev.knowhowto.jh.petclinic.reactbdd.service.mapper.TypesMapper;
+import dev.knowhowto.jh.petclinic.reactbdd.service.mapper.VisitsMapper;
+
+/**
+ * Integration tests for the {@link OwnerHistoryResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+@WithMockUser
+class OwnerHistoryResourceIT {
+
+    private static final String ENTITY_SEARCH_API_URL = "/api/_search/owner-history";
+
+    @Autowired
+    private OwnersService ownersService;
+
+    @Autowired
+    private PetsService petsService;
+
+    @Autowired
+    private VisitsService visitsService;
+
+    @Autowired
+    private TypesService typesService;
+
+    @Autowired
+    private OwnersMapper ownersMapper;
+
+    @Autowired
+    private PetsMapper petsMapper;
+
+    @Autowired
+    private VisitsMapper visitsMapper;
+
+    @Autowired
+    private TypesMapper typesMapper;
+
+    @Autowired
+    private OwnerHistorySearchRepository ownerHistorySearchRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @AfterEach
+    public void cleanup() {
+        VisitsResourceIT.deleteEntities(em);
+        PetsResourceIT.deleteEntities(em);
+        OwnersResourceIT.deleteEntities(em);
+        TypesResourceIT.deleteEntities(em);
+        ownerHistorySearchRepository.deleteAll().block();
+    }
+
+    @Test
+    void searchOwnerHistoryByPetAndVisitPeriod() {
+        // Create an owner, its pets and a visit through the services
+        OwnersDTO owner = ownersService.save(ownersMapper.toDto(OwnersResourceIT.createEntity(em))).block();
+        PetsDTO petsDTO = petsMapper.toDto(PetsResourceIT.createEntity(em));
+        petsDTO.setOwner(owner);
+        PetsDTO pet = petsService.save(petsDTO).block();
+        VisitsDTO visitsDTO = visitsMapper.toDto(VisitsResourceIT.createEntity(em));
+        visitsDTO.setVisitdate(Instant.parse("2026-09-20T10:00:00Z"));
+        visitsDTO.setPet(pet);
+        VisitsDTO visit = visitsService.save(visitsDTO).block();
+
+        // The owner is found by the name of its pets and the date of the visit
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() ->
+                webTestClient
+                    .get()
+                    .uri(
+                        ENTITY_SEARCH_API_URL +
+                        "?petName=" +
+                        pet.getName() +
+                        "&visitedFrom=2026-09-01T00:00:00Z&visitedTo=2026-10-01T00:00:00Z"
+                    )
+                    .exchange()
+                    .expectStatus()
+                    .isOk()
+                    .expectHeader()
+                    .valueEquals("X-Total-Count", "1")
+                    .expectBody()
+                    .jsonPath("$.[*].id")
+                    .value(hasItem(owner.getId().intValue()))
+                    .jsonPath("$.[0].pets[*].id")
+                    .value(hasItem(pet.getId().intValue()))
+                    .jsonPath("$.[0].pets[0].visits[*].id")
+                    .value(hasItem(visit.getId().intValue()))
+            );
+
+        // But not for a period without visit
+        webTestClient
+            .get()
+            .uri(ENTITY_SEARCH_API_URL + "?petName=" + pet.getName() + "&visitedFrom=2026-08-01T00:00:00Z&visitedTo=2026-09-01T00:00:00Z")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "0");
+    }
+
+    @Test
+    void ownerHistoryFollowsTheRenamedTypeOfItsPets() {
+        // Create a type, and an owner with a pet of that type through the services
+        TypesDTO type = typesService.save(typesMapper.toDto(TypesResourceIT.createEntity(em))).block();
+        OwnersDTO owner = ownersService.save(ownersMapper.toDto(OwnersResourceIT.createEntity(em))).block();
+        PetsDTO petsDTO = petsMapper.toDto(PetsResourceIT.createEntity(em));
+        petsDTO.setOwner(owner);
+        petsDTO.setType(type);
+        petsService.save(petsDTO).block();
+        awaitPetType(owner.getId(), type.getName());
+
+        // Rename the type
+        TypesDTO renamedType = new TypesDTO();
+        renamedType.setId(type.getId());
+        renamedType.setName("renamed " + type.getName());
+        typesService.partialUpdate(renamedType).block();
+
+        // The document of the owner holds the new name of the type of its pet
+        awaitPetType(owner.getId(), renamedType.getName());
+    }
+
+    private void awaitPetType(Long ownerId, String typeName) {
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                OwnerHistory ownerHistory = ownerHistorySearchRepository.findById(ownerId).block();
+                assertThat(ownerHistory).isNotNull();
+                assertThat(ownerHistory.getPets()).singleElement().extracting(OwnerHistory.PetHistory::getType).isEqualTo(typeName);
+            });
+    }
+}
@@ -21,6 +21,7 @@ import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWeb
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -326,6 +327,162 @@ class OwnersResourceIT {
             .value(hasItem(DEFAULT_TELEPHONE));
     }
 
+    @Test
+    void getAllOwnersAfter() {
+        // Initialize the database
+        ownersRepository.save(owners).block();
+        Owners nextOwners = ownersRepository.save(createEntity(em)).block();
+
+        // Get the page following the first owners
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?after={after}&size=1", owners.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueMatches(HttpHeaders.LINK, ".*after=" + nextOwners.getId() + ".*rel=\"next\"")
+            .expectBody()
+            .jsonPath("$.length()")
+            .value(is(1))
+            .jsonPath("$.[0].id")
+            .value(is(nextOwners.getId().intValue()));
+
+        // The last page has no next link
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?after={after}&size=1", nextOwners.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist(HttpHeaders.LINK)
+            .expectBody()
+            .jsonPath("$.length()")
+            .value(is(0));
+    }
+
+    @Test
+    void exportOwners() {
+        // Initialize the database
+        ownersRepository.save(owners).block();
+
+        // Export all the ownersList
+        List<OwnersDTO> exported = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/_export")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(OwnersDTO.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(exported).extracting(OwnersDTO::getId).contains(owners.getId());
+    }
+
+    @Test
+    void getOwnersByIdFiltering() {
+        // Initialize the database
+        ownersRepository.save(owners).block();
+
+        Long id = owners.getId();
+
+        defaultOwnersShouldBeFound("id.equals=" + id);
+        defaultOwnersShouldNotBeFound("id.notEquals=" + id);
+
+        defaultOwnersShouldBeFound("id.greaterThanOrEqual=" + id);
+        defaultOwnersShouldNotBeFound("id.greaterThan=" + id);
+
+        defaultOwnersShouldBeFound("id.lessThanOrEqual=" + id);
+        defaultOwnersShouldNotBeFound("id.lessThan=" + id);
+    }
+
+    @Test
+    void getAllOwnersByLastnameContainsSomething() {
+        // Initialize the database
+        ownersRepository.save(owners).block();
+
+        // Get all the ownersList where lastname contains DEFAULT_LASTNAME, ignoring the case
+        defaultOwnersShouldBeFound("lastname.contains=" + DEFAULT_LASTNAME.toLowerCase());
+
+        // Get all the ownersList where lastname contains UPDATED_LASTNAME
+        defaultOwnersShouldNotBeFound("lastname.contains=" + UPDATED_LASTNAME);
+    }
+
+    @Test
+    void getAllOwnersByCityIsInShouldWork() {
+        // Initialize the database
+        ownersRepository.save(owners).block();
+
+        // Get all the ownersList where city in DEFAULT_CITY or UPDATED_CITY
+        defaultOwnersShouldBeFound("city.in=" + DEFAULT_CITY + "," + UPDATED_CITY);
+
+        // Get all the ownersList where city equals to UPDATED_CITY
+        defaultOwnersShouldNotBeFound("city.in=" + UPDATED_CITY);
+    }
+
+    @Test
+    void getAllOwnersByTelephoneIsNullOrNotNull() {
+        // Initialize the database
+        ownersRepository.save(owners).block();
+
+        // Get all the ownersList where telephone is not null
+        defaultOwnersShouldBeFound("telephone.specified=true");
+
+        // Get all the ownersList where telephone is null
+        defaultOwnersShouldNotBeFound("telephone.specified=false");
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultOwnersShouldBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(owners.getId().intValue()))
+            .jsonPath("$.[*].lastname")
+            .value(hasItem(DEFAULT_LASTNAME));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultOwnersShouldNotBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectHeader()
+            .valueEquals("X-Total-Count", "0")
+            .expectBody()
+            .jsonPath("$")
+            .isArray()
+            .jsonPath("$")
+            .isEmpty();
+    }
+
     @Test
     void getOwners() {
         // Initialize the database
@@ -670,8 +827,12 @@ class OwnersResourceIT {
         // Validate the database contains one less item
         List<Owners> ownersList = ownersRepository.findAll().collectList().block();
         assertThat(ownersList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(ownersSearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(ownersSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
@@ -683,7 +844,7 @@ class OwnersResourceIT {
         // Search the owners
         webTestClient
             .get()
-            .uri(ENTITY_SEARCH_API_URL + "?query=id:" + owners.getId())
+            .uri(ENTITY_SEARCH_API_URL + "?id.equals=" + owners.getId())
             .exchange()
             .expectStatus()
             .isOk()
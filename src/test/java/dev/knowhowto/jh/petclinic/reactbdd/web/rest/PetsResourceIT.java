@@ -23,16 +23,21 @@ import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWeb
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import dev.knowhowto.jh.petclinic.reactbdd.IntegrationTest;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Types;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.EntityManager;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.PetsRepository;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.search.PetsSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.service.ReferenceDataService;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.PetsDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.mapper.PetsMapper;
+import dev.knowhowto.jh.petclinic.reactbdd.web.util.CountPaginationUtil;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -63,6 +68,9 @@ class PetsResourceIT {
     @Autowired
     private PetsMapper petsMapper;
 
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
     @Autowired
     private PetsSearchRepository petsSearchRepository;
 
@@ -250,6 +258,234 @@ class PetsResourceIT {
             .value(hasItem(DEFAULT_BIRTHDATE.toString()));
     }
 
+    @Test
+    void getAllPetsWithoutCount() {
+        // Initialize the database
+        petsRepository.save(pets).block();
+
+        // Get all the petsList, skipping the count
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc")
+            .header(CountPaginationUtil.TOTAL_COUNT_HEADER, CountPaginationUtil.UNKNOWN_TOTAL_COUNT)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(CountPaginationUtil.TOTAL_COUNT_HEADER, CountPaginationUtil.UNKNOWN_TOTAL_COUNT)
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(pets.getId().intValue()));
+    }
+
+    @Test
+    void getAllPetsAfter() {
+        // Initialize the database
+        petsRepository.save(pets).block();
+        Pets nextPets = petsRepository.save(createEntity(em)).block();
+
+        // Get the page following the first pets
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?after={after}&size=1", pets.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueMatches(HttpHeaders.LINK, ".*after=" + nextPets.getId() + ".*rel=\"next\"")
+            .expectBody()
+            .jsonPath("$.length()")
+            .value(is(1))
+            .jsonPath("$.[0].id")
+            .value(is(nextPets.getId().intValue()));
+
+        // The last page has no next link
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?after={after}&size=1", nextPets.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist(HttpHeaders.LINK)
+            .expectBody()
+            .jsonPath("$.length()")
+            .value(is(0));
+    }
+
+    @Test
+    void exportPets() {
+        // Initialize the database
+        petsRepository.save(pets).block();
+
+        // Export all the petsList
+        List<PetsDTO> exported = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/_export")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(PetsDTO.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(exported).extracting(PetsDTO::getId).contains(pets.getId());
+    }
+
+    @Test
+    void getPetsByIdFiltering() {
+        // Initialize the database
+        petsRepository.save(pets).block();
+
+        Long id = pets.getId();
+
+        defaultPetsShouldBeFound("id.equals=" + id);
+        defaultPetsShouldNotBeFound("id.notEquals=" + id);
+
+        defaultPetsShouldBeFound("id.greaterThanOrEqual=" + id);
+        defaultPetsShouldNotBeFound("id.greaterThan=" + id);
+
+        defaultPetsShouldBeFound("id.lessThanOrEqual=" + id);
+        defaultPetsShouldNotBeFound("id.lessThan=" + id);
+    }
+
+    @Test
+    void getAllPetsByNameContainsSomething() {
+        // Initialize the database
+        petsRepository.save(pets).block();
+
+        // Get all the petsList where name contains DEFAULT_NAME, ignoring the case
+        defaultPetsShouldBeFound("name.contains=" + DEFAULT_NAME.toLowerCase());
+
+        // Get all the petsList where name contains UPDATED_NAME
+        defaultPetsShouldNotBeFound("name.contains=" + UPDATED_NAME);
+    }
+
+    @Test
+    void getAllPetsByBirthdateIsGreaterThanSomething() {
+        // Initialize the database
+        petsRepository.save(pets).block();
+
+        // Get all the petsList where birthdate is greater than DEFAULT_BIRTHDATE
+        defaultPetsShouldNotBeFound("birthdate.greaterThan=" + DEFAULT_BIRTHDATE);
+
+        // Get all the petsList where birthdate is greater than the day before DEFAULT_BIRTHDATE
+        defaultPetsShouldBeFound("birthdate.greaterThan=" + DEFAULT_BIRTHDATE.minusDays(1));
+    }
+
+    @Test
+    void getAllPetsByOwnerIsEqualToSomething() {
+        // Initialize the database
+        Owners owner = em.insert(OwnersResourceIT.createEntity(em)).block();
+        pets.setOwnerId(owner.getId());
+        petsRepository.save(pets).block();
+        Long ownerId = owner.getId();
+
+        // Get all the petsList where owner equals to ownerId
+        defaultPetsShouldBeFound("ownerId.equals=" + ownerId);
+
+        // Get all the petsList where owner equals to (ownerId + 1)
+        defaultPetsShouldNotBeFound("ownerId.equals=" + (ownerId + 1));
+
+        // Get the next page of the petsList where owner equals to ownerId, with keyset pagination
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?after=" + (pets.getId() - 1) + "&ownerId.equals=" + ownerId)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(pets.getId().intValue()));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultPetsShouldBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(pets.getId().intValue()))
+            .jsonPath("$.[*].name")
+            .value(hasItem(DEFAULT_NAME));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultPetsShouldNotBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectHeader()
+            .valueEquals("X-Total-Count", "0")
+            .expectBody()
+            .jsonPath("$")
+            .isArray()
+            .jsonPath("$")
+            .isEmpty();
+    }
+
+    @Test
+    void getAllPetsWithTheirTypeFromTheReferenceData() {
+        // Initialize the database
+        Types type = em.insert(TypesResourceIT.createEntity(em)).block();
+        referenceDataService.invalidate().block();
+        pets.setTypeId(type.getId());
+        petsRepository.save(pets).block();
+
+        // Get all the petsList, the type is not joined but filled from the reference data
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].type.id")
+            .value(hasItem(type.getId().intValue()));
+
+        // Get the pets
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, pets.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.type.id")
+            .value(is(type.getId().intValue()));
+
+        deleteEntities(em);
+        TypesResourceIT.deleteEntities(em);
+    }
+
     @Test
     void getPets() {
         // Initialize the database
@@ -408,6 +644,9 @@ class PetsResourceIT {
     @Test
     void partialUpdatePetsWithPatch() throws Exception {
         // Initialize the database
+        Types type = em.insert(TypesResourceIT.createEntity(em)).block();
+        referenceDataService.invalidate().block();
+        pets.setTypeId(type.getId());
         petsRepository.save(pets).block();
 
         int databaseSizeBeforeUpdate = petsRepository.findAll().collectList().block().size();
@@ -425,7 +664,12 @@ class PetsResourceIT {
             .bodyValue(TestUtil.convertObjectToJsonBytes(partialUpdatedPets))
             .exchange()
             .expectStatus()
-            .isOk();
+            .isOk()
+            .expectBody()
+            .jsonPath("$.type.id")
+            .value(is(type.getId().intValue()))
+            .jsonPath("$.type.name")
+            .value(is(type.getName()));
 
         // Validate the Pets in the database
         List<Pets> petsList = petsRepository.findAll().collectList().block();
@@ -433,6 +677,10 @@ class PetsResourceIT {
         Pets testPets = petsList.get(petsList.size() - 1);
         assertThat(testPets.getName()).isEqualTo(DEFAULT_NAME);
         assertThat(testPets.getBirthdate()).isEqualTo(UPDATED_BIRTHDATE);
+        assertThat(testPets.getTypeId()).isEqualTo(type.getId());
+
+        deleteEntities(em);
+        TypesResourceIT.deleteEntities(em);
     }
 
     @Test
@@ -463,6 +711,15 @@ class PetsResourceIT {
         Pets testPets = petsList.get(petsList.size() - 1);
         assertThat(testPets.getName()).isEqualTo(UPDATED_NAME);
         assertThat(testPets.getBirthdate()).isEqualTo(UPDATED_BIRTHDATE);
+
+        // Validate the Pets in Elasticsearch
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                Pets testPetsSearch = petsSearchRepository.findById(pets.getId()).block();
+                assertThat(testPetsSearch).isNotNull();
+                assertThat(testPetsSearch.getName()).isEqualTo(UPDATED_NAME);
+            });
     }
 
     @Test
@@ -566,8 +823,12 @@ class PetsResourceIT {
         // Validate the database contains one less item
         List<Pets> petsList = petsRepository.findAll().collectList().block();
         assertThat(petsList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(petsSearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(petsSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
@@ -579,7 +840,7 @@ class PetsResourceIT {
         // Search the pets
         webTestClient
             .get()
-            .uri(ENTITY_SEARCH_API_URL + "?query=id:" + pets.getId())
+            .uri(ENTITY_SEARCH_API_URL + "?id.equals=" + pets.getId())
             .exchange()
             .expectStatus()
             .isOk()
@@ -593,4 +854,77 @@ class PetsResourceIT {
             .jsonPath("$.[*].birthdate")
             .value(hasItem(DEFAULT_BIRTHDATE.toString()));
     }
+
+    @Test
+    void searchPetsTotalCountIsTheNumberOfHits() {
+        // Initialize the database with a pets which does not match the query
+        pets = petsRepository.save(pets).block();
+        petsSearchRepository.save(pets).block();
+        Pets otherPets = petsRepository.save(createEntity(em)).block();
+        petsSearchRepository.save(otherPets).block();
+
+        // Search the pets
+        webTestClient
+            .get()
+            .uri(ENTITY_SEARCH_API_URL + "?id.equals=" + pets.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
+            .expectHeader()
+            .doesNotExist("X-Total-Count-Relation")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(pets.getId().intValue()));
+    }
+
+    @Test
+    void searchPetsAsYouTypeWithFilters() {
+        // Initialize the database with a pets whose name starts like the text, and another one
+        pets = petsRepository.save(pets.name("Leonardo")).block();
+        petsSearchRepository.save(pets).block();
+        Pets otherPets = petsRepository.save(createEntity(em).name("Buddy")).block();
+        petsSearchRepository.save(otherPets).block();
+
+        // Search the pets by the beginning of their name, with a filter on the birthdate
+        webTestClient
+            .get()
+            .uri(ENTITY_SEARCH_API_URL + "?query=leo&birthdate.lessThanOrEqual=" + DEFAULT_BIRTHDATE)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(pets.getId().intValue()));
+    }
+
+    @Test
+    void searchPetsWithInvalidFilter() {
+        // An unknown field
+        webTestClient
+            .get()
+            .uri(ENTITY_SEARCH_API_URL + "?color.equals=red")
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        // A range on a text field
+        webTestClient
+            .get()
+            .uri(ENTITY_SEARCH_API_URL + "?name.greaterThan=A")
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        // A value which does not match the type of the field
+        webTestClient
+            .get()
+            .uri(ENTITY_SEARCH_API_URL + "?birthdate.equals=yesterday")
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
 }
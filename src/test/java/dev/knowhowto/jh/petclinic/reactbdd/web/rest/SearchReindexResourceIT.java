@@ -0,0 +1,218 @@
+package dev.knowhowto.jh.petclinic.reactbdd.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.hasItem;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.data.elasticsearch.core.ReactiveElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.ReactiveIndexOperations;
+import org.springframework.data.elasticsearch.core.index.AliasData;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import dev.knowhowto.jh.petclinic.reactbdd.IntegrationTest;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.OwnerHistory;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Types;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.EntityManager;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.OwnersRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.PetsRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.TypesRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.OwnerHistorySearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.search.TypesSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.security.AuthoritiesConstants;
+
+/**
+ * Integration tests for the {@link SearchReindexResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_TIMEOUT)
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class SearchReindexResourceIT {
+
+    private static final String API_URL = "/api/admin/search/reindex";
+
+    @Autowired
+    private TypesRepository typesRepository;
+
+    @Autowired
+    private TypesSearchRepository typesSearchRepository;
+
+    @Autowired
+    private OwnersRepository ownersRepository;
+
+    @Autowired
+    private PetsRepository petsRepository;
+
+    @Autowired
+    private OwnerHistorySearchRepository ownerHistorySearchRepository;
+
+    @Autowired
+    private ReactiveElasticsearchTemplate reactiveElasticsearchTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void initTest() {
+        TypesResourceIT.deleteEntities(em);
+        PetsResourceIT.deleteEntities(em);
+        OwnersResourceIT.deleteEntities(em);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        TypesResourceIT.deleteEntities(em);
+        typesSearchRepository.deleteAll().block();
+        PetsResourceIT.deleteEntities(em);
+        OwnersResourceIT.deleteEntities(em);
+        ownerHistorySearchRepository.deleteAll().block();
+    }
+
+    @Test
+    void reindexTypes() {
+        // Save a type in the database only
+        Types types = typesRepository.save(TypesResourceIT.createEntity(em)).block();
+        typesSearchRepository.deleteAll().block();
+
+        webTestClient
+            .post()
+            .uri(API_URL + "?indices=types")
+            .exchange()
+            .expectStatus()
+            .isAccepted()
+            .expectBody()
+            .jsonPath("$.[*].index")
+            .value(hasItem("types"));
+
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() ->
+                webTestClient
+                    .get()
+                    .uri(API_URL)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus()
+                    .isOk()
+                    .expectBody()
+                    .jsonPath("$.[?(@.index == 'types')].state")
+                    .value(hasItem("COMPLETED"))
+            );
+
+        assertThat(typesSearchRepository.findById(types.getId()).block()).isNotNull();
+    }
+
+    @Test
+    void reindexOwnerHistory() {
+        // Save an owner with a pet in the database only
+        Owners owners = ownersRepository.save(OwnersResourceIT.createEntity(em)).block();
+        Pets pets = PetsResourceIT.createEntity(em);
+        pets.setOwnerId(owners.getId());
+        pets = petsRepository.save(pets).block();
+        ownerHistorySearchRepository.deleteAll().block();
+
+        reindex("owner-history");
+
+        OwnerHistory ownerHistory = ownerHistorySearchRepository.findById(owners.getId()).block();
+        assertThat(ownerHistory).isNotNull();
+        assertThat(ownerHistory.getLastname()).isEqualTo(owners.getLastname());
+        assertThat(ownerHistory.getPets()).extracting(OwnerHistory.PetHistory::getId).containsExactly(pets.getId());
+    }
+
+    @Test
+    void reindexOwnerHistoryCreatedWithoutMapping() {
+        // An owner-history index created before the autocomplete fields were mapped
+        replaceByIndexWithoutMapping("owner-history");
+        Owners owners = ownersRepository.save(OwnersResourceIT.createEntity(em)).block();
+        OwnerHistory ownerHistory = new OwnerHistory().id(owners.getId());
+        ownerHistory.setLastname(owners.getLastname());
+        ownerHistorySearchRepository.save(ownerHistory).block();
+        String autocompleteUrl = "/api/_search/owner-history?query=" + owners.getLastname().substring(0, 5);
+
+        webTestClient.get().uri(autocompleteUrl).exchange().expectStatus().isOk().expectHeader().valueEquals("X-Total-Count", "0");
+
+        reindex("owner-history");
+
+        // The owner is now found as you type
+        webTestClient
+            .get()
+            .uri(autocompleteUrl)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(owners.getId().intValue()));
+    }
+
+    @Test
+    void reindexUnknownIndex() {
+        webTestClient.post().uri(API_URL + "?indices=unknown").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    @WithMockUser
+    void reindexAsUser() {
+        webTestClient.post().uri(API_URL).exchange().expectStatus().isForbidden();
+    }
+
+    private void reindex(String index) {
+        webTestClient
+            .post()
+            .uri(API_URL + "?indices={index}", index)
+            .exchange()
+            .expectStatus()
+            .isAccepted()
+            .expectBody()
+            .jsonPath("$.[*].index")
+            .value(hasItem(index));
+
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() ->
+                webTestClient
+                    .get()
+                    .uri(API_URL)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus()
+                    .isOk()
+                    .expectBody()
+                    .jsonPath("$.[?(@.index == '" + index + "')].state")
+                    .value(hasItem("COMPLETED"))
+            );
+    }
+
+    private void replaceByIndexWithoutMapping(String index) {
+        ReactiveIndexOperations indexOperations = reactiveElasticsearchTemplate.indexOps(IndexCoordinates.of(index));
+        Map<String, Set<AliasData>> aliases = indexOperations
+            .getAliases(index)
+            .onErrorReturn(Collections.emptyMap())
+            .defaultIfEmpty(Collections.emptyMap())
+            .block();
+        for (String versionedIndex : aliases.keySet()) {
+            reactiveElasticsearchTemplate.indexOps(IndexCoordinates.of(versionedIndex)).delete().block();
+        }
+        if (Boolean.TRUE.equals(indexOperations.exists().block())) {
+            indexOperations.delete().block();
+        }
+        indexOperations.create().block();
+    }
+}
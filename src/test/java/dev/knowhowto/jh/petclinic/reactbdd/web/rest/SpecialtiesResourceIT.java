@@ -29,9 +29,12 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import dev.knowhowto.jh.petclinic.reactbdd.IntegrationTest;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Specialties;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Vets;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.EntityManager;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.SpecialtiesRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.repository.VetsRepository;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.search.SpecialtiesSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.service.ReferenceDataService;
 import dev.knowhowto.jh.petclinic.reactbdd.service.SpecialtiesService;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.SpecialtiesDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.mapper.SpecialtiesMapper;
@@ -66,12 +69,18 @@ class SpecialtiesResourceIT {
     @Autowired
     private SpecialtiesMapper specialtiesMapper;
 
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
     @Mock
     private SpecialtiesService specialtiesServiceMock;
 
     @Autowired
     private SpecialtiesSearchRepository specialtiesSearchRepository;
 
+    @Autowired
+    private VetsRepository vetsRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -211,6 +220,8 @@ class SpecialtiesResourceIT {
     void getAllSpecialtiesAsStream() {
         // Initialize the database
         specialtiesRepository.save(specialties).block();
+        // the specialties are saved with the repository, which does not invalidate the reference data
+        referenceDataService.invalidate().block();
 
         List<Specialties> specialtiesList = webTestClient
             .get()
@@ -238,6 +249,8 @@ class SpecialtiesResourceIT {
     void getAllSpecialties() {
         // Initialize the database
         specialtiesRepository.save(specialties).block();
+        // the specialties are saved with the repository, which does not invalidate the reference data
+        referenceDataService.invalidate().block();
 
         // Get all the specialtiesList
         webTestClient
@@ -295,6 +308,78 @@ class SpecialtiesResourceIT {
             .value(is(DEFAULT_NAME));
     }
 
+    @Test
+    void getSpecialtiesWithVets() {
+        // Initialize the database
+        Vets vets = vetsRepository.save(VetsResourceIT.createEntity(em)).block();
+        specialties.addVet(vets);
+        specialtiesRepository.save(specialties).block();
+
+        // Get the specialties
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, specialties.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.vets.[*].id")
+            .value(hasItem(vets.getId().intValue()));
+
+        // The vets of a whole page are loaded with a single query
+        List<Specialties> loaded = specialtiesRepository.findAllWithEagerRelationships(PageRequest.of(0, 20)).collectList().block();
+        assertThat(loaded).hasSize(1);
+        assertThat(loaded.get(0).getVets()).extracting(Vets::getId).containsExactly(vets.getId());
+        assertThat(loaded.get(0).getVets().iterator().next().getSpecialties()).containsExactly(loaded.get(0));
+
+        deleteEntities(em);
+        VetsResourceIT.deleteEntities(em);
+    }
+
+    @Test
+    void getSpecialtiesByVet() {
+        // Initialize the database, with a specialty not linked to the vet
+        Vets vets = vetsRepository.save(VetsResourceIT.createEntity(em)).block();
+        Specialties otherSpecialties = specialtiesRepository.save(createEntity(em)).block();
+        specialties.addVet(vets);
+        specialtiesRepository.save(specialties).block();
+
+        // The specialties are looked up through the link table
+        List<Specialties> byVet = specialtiesRepository.findByVet(vets.getId()).collectList().block();
+        assertThat(byVet).extracting(Specialties::getId).containsExactly(specialties.getId()).doesNotContain(otherSpecialties.getId());
+
+        // The specialties of a whole page of vets are loaded with a single query
+        List<Vets> loaded = vetsRepository.findAllWithEagerRelationships(PageRequest.of(0, 20)).collectList().block();
+        assertThat(loaded).hasSize(1);
+        assertThat(loaded.get(0).getSpecialties()).extracting(Specialties::getId).containsExactly(specialties.getId());
+
+        deleteEntities(em);
+        VetsResourceIT.deleteEntities(em);
+    }
+
+    @Test
+    void updateSpecialtiesVets() {
+        // Initialize the database
+        Vets keptVets = vetsRepository.save(VetsResourceIT.createEntity(em)).block();
+        Vets removedVets = vetsRepository.save(VetsResourceIT.createEntity(em)).block();
+        Vets addedVets = vetsRepository.save(VetsResourceIT.createEntity(em)).block();
+        specialties.addVet(keptVets).addVet(removedVets);
+        specialtiesRepository.save(specialties).block();
+
+        // Only the changed links are written
+        Specialties updatedSpecialties = specialtiesRepository.findOneWithEagerRelationships(specialties.getId()).block();
+        updatedSpecialties.removeVet(removedVets);
+        updatedSpecialties.addVet(addedVets);
+        specialtiesRepository.save(updatedSpecialties).block();
+
+        Specialties testSpecialties = specialtiesRepository.findOneWithEagerRelationships(specialties.getId()).block();
+        assertThat(testSpecialties.getVets()).extracting(Vets::getId).containsExactlyInAnyOrder(keptVets.getId(), addedVets.getId());
+
+        deleteEntities(em);
+        VetsResourceIT.deleteEntities(em);
+    }
+
     @Test
     void getNonExistingSpecialties() {
         // Get the specialties
@@ -583,8 +668,12 @@ class SpecialtiesResourceIT {
         // Validate the database contains one less item
         List<Specialties> specialtiesList = specialtiesRepository.findAll().collectList().block();
         assertThat(specialtiesList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(specialtiesSearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(specialtiesSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
@@ -596,7 +685,7 @@ class SpecialtiesResourceIT {
         // Search the specialties
         webTestClient
             .get()
-            .uri(ENTITY_SEARCH_API_URL + "?query=id:" + specialties.getId())
+            .uri(ENTITY_SEARCH_API_URL + "?id.equals=" + specialties.getId())
             .exchange()
             .expectStatus()
             .isOk()
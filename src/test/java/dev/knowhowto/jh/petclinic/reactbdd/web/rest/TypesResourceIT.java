@@ -21,6 +21,7 @@ import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWeb
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -29,6 +30,7 @@ import dev.knowhowto.jh.petclinic.reactbdd.domain.Types;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.EntityManager;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.TypesRepository;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.search.TypesSearchRepository;
+import dev.knowhowto.jh.petclinic.reactbdd.service.ReferenceDataService;
 import dev.knowhowto.jh.petclinic.reactbdd.service.dto.TypesDTO;
 import dev.knowhowto.jh.petclinic.reactbdd.service.mapper.TypesMapper;
 import reactor.core.publisher.Flux;
@@ -58,6 +60,9 @@ class TypesResourceIT {
     @Autowired
     private TypesMapper typesMapper;
 
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
     @Autowired
     private TypesSearchRepository typesSearchRepository;
 
@@ -199,6 +204,8 @@ class TypesResourceIT {
     void getAllTypes() {
         // Initialize the database
         typesRepository.save(types).block();
+        // the types are saved with the repository, which does not invalidate the reference data
+        referenceDataService.invalidate().block();
 
         // Get all the typesList
         webTestClient
@@ -217,6 +224,58 @@ class TypesResourceIT {
             .value(hasItem(DEFAULT_NAME));
     }
 
+    @Test
+    void getAllTypesWithETag() throws Exception {
+        // Initialize the database
+        typesRepository.save(types).block();
+        referenceDataService.invalidate().block();
+
+        String eTag = webTestClient
+            .get()
+            .uri(ENTITY_API_URL)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(String.class)
+            .getResponseHeaders()
+            .getETag();
+        assertThat(eTag).isNotBlank();
+
+        // The types did not change
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL)
+            .accept(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .exchange()
+            .expectStatus()
+            .isNotModified();
+
+        // A type created through the service invalidates the reference data, and changes the entity tag
+        TypesDTO typesDTO = typesMapper.toDto(createUpdatedEntity(em));
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(typesDTO))
+            .exchange()
+            .expectStatus()
+            .isCreated();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL)
+            .accept(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].name")
+            .value(hasItem(UPDATED_NAME));
+    }
+
     @Test
     void getTypes() {
         // Initialize the database
@@ -525,8 +584,12 @@ class TypesResourceIT {
         // Validate the database contains one less item
         List<Types> typesList = typesRepository.findAll().collectList().block();
         assertThat(typesList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(typesSearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(typesSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
@@ -538,7 +601,7 @@ class TypesResourceIT {
         // Search the types
         webTestClient
             .get()
-            .uri(ENTITY_SEARCH_API_URL + "?query=id:" + types.getId())
+            .uri(ENTITY_SEARCH_API_URL + "?id.equals=" + types.getId())
             .exchange()
             .expectStatus()
             .isOk()
@@ -302,6 +302,43 @@ class UserResourceIT {
         userSearchRepository.deleteAll();
     }
 
+    @Test
+    void getAllUsersPageByPageSortedByANonUniqueProperty() {
+        // Initialize the database with more users than a page, all activated with the same language
+        int pageSize = 3;
+        Map<String, Set<String>> authoritiesByLogin = new HashMap<>();
+        for (int i = 0; i < 3 * pageSize - 1; i++) {
+            User pagedUser = userRepository.save(createEntity(em)).block();
+            Set<String> authorities = i % 2 == 0
+                ? Set.of(AuthoritiesConstants.USER)
+                : Set.of(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN);
+            authorities.forEach(authority -> userRepository.saveUserAuthority(pagedUser.getId(), authority).block());
+            authoritiesByLogin.put(pagedUser.getLogin(), authorities);
+        }
+
+        // Get all the users page by page
+        List<AdminUserDTO> foundUsers = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            foundUsers.addAll(
+                webTestClient
+                    .get()
+                    .uri("/api/admin/users?sort=activated,asc&sort=langKey,asc&page={page}&size={size}", page, pageSize)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .exchange()
+                    .expectStatus()
+                    .isOk()
+                    .returnResult(AdminUserDTO.class)
+                    .getResponseBody()
+                    .collectList()
+                    .block()
+            );
+        }
+
+        assertThat(foundUsers).extracting(AdminUserDTO::getLogin).containsExactlyInAnyOrderElementsOf(authoritiesByLogin.keySet());
+        assertThat(foundUsers)
+            .allSatisfy(foundUser -> assertThat(foundUser.getAuthorities()).isEqualTo(authoritiesByLogin.get(foundUser.getLogin())));
+    }
+
     @Test
     void getUser() {
         // Initialize the database
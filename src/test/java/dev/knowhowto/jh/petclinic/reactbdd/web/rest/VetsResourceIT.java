@@ -564,8 +564,12 @@ class VetsResourceIT {
         // Validate the database contains one less item
         List<Vets> vetsList = vetsRepository.findAll().collectList().block();
         assertThat(vetsList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(vetsSearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(vetsSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
@@ -577,7 +581,7 @@ class VetsResourceIT {
         // Search the vets
         webTestClient
             .get()
-            .uri(ENTITY_SEARCH_API_URL + "?query=id:" + vets.getId())
+            .uri(ENTITY_SEARCH_API_URL + "?id.equals=" + vets.getId())
             .exchange()
             .expectStatus()
             .isOk()
@@ -10,6 +10,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -23,10 +24,13 @@ import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWeb
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import dev.knowhowto.jh.petclinic.reactbdd.IntegrationTest;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Owners;
+import dev.knowhowto.jh.petclinic.reactbdd.domain.Pets;
 import dev.knowhowto.jh.petclinic.reactbdd.domain.Visits;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.EntityManager;
 import dev.knowhowto.jh.petclinic.reactbdd.repository.VisitsRepository;
@@ -150,6 +154,46 @@ class VisitsResourceIT {
         assertThat(testVisits.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
     }
 
+    @Test
+    void createVisitsBulk() throws Exception {
+        int databaseSizeBeforeCreate = visitsRepository.findAll().collectList().block().size();
+        int searchDatabaseSizeBefore = IterableUtil.sizeOf(visitsSearchRepository.findAll().collectList().block());
+        // Create a valid Visits and one with an existing ID
+        VisitsDTO visitsDTO = visitsMapper.toDto(visits);
+        VisitsDTO existingVisitsDTO = visitsMapper.toDto(createEntity(em));
+        existingVisitsDTO.setId(1L);
+        List<Map> results = webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/_bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(List.of(visitsDTO, existingVisitsDTO)))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBodyList(Map.class)
+            .returnResult()
+            .getResponseBody();
+
+        // Validate the outcome of each item
+        assertThat(results).hasSize(2);
+        assertThat(results).anySatisfy(result -> assertThat(result).containsEntry("index", 0).containsEntry("status", 201));
+        assertThat(results).anySatisfy(result -> assertThat(result).containsEntry("index", 1).containsEntry("status", 400));
+
+        // Validate the Visits in the database
+        List<Visits> visitsList = visitsRepository.findAll().collectList().block();
+        assertThat(visitsList).hasSize(databaseSizeBeforeCreate + 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(visitsSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore + 1);
+            });
+        Visits testVisits = visitsList.get(visitsList.size() - 1);
+        assertThat(testVisits.getVisitdate()).isEqualTo(DEFAULT_VISITDATE);
+        assertThat(testVisits.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
+    }
+
     @Test
     void createVisitsWithExistingId() throws Exception {
         // Create the Visits with an existing ID
@@ -250,6 +294,194 @@ class VisitsResourceIT {
             .value(hasItem(DEFAULT_DESCRIPTION));
     }
 
+    @Test
+    void getAllVisitsAfter() {
+        // Initialize the database
+        visitsRepository.save(visits).block();
+        Visits nextVisits = visitsRepository.save(createEntity(em)).block();
+
+        // Get the page following the first visits
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?after={after}&size=1", visits.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueMatches(HttpHeaders.LINK, ".*after=" + nextVisits.getId() + ".*rel=\"next\"")
+            .expectBody()
+            .jsonPath("$.length()")
+            .value(is(1))
+            .jsonPath("$.[0].id")
+            .value(is(nextVisits.getId().intValue()));
+
+        // The last page has no next link
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?after={after}&size=1", nextVisits.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist(HttpHeaders.LINK)
+            .expectBody()
+            .jsonPath("$.length()")
+            .value(is(0));
+    }
+
+    @Test
+    void exportVisits() {
+        // Initialize the database
+        visitsRepository.save(visits).block();
+
+        // Export all the visitsList
+        List<VisitsDTO> exported = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/_export")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(VisitsDTO.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(exported).extracting(VisitsDTO::getId).contains(visits.getId());
+    }
+
+    @Test
+    void exportVisitsAsServerSentEvents() {
+        // Initialize the database
+        visitsRepository.save(visits).block();
+
+        // Export all the visitsList
+        List<VisitsDTO> exported = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/_export")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+            .returnResult(VisitsDTO.class)
+            .getResponseBody()
+            .collectList()
+            .block();
+
+        assertThat(exported).extracting(VisitsDTO::getId).contains(visits.getId());
+    }
+
+    @Test
+    void getVisitsByIdFiltering() {
+        // Initialize the database
+        visitsRepository.save(visits).block();
+
+        Long id = visits.getId();
+
+        defaultVisitsShouldBeFound("id.equals=" + id);
+        defaultVisitsShouldNotBeFound("id.notEquals=" + id);
+
+        defaultVisitsShouldBeFound("id.greaterThanOrEqual=" + id);
+        defaultVisitsShouldNotBeFound("id.greaterThan=" + id);
+
+        defaultVisitsShouldBeFound("id.lessThanOrEqual=" + id);
+        defaultVisitsShouldNotBeFound("id.lessThan=" + id);
+    }
+
+    @Test
+    void getAllVisitsByVisitdateIsGreaterThanSomething() {
+        // Initialize the database
+        visitsRepository.save(visits).block();
+
+        // Get all the visitsList where visitdate is greater than or equal to DEFAULT_VISITDATE
+        defaultVisitsShouldBeFound("visitdate.greaterThanOrEqual=" + DEFAULT_VISITDATE);
+
+        // Get all the visitsList where visitdate is greater than DEFAULT_VISITDATE
+        defaultVisitsShouldNotBeFound("visitdate.greaterThan=" + DEFAULT_VISITDATE);
+    }
+
+    @Test
+    void getAllVisitsByDescriptionContainsSomething() {
+        // Initialize the database
+        visitsRepository.save(visits).block();
+
+        // Get all the visitsList where description contains DEFAULT_DESCRIPTION, ignoring the case
+        defaultVisitsShouldBeFound("description.contains=" + DEFAULT_DESCRIPTION.toLowerCase());
+
+        // Get all the visitsList where description does not contain DEFAULT_DESCRIPTION
+        defaultVisitsShouldNotBeFound("description.doesNotContain=" + DEFAULT_DESCRIPTION);
+    }
+
+    @Test
+    void getAllVisitsByOwnerOfPetIsEqualToSomething() {
+        // Initialize the database
+        Owners owner = em.insert(OwnersResourceIT.createEntity(em)).block();
+        Pets pet = PetsResourceIT.createEntity(em);
+        pet.setOwnerId(owner.getId());
+        pet = em.insert(pet).block();
+        visits.setPetId(pet.getId());
+        visitsRepository.save(visits).block();
+        Long ownerId = owner.getId();
+
+        // Get all the visitsList where the owner of the pet equals to ownerId, through the join with the pets
+        defaultVisitsShouldBeFound("ownerId.equals=" + ownerId);
+
+        // Get all the visitsList where the owner of the pet equals to (ownerId + 1)
+        defaultVisitsShouldNotBeFound("ownerId.equals=" + (ownerId + 1));
+
+        // Get all the visitsList where pet equals to the id of the pet
+        defaultVisitsShouldBeFound("petId.equals=" + pet.getId());
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultVisitsShouldBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(visits.getId().intValue()))
+            .jsonPath("$.[*].description")
+            .value(hasItem(DEFAULT_DESCRIPTION));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultVisitsShouldNotBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectHeader()
+            .valueEquals("X-Total-Count", "0")
+            .expectBody()
+            .jsonPath("$")
+            .isArray()
+            .jsonPath("$")
+            .isEmpty();
+    }
+
     @Test
     void getVisits() {
         // Initialize the database
@@ -566,8 +798,12 @@ class VisitsResourceIT {
         // Validate the database contains one less item
         List<Visits> visitsList = visitsRepository.findAll().collectList().block();
         assertThat(visitsList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(visitsSearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(visitsSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
@@ -579,7 +815,7 @@ class VisitsResourceIT {
         // Search the visits
         webTestClient
             .get()
-            .uri(ENTITY_SEARCH_API_URL + "?query=id:" + visits.getId())
+            .uri(ENTITY_SEARCH_API_URL + "?id.equals=" + visits.getId())
             .exchange()
             .expectStatus()
             .isOk()